@@ -0,0 +1,156 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d.test;
+
+import junit.framework.TestCase;
+
+import org.eclipse.draw2d.Animation;
+import org.eclipse.draw2d.AnimationStatistics;
+import org.eclipse.draw2d.DeferredUpdateManager;
+import org.eclipse.draw2d.Figure;
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.LayoutAnimator;
+import org.eclipse.draw2d.LayoutListener;
+import org.eclipse.draw2d.UpdateManager;
+import org.eclipse.draw2d.XYLayout;
+import org.eclipse.draw2d.geometry.Rectangle;
+
+public class AnimationTest extends TestCase {
+
+	private IFigure root;
+	private IFigure child;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		final UpdateManager manager = new DeferredUpdateManager();
+		root = new Figure() {
+			public UpdateManager getUpdateManager() {
+				return manager;
+			}
+		};
+		manager.setRoot(root);
+		root.setBounds(new Rectangle(0, 0, 500, 500));
+		root.setLayoutManager(new XYLayout());
+		root.addLayoutListener(LayoutAnimator.getDefault());
+		child = new Figure();
+		root.add(child, new Rectangle(0, 0, 10, 10));
+		manager.performValidation();
+	}
+
+	protected void tearDown() throws Exception {
+		Animation.setFrameRate(60);
+		super.tearDown();
+	}
+
+	public void testFramesArePaced() {
+		Animation.setFrameRate(20);
+		Animation.markBegin();
+		root.setConstraint(child, new Rectangle(100, 100, 10, 10));
+		Animation.run(200);
+
+		AnimationStatistics statistics = Animation.getStatistics();
+		assertEquals(20, statistics.getFrameRate());
+		// one frame every 50 milliseconds, plus the first and last ones
+		assertTrue(statistics.getFrameCount() >= 2);
+		assertTrue(statistics.getFrameCount() <= 6);
+		assertEquals(new Rectangle(100, 100, 10, 10), child.getBounds());
+		assertFalse(Animation.isAnimating());
+	}
+
+	public void testFramesSkippedWhenOverBudget() {
+		Animation.setFrameRate(100);
+		root.addLayoutListener(new LayoutAnimator() {
+			protected boolean playback(IFigure container) {
+				try {
+					Thread.sleep(35);
+				} catch (InterruptedException e) {
+				}
+				return false;
+			}
+		});
+		Animation.markBegin();
+		root.setConstraint(child, new Rectangle(100, 100, 10, 10));
+		Animation.run(100);
+
+		AnimationStatistics statistics = Animation.getStatistics();
+		assertTrue(statistics.getSkippedFrameCount() > 0);
+		assertTrue(statistics.getMaximumFrameTime() >= 35);
+		assertEquals(new Rectangle(100, 100, 10, 10), child.getBounds());
+	}
+
+	public void testMarkBeginEndsAsynchronousAnimation() {
+		Animation.markBegin();
+		root.setConstraint(child, new Rectangle(100, 100, 10, 10));
+		Animation.runAsync(10000);
+		assertTrue(Animation.isAnimating());
+		assertEquals(1, Animation.getStatistics().getFrameCount());
+
+		assertTrue(Animation.markBegin());
+		assertFalse(Animation.isAnimating());
+		Animation.run();
+		root.getUpdateManager().performValidation();
+		assertEquals(new Rectangle(100, 100, 10, 10), child.getBounds());
+	}
+
+	/**
+	 * Running requires a marked beginning, so an asynchronous animation is not
+	 * played again by a synchronous run.
+	 */
+	public void testRunDuringAsynchronousAnimationIgnored() {
+		Animation.markBegin();
+		root.setConstraint(child, new Rectangle(100, 100, 10, 10));
+		Animation.runAsync(10000);
+		AnimationStatistics statistics = Animation.getStatistics();
+
+		Animation.run();
+		assertTrue(Animation.isAnimating());
+		assertSame(statistics, Animation.getStatistics());
+		assertEquals(1, statistics.getFrameCount());
+
+		Animation.markBegin();
+		Animation.run();
+	}
+
+	public void testLayoutBetweenFramesNotPlayedBack() {
+		Animation.markBegin();
+		root.setConstraint(child, new Rectangle(100, 100, 10, 10));
+		Animation.runAsync(10000);
+		assertFalse(new Rectangle(100, 100, 10, 10).equals(child.getBounds()));
+
+		root.setConstraint(child, new Rectangle(50, 50, 10, 10));
+		root.getUpdateManager().performValidation();
+		assertEquals(new Rectangle(50, 50, 10, 10), child.getBounds());
+
+		Animation.markBegin();
+		Animation.run();
+	}
+
+	public void testMarkBeginWhileRenderingFrame() {
+		final boolean[] marked = new boolean[1];
+		root.addLayoutListener(new LayoutListener.Stub() {
+			public boolean layout(IFigure container) {
+				if (Animation.isAnimating() && !marked[0])
+					marked[0] = Animation.markBegin();
+				return false;
+			}
+		});
+		Animation.markBegin();
+		root.setConstraint(child, new Rectangle(100, 100, 10, 10));
+		Animation.runAsync(10000);
+		assertTrue(marked[0]);
+		assertFalse(Animation.isAnimating());
+
+		Animation.run();
+		root.getUpdateManager().performValidation();
+		assertEquals(new Rectangle(100, 100, 10, 10), child.getBounds());
+	}
+
+}
@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d.test;
+
+import junit.framework.TestCase;
+
+import org.eclipse.draw2d.BufferedGraphicsSource;
+import org.eclipse.draw2d.ColorConstants;
+import org.eclipse.draw2d.FigureCanvas;
+import org.eclipse.draw2d.Graphics;
+import org.eclipse.draw2d.LightweightSystem;
+import org.eclipse.draw2d.RectangleFigure;
+import org.eclipse.draw2d.XYLayout;
+import org.eclipse.draw2d.geometry.Dimension;
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.RGB;
+import org.eclipse.swt.widgets.Canvas;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+
+public class BufferedGraphicsSourceTest extends TestCase {
+
+	private Shell shell;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		shell = new Shell(Display.getDefault());
+		shell.setSize(400, 400);
+		shell.open();
+	}
+
+	protected void tearDown() throws Exception {
+		shell.dispose();
+		super.tearDown();
+	}
+
+	private void paint(BufferedGraphicsSource source, Rectangle region,
+			Color color) {
+		Graphics graphics = source.getGraphics(region);
+		graphics.setBackgroundColor(color);
+		graphics.fillRectangle(region);
+		graphics.dispose();
+		source.flushGraphics(region);
+	}
+
+	/**
+	 * Restores the given point from the buffer and returns its color, or
+	 * <code>null</code> if the buffer refused to restore it.
+	 */
+	private RGB restore(BufferedGraphicsSource source, int x, int y) {
+		Image image = new Image(Display.getDefault(), x + 1, y + 1);
+		GC gc = new GC(image);
+		try {
+			if (!source.restore(gc, new Rectangle(x, y, 1, 1)))
+				return null;
+			ImageData data = image.getImageData();
+			return data.palette.getRGB(data.getPixel(x, y));
+		} finally {
+			gc.dispose();
+			image.dispose();
+		}
+	}
+
+	public void testRestoreAfterRepaint() {
+		Canvas canvas = new Canvas(shell, SWT.NONE);
+		canvas.setSize(100, 100);
+		BufferedGraphicsSource source = new BufferedGraphicsSource(canvas);
+		source.setRetained(true);
+
+		paint(source, new Rectangle(0, 0, 50, 100), ColorConstants.red);
+		assertNull(restore(source, 10, 10));
+
+		paint(source, new Rectangle(0, 0, 100, 100), ColorConstants.red);
+		assertEquals(ColorConstants.red.getRGB(), restore(source, 10, 10));
+
+		paint(source, new Rectangle(0, 0, 20, 20), ColorConstants.blue);
+		assertEquals(ColorConstants.blue.getRGB(), restore(source, 10, 10));
+		assertEquals(ColorConstants.red.getRGB(), restore(source, 50, 50));
+	}
+
+	public void testNoRestoreAfterResize() {
+		Canvas canvas = new Canvas(shell, SWT.NONE);
+		canvas.setSize(100, 100);
+		BufferedGraphicsSource source = new BufferedGraphicsSource(canvas);
+		source.setRetained(true);
+		paint(source, new Rectangle(0, 0, 100, 100), ColorConstants.red);
+		assertNotNull(restore(source, 10, 10));
+
+		canvas.setSize(150, 100);
+		assertNull(restore(source, 10, 10));
+
+		paint(source, new Rectangle(0, 0, 150, 100), ColorConstants.blue);
+		assertEquals(ColorConstants.blue.getRGB(), restore(source, 120, 10));
+	}
+
+	public void testRestoreAfterScroll() {
+		LightweightSystem lws = new LightweightSystem();
+		FigureCanvas canvas = new FigureCanvas(shell, SWT.NONE, lws);
+		canvas.setSize(200, 200);
+		RectangleFigure contents = new RectangleFigure();
+		contents.setBackgroundColor(ColorConstants.red);
+		contents.setPreferredSize(new Dimension(1000, 1000));
+		contents.setLayoutManager(new XYLayout());
+		RectangleFigure band = new RectangleFigure();
+		band.setBackgroundColor(ColorConstants.blue);
+		contents.add(band, new Rectangle(0, 60, 1000, 10));
+		canvas.setContents(contents);
+
+		BufferedGraphicsSource source = (BufferedGraphicsSource) lws
+				.getGraphicsSource();
+		source.setRetained(true);
+		lws.getRootFigure().repaint();
+		lws.getUpdateManager().performUpdate();
+		assertEquals(ColorConstants.red.getRGB(), restore(source, 10, 15));
+
+		org.eclipse.swt.graphics.Rectangle area = canvas.getClientArea();
+		canvas.scrollToY(50);
+		// the buffer has been scrolled along with the control
+		assertEquals(ColorConstants.blue.getRGB(), restore(source, 10, 15));
+		// the exposed area has not been painted yet
+		assertNull(restore(source, 10, area.height - 10));
+
+		lws.getRootFigure().repaint(0, area.height - 50, area.width, 50);
+		lws.getUpdateManager().performUpdate();
+		assertEquals(ColorConstants.red.getRGB(), restore(source, 10,
+				area.height - 10));
+		assertEquals(ColorConstants.blue.getRGB(), restore(source, 10, 15));
+	}
+
+}
@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d.test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.eclipse.draw2d.DeferredUpdateManager;
+import org.eclipse.draw2d.Figure;
+import org.eclipse.draw2d.Graphics;
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.geometry.Rectangle;
+
+public class DeferredUpdateManagerTest extends TestCase {
+
+	private IFigure root;
+	private IFigure topLeft;
+	private IFigure bottomRight;
+	private RecordingUpdateManager manager;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		root = new Figure();
+		root.setBounds(new Rectangle(0, 0, 1000, 1000));
+		topLeft = new Figure();
+		topLeft.setBounds(new Rectangle(10, 10, 10, 10));
+		root.add(topLeft);
+		bottomRight = new Figure();
+		bottomRight.setBounds(new Rectangle(980, 980, 10, 10));
+		root.add(bottomRight);
+		manager = new RecordingUpdateManager();
+		manager.setRoot(root);
+	}
+
+	public void testSingleRegionByDefault() {
+		manager.addDirtyRegion(topLeft, 10, 10, 10, 10);
+		manager.addDirtyRegion(bottomRight, 980, 980, 10, 10);
+		manager.performUpdate();
+		assertEquals(1, manager.repaired.size());
+		assertEquals(new Rectangle(10, 10, 980, 980), manager.repaired.get(0));
+	}
+
+	public void testDistantRegionsRepairedSeparately() {
+		manager.setMaximumDamageRegions(4);
+		manager.addDirtyRegion(topLeft, 10, 10, 10, 10);
+		manager.addDirtyRegion(bottomRight, 980, 980, 10, 10);
+		manager.performUpdate();
+		assertEquals(2, manager.repaired.size());
+		assertTrue(manager.repaired.contains(new Rectangle(10, 10, 10, 10)));
+		assertTrue(manager.repaired.contains(new Rectangle(980, 980, 10, 10)));
+	}
+
+	public void testOverlappingRegionsMerged() {
+		manager.setMaximumDamageRegions(4);
+		manager.setDamageRegionOverhead(0);
+		manager.addDirtyRegion(root, 100, 100, 50, 50);
+		manager.addDirtyRegion(topLeft, 10, 10, 10, 10);
+		manager.addDirtyRegion(bottomRight, 980, 980, 10, 10);
+		manager.performUpdate();
+		manager.repaired.clear();
+
+		Figure child = new Figure();
+		child.setBounds(new Rectangle(120, 120, 100, 100));
+		root.add(child);
+		manager.addDirtyRegion(root, 100, 100, 50, 50);
+		manager.addDirtyRegion(child, 120, 120, 100, 100);
+		manager.performUpdate();
+		assertEquals(1, manager.repaired.size());
+		assertEquals(new Rectangle(100, 100, 120, 120), manager.repaired.get(0));
+	}
+
+	public void testRegionCountIsBounded() {
+		manager.setMaximumDamageRegions(2);
+		manager.setDamageRegionOverhead(0);
+		for (int i = 0; i < 5; i++) {
+			Figure child = new Figure();
+			child.setBounds(new Rectangle(i * 200, i * 200, 5, 5));
+			root.add(child);
+			manager.addDirtyRegion(child, i * 200, i * 200, 5, 5);
+		}
+		manager.performUpdate();
+		assertEquals(2, manager.repaired.size());
+		Rectangle a = (Rectangle) manager.repaired.get(0);
+		Rectangle b = (Rectangle) manager.repaired.get(1);
+		assertFalse(a.intersects(b));
+	}
+
+	private static class RecordingUpdateManager extends DeferredUpdateManager {
+		List repaired = new ArrayList();
+
+		protected Graphics getGraphics(Rectangle region) {
+			repaired.add(new Rectangle(region));
+			return null;
+		}
+
+		protected void sendUpdateRequest() {
+		}
+	}
+
+}
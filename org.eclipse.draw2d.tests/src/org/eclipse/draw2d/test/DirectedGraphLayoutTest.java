@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d.test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+import org.eclipse.draw2d.graph.DirectedGraph;
+import org.eclipse.draw2d.graph.DirectedGraphLayout;
+import org.eclipse.draw2d.graph.Edge;
+import org.eclipse.draw2d.graph.Node;
+import org.eclipse.draw2d.graph.Rank;
+
+/**
+ * Tests the crossing reduction of the {@link DirectedGraphLayout}.
+ */
+public class DirectedGraphLayoutTest extends TestCase {
+
+	/**
+	 * Two trees whose leaves are listed crosswise, so that the initial
+	 * ordering has crossings which the first sweeps remove.
+	 */
+	private static final String[][] CROSSED = { { "r", "a" }, { "r", "b" },
+			{ "s", "c" }, { "s", "d" }, { "a", "x" }, { "c", "y" },
+			{ "b", "z" }, { "d", "w" }, { "x", "u" }, { "z", "u" },
+			{ "y", "v" }, { "w", "v" } };
+
+	private DirectedGraph layout(int patience) {
+		DirectedGraph graph = new DirectedGraph();
+		Map nodes = new HashMap();
+		for (int i = 0; i < CROSSED.length; i++)
+			graph.edges.add(new Edge(getNode(graph, nodes, CROSSED[i][0]),
+					getNode(graph, nodes, CROSSED[i][1])));
+		DirectedGraphLayout layout = new DirectedGraphLayout();
+		layout.setCrossingReductionPatience(patience);
+		layout.visit(graph);
+		return graph;
+	}
+
+	private Node getNode(DirectedGraph graph, Map nodes, String name) {
+		Node node = (Node) nodes.get(name);
+		if (node == null) {
+			node = new Node(name);
+			nodes.put(name, node);
+			graph.nodes.add(node);
+		}
+		return node;
+	}
+
+	/**
+	 * Returns the names of the nodes of each rank, in the order of the rank.
+	 */
+	private List getRankOrdering(DirectedGraph graph) {
+		List ordering = new ArrayList();
+		for (int row = 0; row < graph.ranks.size(); row++) {
+			Rank rank = graph.ranks.getRank(row);
+			List names = new ArrayList();
+			for (int n = 0; n < rank.count(); n++) {
+				Object data = rank.getNode(n).data;
+				// virtual nodes of long edges have no name
+				names.add(data instanceof String ? data : null);
+			}
+			ordering.add(names);
+		}
+		return ordering;
+	}
+
+	public void testEarlyExitKeepsRankOrdering() {
+		// the first sweep removes all crossings, so the default patience stops
+		// after it, while a patience of 0 makes all sweeps
+		assertEquals(getRankOrdering(layout(0)), getRankOrdering(layout(10)));
+	}
+
+}
@@ -60,5 +60,14 @@ public class Draw2dTestSuite extends TestSuite {
 		addTest(new TestSuite(ScalablePolygonShapeTest.class));
 		addTest(new TestSuite(LayerTest.class));
 		addTest(new TestSuite(ShapeTest.class));
+		addTest(new TestSuite(DeferredUpdateManagerTest.class));
+		addTest(new TestSuite(SpatialIndexTest.class));
+		addTest(new TestSuite(IncrementalLayoutTest.class));
+		addTest(new TestSuite(DirectedGraphLayoutTest.class));
+		addTest(new TestSuite(AnimationTest.class));
+		addTest(new TestSuite(LevelOfDetailTest.class));
+		addTest(new TestSuite(ZoomedFontCacheTest.class));
+		addTest(new TestSuite(TextFlowIncrementalLayoutTest.class));
+		addTest(new TestSuite(BufferedGraphicsSourceTest.class));
 	}
 }
@@ -16,6 +16,11 @@ import junit.framework.TestCase;
 import org.eclipse.draw2d.Figure;
 import org.eclipse.draw2d.FigureUtilities;
 import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.TextUtilities;
+import org.eclipse.draw2d.geometry.Dimension;
+import org.eclipse.swt.graphics.Font;
+import org.eclipse.swt.graphics.FontData;
+import org.eclipse.swt.widgets.Display;
 
 public class FigureUtilitiesTest extends TestCase {
 
@@ -94,4 +99,38 @@ public class FigureUtilitiesTest extends TestCase {
 				orphanFigure);
 		assertNull(result);
 	}
+
+	public void test_getTextExtents_cached() {
+		Font font = Display.getDefault().getSystemFont();
+		Dimension extents = FigureUtilities.getTextExtents("cached", font); //$NON-NLS-1$
+		Dimension expected = extents.getCopy();
+		extents.width = 0;
+		assertEquals(expected, FigureUtilities.getTextExtents("cached", font)); //$NON-NLS-1$
+		assertEquals(expected.width,
+				FigureUtilities.getTextWidth("cached", font)); //$NON-NLS-1$
+	}
+
+	public void test_getTextExtents_disposedFont() {
+		FontData data = Display.getDefault().getSystemFont().getFontData()[0];
+		data.setHeight(data.getHeight() * 2);
+		Font large = new Font(Display.getDefault(), data);
+		Dimension extents = FigureUtilities.getTextExtents("disposed", large); //$NON-NLS-1$
+		large.dispose();
+		FigureUtilities.invalidateTextExtents(large);
+
+		Font small = Display.getDefault().getSystemFont();
+		assertFalse(extents.equals(FigureUtilities.getTextExtents(
+				"disposed", small))); //$NON-NLS-1$
+	}
+
+	public void test_getLargestSubstringConfinedTo() {
+		Font font = Display.getDefault().getSystemFont();
+		String s = "The quick brown fox jumps over the lazy dog"; //$NON-NLS-1$
+		int width = FigureUtilities.getTextWidth("The quick brown", font); //$NON-NLS-1$
+		int length = TextUtilities.INSTANCE.getLargestSubstringConfinedTo(s,
+				font, width);
+		assertTrue(FigureUtilities.getTextWidth(s.substring(0, length), font) < width);
+		assertTrue(FigureUtilities.getTextWidth(s.substring(0, length + 1),
+				font) >= width);
+	}
 }
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d.test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+import org.eclipse.draw2d.graph.DirectedGraph;
+import org.eclipse.draw2d.graph.DirectedGraphLayout;
+import org.eclipse.draw2d.graph.Edge;
+import org.eclipse.draw2d.graph.Node;
+
+/**
+ * Tests laying out a directed graph starting from a previous layout.
+ */
+public class IncrementalLayoutTest extends TestCase {
+
+	private static final String[][] TREE = { { "r", "a" }, { "r", "b" },
+			{ "r", "c" }, { "a", "d" }, { "b", "e" }, { "c", "f" },
+			{ "d", "g" }, { "f", "g" } };
+
+	private Map nodes;
+
+	private DirectedGraph createGraph(String[][] edges) {
+		DirectedGraph graph = new DirectedGraph();
+		nodes = new HashMap();
+		for (int i = 0; i < edges.length; i++) {
+			Node source = getNode(graph, edges[i][0]);
+			Node target = getNode(graph, edges[i][1]);
+			graph.edges.add(new Edge(source, target));
+		}
+		return graph;
+	}
+
+	private Node getNode(DirectedGraph graph, String name) {
+		Node node = (Node) nodes.get(name);
+		if (node == null) {
+			node = new Node(name);
+			nodes.put(name, node);
+			graph.nodes.add(node);
+		}
+		return node;
+	}
+
+	private String[][] append(String[][] edges, String source, String target) {
+		String[][] result = new String[edges.length + 1][];
+		System.arraycopy(edges, 0, result, 0, edges.length);
+		result[edges.length] = new String[] { source, target };
+		return result;
+	}
+
+	public void testSmallEditKeepsLayout() {
+		DirectedGraph previous = createGraph(TREE);
+		new DirectedGraphLayout().visit(previous);
+		Map oldNodes = nodes;
+
+		DirectedGraph graph = createGraph(append(TREE, "e", "h"));
+		new DirectedGraphLayout().visit(graph, previous);
+
+		String[] names = { "r", "a", "b", "c", "d", "e", "f", "g" };
+		for (int i = 0; i < names.length; i++) {
+			Node before = (Node) oldNodes.get(names[i]);
+			Node after = (Node) nodes.get(names[i]);
+			assertEquals(names[i], before.y, after.y);
+		}
+		for (int i = 1; i < 3; i++) {
+			Node left = (Node) nodes.get(names[i]);
+			Node right = (Node) nodes.get(names[i + 1]);
+			Node oldLeft = (Node) oldNodes.get(names[i]);
+			Node oldRight = (Node) oldNodes.get(names[i + 1]);
+			assertEquals(oldLeft.x < oldRight.x, left.x < right.x);
+		}
+		Node e = (Node) nodes.get("e");
+		Node h = (Node) nodes.get("h");
+		assertTrue(h.y > e.y);
+	}
+
+	public void testUnrelatedPreviousGraphIsIgnored() {
+		DirectedGraph previous = createGraph(new String[][] { { "x", "y" } });
+		new DirectedGraphLayout().visit(previous);
+
+		DirectedGraph graph = createGraph(TREE);
+		new DirectedGraphLayout().visit(graph, previous);
+		Node r = (Node) nodes.get("r");
+		Node g = (Node) nodes.get("g");
+		assertTrue(g.y > r.y);
+	}
+
+}
@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d.test;
+
+import junit.framework.TestCase;
+
+import org.eclipse.draw2d.Label;
+import org.eclipse.draw2d.Layer;
+import org.eclipse.draw2d.LevelOfDetail;
+import org.eclipse.draw2d.SWTGraphics;
+import org.eclipse.draw2d.ScalableLayeredPane;
+import org.eclipse.draw2d.ScaledGraphics;
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.widgets.Display;
+
+public class LevelOfDetailTest extends TestCase {
+
+	private Image image;
+	private GC gc;
+	private CountingGraphics graphics;
+	private ScalableLayeredPane pane;
+	private Label label;
+
+	static class CountingGraphics extends SWTGraphics {
+		int texts;
+
+		CountingGraphics(GC gc) {
+			super(gc);
+		}
+
+		public void drawText(String s, int x, int y) {
+			texts++;
+			super.drawText(s, x, y);
+		}
+	}
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		image = new Image(Display.getDefault(), 100, 100);
+		gc = new GC(image);
+		graphics = new CountingGraphics(gc);
+
+		label = new Label("Label"); //$NON-NLS-1$
+		label.setFont(Display.getDefault().getSystemFont());
+		label.setBounds(new Rectangle(0, 0, 200, 50));
+		Layer layer = new Layer();
+		layer.add(label);
+		pane = new ScalableLayeredPane();
+		pane.add(layer);
+		pane.setBounds(new Rectangle(0, 0, 100, 100));
+		pane.validate();
+	}
+
+	protected void tearDown() throws Exception {
+		graphics.dispose();
+		gc.dispose();
+		image.dispose();
+		super.tearDown();
+	}
+
+	public void testThresholdsDefaultToZero() {
+		LevelOfDetail levelOfDetail = new LevelOfDetail();
+		assertEquals(0, levelOfDetail.getThreshold(LevelOfDetail.TEXT), 0);
+		assertEquals(0, levelOfDetail.getThreshold(LevelOfDetail.DECORATIONS),
+				0);
+		assertEquals(0, levelOfDetail.getThreshold(LevelOfDetail.BORDERS), 0);
+		assertTrue(levelOfDetail.isShown(0.01, LevelOfDetail.TEXT));
+	}
+
+	public void testDetailShownAboveThreshold() {
+		LevelOfDetail levelOfDetail = new LevelOfDetail();
+		levelOfDetail.setThreshold(LevelOfDetail.TEXT, 0.25);
+		assertTrue(levelOfDetail.isShown(0.5, LevelOfDetail.TEXT));
+		assertFalse(levelOfDetail.isShown(0.1, LevelOfDetail.TEXT));
+		assertTrue(levelOfDetail.isShown(0.1, LevelOfDetail.BORDERS));
+	}
+
+	public void testOtherGraphicsShowDetail() {
+		ScaledGraphics scaled = new ScaledGraphics(graphics);
+		scaled.scale(0.1);
+		assertTrue(LevelOfDetail.isShown(scaled, LevelOfDetail.TEXT));
+		scaled.dispose();
+	}
+
+	public void testLabelTextPaintedAsBar() {
+		pane.setScale(0.1);
+		pane.paint(graphics);
+		assertEquals(1, graphics.texts);
+
+		LevelOfDetail levelOfDetail = new LevelOfDetail();
+		levelOfDetail.setThreshold(LevelOfDetail.TEXT, 0.25);
+		pane.setLevelOfDetail(levelOfDetail);
+		pane.paint(graphics);
+		assertEquals(1, graphics.texts);
+
+		pane.setScale(0.5);
+		pane.paint(graphics);
+		assertEquals(2, graphics.texts);
+	}
+
+}
@@ -572,6 +572,46 @@ public class ShortestPathRoutingTest extends TestCase {
 		doAssertNoPathsSolved();
 	}
 
+	public void testDeltasMoveObstacleManyObstacles() {
+		// enough obstacles for the router to index them
+		for (int i = 0; i < 5; i++)
+			for (int j = 0; j < 5; j++)
+				routing.addObstacle(new Rectangle(100 * i + 25, 100 * j + 25,
+						50, 50));
+		Path a = new Path(new Point(5, 300), new Point(545, 300));
+		routing.addPath(a);
+		routing.solve();
+		doAssertNumPoints(a.getPoints(), 0);
+
+		assertFalse("A distant obstacle should not dirty the path.",
+				routing.updateObstacle(new Rectangle(25, 25, 50, 50),
+						new Rectangle(30, 25, 50, 50)));
+
+		Rectangle blocker = new Rectangle(225, 275, 50, 50);
+		assertTrue("The path should have been dirtied.",
+				routing.updateObstacle(new Rectangle(225, 225, 50, 50),
+						blocker.getCopy()));
+		routing.solve();
+		pathA = a.getPoints();
+		assertTrue("The path should bend around the moved obstacle.",
+				pathA.size() > 2);
+		Rectangle inside = blocker.getCopy().shrink(1, 1);
+		for (int i = 0; i < pathA.size() - 1; i++) {
+			Point p1 = pathA.getPoint(i), p2 = pathA.getPoint(i + 1);
+			for (int s = 0; s <= 100; s++) {
+				Point p = new Point(p1.x + (p2.x - p1.x) * s / 100, p1.y
+						+ (p2.y - p1.y) * s / 100);
+				assertFalse("The path should not cross " + blocker,
+						inside.contains(p));
+			}
+		}
+
+		routing.updateObstacle(blocker.getCopy(), new Rectangle(225, 225, 50,
+				50));
+		routing.solve();
+		doAssertNumPoints(a.getPoints(), 0);
+	}
+
 	public void testDeltasRemoveObstacleIntersection() {
 		doSetUp(deltaAStart, deltaAEnd, deltaBStart, deltaBEnd, deltaRect);
 
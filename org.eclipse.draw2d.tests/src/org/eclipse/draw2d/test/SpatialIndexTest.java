@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d.test;
+
+import java.util.Collections;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.eclipse.draw2d.Figure;
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.SpatialIndex;
+import org.eclipse.draw2d.geometry.Rectangle;
+
+public class SpatialIndexTest extends TestCase {
+
+	private Figure parent;
+	private Figure bottom;
+	private Figure top;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		parent = new Figure();
+		parent.setBounds(new Rectangle(0, 0, 2000, 2000));
+		bottom = new Figure();
+		bottom.setBounds(new Rectangle(100, 100, 100, 100));
+		parent.add(bottom);
+		top = new Figure();
+		top.setBounds(new Rectangle(150, 150, 100, 100));
+		parent.add(top);
+		parent.setSpatialIndexEnabled(true);
+	}
+
+	public void testQueryOrder() {
+		SpatialIndex index = new SpatialIndex(50);
+		index.put("a", new Rectangle(0, 0, 100, 100), 2);
+		index.put("b", new Rectangle(50, 50, 100, 100), 1);
+		index.put("c", new Rectangle(500, 500, 10, 10), 0);
+		List result = index.query(new Rectangle(60, 60, 10, 10));
+		assertEquals(2, result.size());
+		assertEquals("b", result.get(0));
+		assertEquals("a", result.get(1));
+		assertEquals(Collections.singletonList("c"), index.query(505, 505));
+		index.remove("c");
+		assertTrue(index.query(505, 505).isEmpty());
+	}
+
+	public void testOversizedEntries() {
+		SpatialIndex index = new SpatialIndex(10);
+		index.put("huge", new Rectangle(-5000, -5000, 10000, 10000), 0);
+		assertEquals(1, index.query(-4000, 4000).size());
+		assertEquals(1, index.query(new Rectangle(0, 0, 1, 1)).size());
+		index.update("huge", new Rectangle(0, 0, 5, 5));
+		assertEquals(0, index.query(-4000, 4000).size());
+		assertEquals(1, index.query(2, 2).size());
+	}
+
+	public void testFindFigureAtRespectsZOrder() {
+		assertSame(top, parent.findFigureAt(175, 175));
+		assertSame(bottom, parent.findFigureAt(120, 120));
+		assertSame(parent, parent.findFigureAt(1000, 1000));
+		assertSame(bottom, parent.findFigureAtExcluding(175, 175,
+				Collections.singletonList(top)));
+	}
+
+	public void testIndexFollowsMovedChildren() {
+		top.setBounds(new Rectangle(1000, 1000, 50, 50));
+		assertSame(bottom, parent.findFigureAt(175, 175));
+		assertSame(top, parent.findFigureAt(1010, 1010));
+	}
+
+	public void testIndexFollowsChildOrder() {
+		IFigure inserted = new Figure();
+		inserted.setBounds(new Rectangle(100, 100, 200, 200));
+		parent.add(inserted, 0);
+		assertSame(top, parent.findFigureAt(175, 175));
+		parent.remove(top);
+		assertSame(bottom, parent.findFigureAt(175, 175));
+		parent.add(top);
+		assertSame(top, parent.findFigureAt(175, 175));
+		parent.remove(top);
+		parent.remove(bottom);
+		assertSame(inserted, parent.findFigureAt(175, 175));
+		parent.setSpatialIndexEnabled(false);
+		assertSame(inserted, parent.findFigureAt(175, 175));
+	}
+
+	public void testRemoveThenAppendKeepsZOrder() {
+		parent.remove(bottom);
+		IFigure appended = new Figure();
+		appended.setBounds(new Rectangle(100, 100, 100, 100));
+		parent.add(appended);
+		// Moving the former top child relinks it behind the appended one
+		top.setBounds(new Rectangle(160, 160, 100, 100));
+		assertSame(appended, parent.findFigureAt(175, 175));
+		assertSame(top, parent.findFigureAt(210, 210));
+	}
+
+}
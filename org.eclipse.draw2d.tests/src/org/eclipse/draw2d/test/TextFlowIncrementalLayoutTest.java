@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d.test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.draw2d.FigureUtilities;
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.text.BlockFlow;
+import org.eclipse.draw2d.text.FlowPage;
+import org.eclipse.draw2d.text.TextFlow;
+import org.eclipse.draw2d.text.TextFragmentBox;
+
+public class TextFlowIncrementalLayoutTest extends BaseTestCase {
+
+	private static final String SENTENCE = "The quick brown fox jumps over the lazy dog.\n"; //$NON-NLS-1$
+
+	private int width;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		width = FigureUtilities.getStringExtents(
+				"The quick brown fox jumps", TAHOMA).width; //$NON-NLS-1$
+	}
+
+	/**
+	 * Creates a page with a text flow for each text, except for the texts
+	 * starting with a tab which are put in a block.
+	 */
+	private FlowPage createPage(String[] texts) {
+		FlowPage page = new FlowPage();
+		for (int i = 0; i < texts.length; i++) {
+			TextFlow flow = new TextFlow(texts[i]);
+			flow.setFont(TAHOMA);
+			if (texts[i].startsWith("\t")) { //$NON-NLS-1$
+				BlockFlow block = new BlockFlow();
+				block.add(flow);
+				page.add(block);
+			} else
+				page.add(flow);
+		}
+		page.setSize(width, 10000);
+		page.validate();
+		return page;
+	}
+
+	private List getTextFlows(IFigure figure, List result) {
+		if (figure instanceof TextFlow)
+			result.add(figure);
+		for (int i = 0; i < figure.getChildren().size(); i++)
+			getTextFlows((IFigure) figure.getChildren().get(i), result);
+		return result;
+	}
+
+	private String repeat(String s, int count) {
+		StringBuffer buffer = new StringBuffer();
+		for (int i = 0; i < count; i++)
+			buffer.append(s);
+		return buffer.toString();
+	}
+
+	private void assertSameLayout(String[] texts, FlowPage page) {
+		List expectedFlows = getTextFlows(createPage(texts), new ArrayList());
+		List flows = getTextFlows(page, new ArrayList());
+		for (int i = 0; i < texts.length; i++) {
+			assertEquals(texts[i], ((TextFlow) flows.get(i)).getText());
+			List expectedFragments = ((TextFlow) expectedFlows.get(i))
+					.getFragments();
+			List fragments = ((TextFlow) flows.get(i)).getFragments();
+			assertEquals(expectedFragments.size(), fragments.size());
+			for (int j = 0; j < fragments.size(); j++) {
+				TextFragmentBox expectedBox = (TextFragmentBox) expectedFragments
+						.get(j);
+				TextFragmentBox box = (TextFragmentBox) fragments.get(j);
+				assertEquals(expectedBox.offset, box.offset);
+				assertEquals(expectedBox.length, box.length);
+				assertEquals(expectedBox.getX(), box.getX());
+				assertEquals(expectedBox.getWidth(), box.getWidth());
+				assertEquals(expectedBox.getBaseline(), box.getBaseline());
+			}
+		}
+		assertEquals(((IFigure) expectedFlows.get(0)).getParent()
+				.getPreferredSize(width, -1), page.getPreferredSize(width, -1));
+	}
+
+	public void testInsertionReusesFollowingLines() {
+		String text = repeat(SENTENCE, 50);
+		FlowPage page = createPage(new String[] { text });
+		TextFlow flow = (TextFlow) page.getChildren().get(0);
+		List fragments = flow.getFragments();
+		TextFragmentBox last = (TextFragmentBox) fragments.get(fragments
+				.size() - 1);
+		int offset = last.offset;
+		int baseline = last.getBaseline();
+
+		String insertion = "very very very very very very "; //$NON-NLS-1$
+		text = text.substring(0, 10) + insertion + text.substring(10);
+		flow.setText(text);
+		page.validate();
+
+		assertSame(last, fragments.get(fragments.size() - 1));
+		assertEquals(offset + insertion.length(), last.offset);
+		assertTrue(last.getBaseline() > baseline);
+		assertSameLayout(new String[] { text }, page);
+	}
+
+	public void testDeletion() {
+		String text = repeat(SENTENCE, 20);
+		FlowPage page = createPage(new String[] { text });
+		TextFlow flow = (TextFlow) page.getChildren().get(0);
+
+		int start = SENTENCE.length() * 5 + 4;
+		text = text.substring(0, start)
+				+ text.substring(start + SENTENCE.length());
+		flow.setText(text);
+		page.validate();
+		assertSameLayout(new String[] { text }, page);
+	}
+
+	public void testChangesBeforeValidation() {
+		String text = repeat(SENTENCE, 20);
+		FlowPage page = createPage(new String[] { text });
+		TextFlow flow = (TextFlow) page.getChildren().get(0);
+
+		text = text.substring(0, 100) + "jumps " + text.substring(100); //$NON-NLS-1$
+		flow.setText(text);
+		text = text.substring(0, 300) + text.substring(320);
+		flow.setText(text);
+		text = text + "The end"; //$NON-NLS-1$
+		flow.setText(text);
+		page.validate();
+		assertSameLayout(new String[] { text }, page);
+	}
+
+	public void testFollowingFlowsLaidOut() {
+		String[] texts = new String[] { "The quick brown", //$NON-NLS-1$
+				" fox jumps over the lazy dog.\n", repeat(SENTENCE, 10) }; //$NON-NLS-1$
+		FlowPage page = createPage(texts);
+		TextFlow flow = (TextFlow) page.getChildren().get(1);
+
+		texts[1] = " fox jumps over the lazy dog again and again.\n"; //$NON-NLS-1$
+		flow.setText(texts[1]);
+		page.validate();
+		assertSameLayout(texts, page);
+
+		texts[1] = " fox"; //$NON-NLS-1$
+		flow.setText(texts[1]);
+		page.validate();
+		assertSameLayout(texts, page);
+	}
+
+	public void testFollowingBlockMoved() {
+		String[] texts = new String[] { repeat(SENTENCE, 5) + "The quick", //$NON-NLS-1$
+				"\t" + repeat(SENTENCE, 5) }; //$NON-NLS-1$
+		FlowPage page = createPage(texts);
+		TextFlow flow = (TextFlow) page.getChildren().get(0);
+
+		texts[0] += " brown fox jumps over the lazy dog"; //$NON-NLS-1$
+		flow.setText(texts[0]);
+		page.validate();
+		assertSameLayout(texts, page);
+	}
+
+}
@@ -10,9 +10,14 @@
  *******************************************************************************/
 package org.eclipse.draw2d.test;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import junit.framework.TestCase;
 
 import org.eclipse.draw2d.Ellipse;
+import org.eclipse.draw2d.Figure;
+import org.eclipse.draw2d.Graphics;
 import org.eclipse.draw2d.IFigure;
 import org.eclipse.draw2d.geometry.Rectangle;
 import org.eclipse.draw2d.parts.Thumbnail;
@@ -68,4 +73,81 @@ public class ThumbnailTest extends TestCase {
 		assertTrue(img == null);
 	}
 
+	public void test_OnlyDamagedTilesUpdated() {
+		final int[] paints = new int[1];
+		IFigure fig = new Figure();
+		fig.setBounds(new Rectangle(0, 0, 2000, 2000));
+		fig.setFont(Display.getDefault().getSystemFont());
+		IFigure topLeft = new Figure();
+		topLeft.setBounds(new Rectangle(0, 0, 100, 100));
+		fig.add(topLeft);
+		IFigure bottomRight = new Figure() {
+			protected void paintFigure(Graphics graphics) {
+				paints[0]++;
+			}
+		};
+		bottomRight.setBounds(new Rectangle(1900, 1900, 100, 100));
+		fig.add(bottomRight);
+
+		TestThumbnail thumb = new TestThumbnail();
+		thumb.setSource(fig);
+		thumb.setBounds(new Rectangle(0, 0, 600, 600));
+		thumb.getThumbnailImage();
+		runUpdater();
+		// only the bottom right tile shows the figure
+		assertEquals(1, paints[0]);
+
+		Map dirtyRegions = new HashMap();
+		dirtyRegions.put(topLeft, new Rectangle(0, 0, 100, 100));
+		thumb.notifyPainting(null, dirtyRegions);
+		thumb.getThumbnailImage();
+		runUpdater();
+		assertEquals(1, paints[0]);
+
+		dirtyRegions.put(bottomRight, new Rectangle(1900, 1900, 10, 10));
+		thumb.notifyPainting(null, dirtyRegions);
+		thumb.getThumbnailImage();
+		runUpdater();
+		assertEquals(2, paints[0]);
+	}
+
+	public void test_ClippedDamageUpdatesFigure() {
+		final int[] paints = new int[1];
+		IFigure root = new Figure();
+		root.setBounds(new Rectangle(0, 0, 500, 500));
+		IFigure fig = new Figure();
+		fig.setBounds(new Rectangle(0, 0, 2000, 2000));
+		fig.setFont(Display.getDefault().getSystemFont());
+		root.add(fig);
+		IFigure bottomRight = new Figure() {
+			protected void paintFigure(Graphics graphics) {
+				paints[0]++;
+			}
+		};
+		bottomRight.setBounds(new Rectangle(1900, 1900, 100, 100));
+		fig.add(bottomRight);
+
+		TestThumbnail thumb = new TestThumbnail();
+		thumb.setSource(fig);
+		thumb.setBounds(new Rectangle(0, 0, 600, 600));
+		thumb.getThumbnailImage();
+		runUpdater();
+		assertEquals(1, paints[0]);
+
+		// the dirty region is outside of the root, so it has been clipped
+		Map dirtyRegions = new HashMap();
+		dirtyRegions.put(bottomRight, new Rectangle(0, 0, 0, 0));
+		thumb.notifyPainting(null, dirtyRegions);
+		thumb.getThumbnailImage();
+		runUpdater();
+		assertEquals(2, paints[0]);
+	}
+
+	private void runUpdater() {
+		Display display = Display.getCurrent();
+		while (display.readAndDispatch()) {
+			// process the asynchronous tile updates
+		}
+	}
+
 }
@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d.test;
+
+import junit.framework.TestCase;
+
+import org.eclipse.draw2d.ZoomedFontCache;
+import org.eclipse.swt.graphics.Font;
+import org.eclipse.swt.widgets.Display;
+
+public class ZoomedFontCacheTest extends TestCase {
+
+	private ZoomedFontCache cache;
+	private Font font;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		cache = ZoomedFontCache.getInstance(Display.getDefault());
+		cache.setMaximumSize(ZoomedFontCache.DEFAULT_MAXIMUM_SIZE);
+		cache.resetCounts();
+		font = Display.getDefault().getSystemFont();
+	}
+
+	protected void tearDown() throws Exception {
+		cache.setMaximumSize(ZoomedFontCache.DEFAULT_MAXIMUM_SIZE);
+		super.tearDown();
+	}
+
+	public void testFontsShared() {
+		Font zoomed = cache.acquireFont(font, 31);
+		assertSame(zoomed, cache.acquireFont(font, 31));
+		assertEquals(1, cache.getMissCount());
+		assertEquals(1, cache.getHitCount());
+		assertEquals(31, zoomed.getFontData()[0].getHeight());
+		assertNotNull(cache.getFontMetrics(zoomed));
+		cache.releaseFont(zoomed);
+		cache.releaseFont(zoomed);
+
+		// the font is kept after it has been released
+		assertSame(zoomed, cache.acquireFont(font, 31));
+		assertEquals(2, cache.getHitCount());
+		cache.releaseFont(zoomed);
+	}
+
+	public void testUnusedFontsEvicted() {
+		cache.setMaximumSize(0);
+		Font inUse = cache.acquireFont(font, 32);
+		Font released = cache.acquireFont(font, 33);
+		cache.releaseFont(released);
+
+		assertTrue(released.isDisposed());
+		assertFalse(inUse.isDisposed());
+		cache.releaseFont(inUse);
+		assertTrue(inUse.isDisposed());
+		assertNull(cache.getFontMetrics(inUse));
+	}
+
+}
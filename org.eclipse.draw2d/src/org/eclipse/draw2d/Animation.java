@@ -17,6 +17,8 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 
+import org.eclipse.swt.widgets.Display;
+
 /**
  * A utility for coordinating figure animations. During animation, multiple
  * <i>animators</i> are employed to capture the <em>initial</em> and
@@ -36,7 +38,15 @@ import java.util.Set;
  * After this method is called, changes are made, and {@link #run()} is invoked.
  * The run method will force a validation pass to capture the final states, and
  * then commence the animation. The animation is synchronous and the method does
- * not return until the animation has completed.
+ * not return until the animation has completed, so the display thread neither
+ * paints nor processes input meanwhile. Alternatively, {@link #runAsync(int)}
+ * plays the animation from the display's timer and returns after the first
+ * frame. Between two of its frames, figures are laid out normally.
+ * <P>
+ * Frames are rendered at the {@link #setFrameRate(int) frame rate}. When
+ * rendering a frame takes longer than the time between two frames, the frames
+ * which are late are skipped, so that the animation still ends on time. The
+ * timing of the rendered frames is available from {@link #getStatistics()}.
  * 
  * @see LayoutAnimator
  * @since 3.2
@@ -64,8 +74,13 @@ public class Animation {
 	}
 
 	private static final int DEFAULT_DELAY = 250;
+	private static final int DEFAULT_FRAME_RATE = 60;
+	private static Display display;
+	private static int duration;
 	private static Set figureAnimators;
 	private static Map finalStates;
+	private static int frameIndex;
+	private static int frameRate = DEFAULT_FRAME_RATE;
 
 	private static Map initialStates;
 	private static final int PLAYBACK = 3;
@@ -75,10 +90,28 @@ public class Animation {
 	private static final int RECORD_INITIAL = 1;
 	private static long startTime;
 	private static int state;
+	private static boolean rendering;
+	private static AnimationStatistics statistics;
+	private static Runnable timer;
 	private static Set toCapture;
 
 	private static UpdateManager updateManager;
 
+	private static void beginPlayback(int duration) {
+		state = RECORD_FINAL;
+		findUpdateManager();
+		updateManager.performValidation();
+		capture();
+		state = PLAYBACK;
+		progress = 0.1f;
+		Animation.duration = duration;
+		frameIndex = 0;
+		statistics = new AnimationStatistics(frameRate, duration);
+		startTime = System.currentTimeMillis();
+
+		notifyPlaybackStarting();
+	}
+
 	private static void capture() {
 		Iterator keys = figureAnimators.iterator();
 		while (keys.hasNext()) {
@@ -91,6 +124,13 @@ public class Animation {
 	}
 
 	static void cleanup() {
+		if (timer != null) {
+			if (!display.isDisposed())
+				display.timerExec(-1, timer);
+			timer = null;
+			display = null;
+		}
+
 		if (figureAnimators != null) {
 			Iterator keys = figureAnimators.iterator();
 			while (keys.hasNext()) {
@@ -113,27 +153,15 @@ public class Animation {
 	}
 
 	private static void doRun(int duration) {
-		state = RECORD_FINAL;
-		findUpdateManager();
-		updateManager.performValidation();
-		capture();
-		state = PLAYBACK;
-		progress = 0.1f;
-		startTime = System.currentTimeMillis();
-
-		notifyPlaybackStarting();
-
-		while (progress != 0) {
-			step();
-			updateManager.performUpdate();
-			if (progress == 1.0)
-				progress = 0;
-			else {
-				int delta = (int) (System.currentTimeMillis() - startTime);
-				if (delta >= duration)
-					progress = 1f;
-				else
-					progress = 0.1f + 0.9f * delta / duration;
+		beginPlayback(duration);
+		while (!renderFrame()) {
+			int delay = getNextFrameDelay();
+			if (delay > 0) {
+				try {
+					Thread.sleep(delay);
+				} catch (InterruptedException e) {
+					// the next frame is rendered early
+				}
 			}
 		}
 	}
@@ -157,6 +185,16 @@ public class Animation {
 		return finalStates.get(new AnimPair(animator, figure));
 	}
 
+	/**
+	 * Returns the target frame rate of the animation.
+	 * 
+	 * @return the frame rate in frames per second
+	 * @since 3.11
+	 */
+	public static int getFrameRate() {
+		return frameRate;
+	}
+
 	/**
 	 * Returns the initial animation state for the given animator and figure. If
 	 * no state was recorded, <code>null</code> is returned.
@@ -182,6 +220,35 @@ public class Animation {
 		return progress;
 	}
 
+	/**
+	 * Returns the delay until the next frame. Frames are aligned to the frame
+	 * rate, and the frames whose time has passed while rendering are skipped.
+	 * The last frame is rendered when the duration has elapsed.
+	 */
+	private static int getNextFrameDelay() {
+		int elapsed = (int) (System.currentTimeMillis() - startTime);
+		if (elapsed >= duration)
+			return 0;
+		int interval = Math.max(1, 1000 / frameRate);
+		int next = elapsed / interval + 1;
+		if (next > frameIndex + 1)
+			statistics.framesSkipped(next - frameIndex - 1);
+		frameIndex = next;
+		return Math.min(next * interval, duration) - elapsed;
+	}
+
+	/**
+	 * Returns the frame statistics of the animation being played, or of the
+	 * last animation which has been played.
+	 * 
+	 * @return the statistics or <code>null</code> if no animation has been
+	 *         played
+	 * @since 3.11
+	 */
+	public static AnimationStatistics getStatistics() {
+		return statistics;
+	}
+
 	static void hookAnimator(IFigure figure, Animator animator) {
 		AnimPair pair = new AnimPair(animator, figure);
 		if (figureAnimators.add(pair))
@@ -195,6 +262,10 @@ public class Animation {
 	}
 
 	static boolean hookPlayback(IFigure figure, Animator animator) {
+		// layouts between the frames of an asynchronous animation are not
+		// part of it
+		if (!rendering)
+			return false;
 		if (toCapture.contains(new AnimPair(animator, figure)))
 			return animator.playback(figure);
 		return false;
@@ -220,12 +291,16 @@ public class Animation {
 
 	/**
 	 * Marks the beginning of the animation process. If the beginning has
-	 * already been marked, this has no effect.
+	 * already been marked, this has no effect. An animation which is being
+	 * played asynchronously is ended, and the new animation starts from the
+	 * states reached so far.
 	 * 
 	 * @return returns <code>true</code> if beginning was not previously marked
 	 * @since 3.2
 	 */
 	public static boolean markBegin() {
+		if (timer != null)
+			cleanup();
 		if (state == 0) {
 			state = RECORD_INITIAL;
 			initialStates = new HashMap();
@@ -237,6 +312,22 @@ public class Animation {
 		return false;
 	}
 
+	private static void playNextFrame() {
+		Runnable current = timer;
+		boolean done = true;
+		try {
+			done = renderFrame();
+		} finally {
+			// the animation is over if it was ended while rendering the frame
+			if (timer == current) {
+				if (done)
+					cleanup();
+				else
+					display.timerExec(getNextFrameDelay(), timer);
+			}
+		}
+	}
+
 	private static void notifyPlaybackStarting() {
 		Iterator keys = figureAnimators.iterator();
 		while (keys.hasNext()) {
@@ -253,6 +344,29 @@ public class Animation {
 		initialStates.put(new AnimPair(animator, key), state);
 	}
 
+	/**
+	 * Renders the frame for the current time.
+	 * 
+	 * @return <code>true</code> if it was the last frame
+	 */
+	private static boolean renderFrame() {
+		long frameStart = System.currentTimeMillis();
+		int elapsed = (int) (frameStart - startTime);
+		if (elapsed >= duration)
+			progress = 1f;
+		else
+			progress = 0.1f + 0.9f * elapsed / duration;
+		rendering = true;
+		try {
+			step();
+			updateManager.performUpdate();
+		} finally {
+			rendering = false;
+		}
+		statistics.frameRendered(System.currentTimeMillis() - frameStart);
+		return progress == 1f;
+	}
+
 	/**
 	 * Runs animation using the recommended duration: 250 milliseconds.
 	 * 
@@ -265,13 +379,22 @@ public class Animation {
 
 	/**
 	 * Captures the final states for the animation and then plays the animation.
+	 * The method returns when the animation has completed. Between two frames,
+	 * the thread sleeps instead of processing events, so on the display thread
+	 * the user interface is blocked for the whole duration. Use
+	 * {@link #runAsync(int)} to keep it responsive.
+	 * <P>
+	 * Nothing happens unless the beginning has been {@link #markBegin()
+	 * marked}, including while an asynchronous animation is being played.
 	 * 
 	 * @param duration
 	 *            the length of animation in milliseconds
 	 * @since 3.2
 	 */
 	public static void run(int duration) {
-		if (state == 0)
+		// not only when idle, but also during an asynchronous playback, which
+		// must not be played again from its current frame
+		if (state != RECORD_INITIAL)
 			return;
 		try {
 			if (!figureAnimators.isEmpty())
@@ -281,6 +404,61 @@ public class Animation {
 		}
 	}
 
+	/**
+	 * Captures the final states for the animation and then starts playing the
+	 * animation. The first frame is rendered before this method returns, and
+	 * the following ones are rendered by {@link Display#timerExec(int,
+	 * Runnable)}, so that events are processed during the animation. Calling
+	 * {@link #markBegin()} before the animation has completed ends it.
+	 * <P>
+	 * If this method is not called on a display thread, the animation is
+	 * played synchronously.
+	 * 
+	 * @param duration
+	 *            the length of animation in milliseconds
+	 * @since 3.11
+	 */
+	public static void runAsync(int duration) {
+		if (state != RECORD_INITIAL)
+			return;
+		Display current = Display.getCurrent();
+		if (current == null || figureAnimators.isEmpty()) {
+			run(duration);
+			return;
+		}
+		boolean started = false;
+		try {
+			beginPlayback(duration);
+			started = true;
+		} finally {
+			if (!started)
+				cleanup();
+		}
+		display = current;
+		timer = new Runnable() {
+			public void run() {
+				if (timer == this)
+					playNextFrame();
+			}
+		};
+		playNextFrame();
+	}
+
+	/**
+	 * Sets the target frame rate of the animation. The default is 60 frames per
+	 * second.
+	 * 
+	 * @param frameRate
+	 *            the frame rate in frames per second, greater than 0
+	 * @since 3.11
+	 */
+	public static void setFrameRate(int frameRate) {
+		if (frameRate <= 0)
+			throw new IllegalArgumentException(
+					"The frame rate must be greater than 0"); //$NON-NLS-1$
+		Animation.frameRate = frameRate;
+	}
+
 	private static void step() {
 		Iterator iter = initialStates.keySet().iterator();
 		while (iter.hasNext())
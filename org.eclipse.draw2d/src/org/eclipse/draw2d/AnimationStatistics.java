@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d;
+
+/**
+ * Timing statistics of the frames rendered during the playback of an
+ * {@link Animation}. The statistics of the current or most recent playback are
+ * returned by {@link Animation#getStatistics()}.
+ *
+ * @since 3.11
+ */
+public final class AnimationStatistics {
+
+	private final int frameRate;
+	private final int duration;
+	private int frames;
+	private int skippedFrames;
+	private long totalFrameTime;
+	private long maximumFrameTime;
+
+	AnimationStatistics(int frameRate, int duration) {
+		this.frameRate = frameRate;
+		this.duration = duration;
+	}
+
+	void frameRendered(long time) {
+		frames++;
+		totalFrameTime += time;
+		maximumFrameTime = Math.max(maximumFrameTime, time);
+	}
+
+	void framesSkipped(int count) {
+		skippedFrames += count;
+	}
+
+	/**
+	 * Returns the average time spent rendering a frame, in milliseconds.
+	 *
+	 * @return the average frame time
+	 */
+	public double getAverageFrameTime() {
+		if (frames == 0)
+			return 0;
+		return (double) totalFrameTime / frames;
+	}
+
+	/**
+	 * Returns the requested length of the animation in milliseconds.
+	 *
+	 * @return the duration
+	 */
+	public int getDuration() {
+		return duration;
+	}
+
+	/**
+	 * Returns the number of frames which have been rendered.
+	 *
+	 * @return the frame count
+	 */
+	public int getFrameCount() {
+		return frames;
+	}
+
+	/**
+	 * Returns the target frame rate of the playback, in frames per second.
+	 *
+	 * @return the frame rate
+	 */
+	public int getFrameRate() {
+		return frameRate;
+	}
+
+	/**
+	 * Returns the longest time spent rendering a single frame, in milliseconds.
+	 *
+	 * @return the maximum frame time
+	 */
+	public long getMaximumFrameTime() {
+		return maximumFrameTime;
+	}
+
+	/**
+	 * Returns the number of frames which have been skipped because rendering
+	 * the previous frame took longer than the frame budget.
+	 *
+	 * @return the skipped frame count
+	 */
+	public int getSkippedFrameCount() {
+		return skippedFrames;
+	}
+
+	/**
+	 * Returns the total time spent rendering frames, in milliseconds.
+	 *
+	 * @return the total frame time
+	 */
+	public long getTotalFrameTime() {
+		return totalFrameTime;
+	}
+
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	public String toString() {
+		return "AnimationStatistics(" + frames + " frames, " //$NON-NLS-1$ //$NON-NLS-2$
+				+ skippedFrames + " skipped, average " //$NON-NLS-1$
+				+ getAverageFrameTime() + "ms, maximum " //$NON-NLS-1$
+				+ maximumFrameTime + "ms)"; //$NON-NLS-1$
+	}
+
+}
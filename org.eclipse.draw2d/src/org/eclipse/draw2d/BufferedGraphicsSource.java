@@ -12,6 +12,8 @@ package org.eclipse.draw2d;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTError;
+import org.eclipse.swt.events.DisposeEvent;
+import org.eclipse.swt.events.DisposeListener;
 import org.eclipse.swt.graphics.GC;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.widgets.Canvas;
@@ -20,7 +22,34 @@ import org.eclipse.swt.widgets.Control;
 
 import org.eclipse.draw2d.geometry.Rectangle;
 
-class BufferedGraphicsSource implements GraphicsSource {
+/**
+ * A graphics source which paints into an off-screen image buffer and copies
+ * the result onto the control when the graphics are flushed.
+ * <P>
+ * The image buffer and its GC are kept between update cycles and are only
+ * reallocated when the control grows beyond the buffer, or when the control
+ * has been considerably smaller than the buffer for a number of consecutive
+ * cycles. In <i>retained</i> mode, the buffer mirrors the entire control, so
+ * that the pixels outside of the damaged regions remain valid and may be used
+ * to repair exposed areas of the control without repainting any figures. The
+ * buffer keeps track of the region of the control whose pixels it holds, which
+ * grows as regions are painted and moves along when the control is scrolled.
+ * 
+ * @since 3.11
+ */
+public class BufferedGraphicsSource implements GraphicsSource {
+
+	/**
+	 * The granularity, in pixels, to which buffer dimensions are rounded up
+	 * when the buffer has to grow.
+	 */
+	private static final int GROWTH_INCREMENT = 128;
+
+	/**
+	 * The number of consecutive update cycles during which the control has to
+	 * be less than half the size of the buffer before the buffer is shrunk.
+	 */
+	private static final int SHRINK_DELAY = 30;
 
 	private Image imageBuffer;
 	private GC imageGC;
@@ -28,6 +57,13 @@ class BufferedGraphicsSource implements GraphicsSource {
 	private Control control;
 	private Rectangle inUse;
 
+	private boolean retained;
+	private Rectangle validRegion;
+	private org.eclipse.swt.graphics.Point validSize;
+	private int shrinkCount;
+	private int bufferHits;
+	private int reallocations;
+
 	/**
 	 * Constructs a new buffered graphics source using the given control.
 	 * 
@@ -37,6 +73,25 @@ class BufferedGraphicsSource implements GraphicsSource {
 	 */
 	public BufferedGraphicsSource(Control c) {
 		control = c;
+		control.addDisposeListener(new DisposeListener() {
+			public void widgetDisposed(DisposeEvent e) {
+				disposeBuffer();
+			}
+		});
+	}
+
+	/**
+	 * Releases the image buffer and its GC. A new buffer will be allocated
+	 * on the next call to {@link #getGraphics(Rectangle)}.
+	 */
+	public void disposeBuffer() {
+		if (imageGC != null && !imageGC.isDisposed())
+			imageGC.dispose();
+		if (imageBuffer != null && !imageBuffer.isDisposed())
+			imageBuffer.dispose();
+		imageGC = null;
+		imageBuffer = null;
+		validRegion = null;
 	}
 
 	/**
@@ -60,12 +115,21 @@ class BufferedGraphicsSource implements GraphicsSource {
 		 * The imageBuffer may be null if double-buffering was not successful.
 		 */
 		if (imageBuffer != null) {
-			imageGC.dispose();
-			controlGC.drawImage(getImage(), 0, 0, inUse.width, inUse.height,
-					inUse.x, inUse.y, inUse.width, inUse.height);
-			imageBuffer.dispose();
-			imageBuffer = null;
-			imageGC = null;
+			if (retained) {
+				controlGC.drawImage(getImage(), inUse.x, inUse.y, inUse.width,
+						inUse.height, inUse.x, inUse.y, inUse.width,
+						inUse.height);
+				org.eclipse.swt.graphics.Point size = getClientSize();
+				if (!size.equals(validSize)) {
+					validRegion = null;
+					validSize = size;
+				}
+				addValidRegion(new Rectangle(0, 0, size.x, size.y)
+						.intersect(inUse));
+			} else
+				controlGC.drawImage(getImage(), 0, 0, inUse.width,
+						inUse.height, inUse.x, inUse.y, inUse.width,
+						inUse.height);
 		}
 		controlGC.dispose();
 		controlGC = null;
@@ -87,25 +151,16 @@ class BufferedGraphicsSource implements GraphicsSource {
 		if (inUse.isEmpty())
 			return null;
 
-		/*
-		 * Bugzilla 53632 - Attempts to create large images on some platforms
-		 * will fail. When this happens, do not use double-buffering for
-		 * painting.
-		 */
-		try {
-			imageBuffer = new Image(null, inUse.width, inUse.height);
-		} catch (SWTError noMoreHandles) {
-			imageBuffer = null;
-		} catch (IllegalArgumentException tooBig) {
-			imageBuffer = null;
-		}
+		if (retained)
+			ensureBuffer(ptSWT.x, ptSWT.y, ptSWT.x, ptSWT.y);
+		else
+			ensureBuffer(inUse.width, inUse.height, ptSWT.x, ptSWT.y);
 
 		controlGC = new GC(control, control.getStyle()
 				& (SWT.RIGHT_TO_LEFT | SWT.LEFT_TO_RIGHT));
 		Graphics graphics;
 		if (imageBuffer != null) {
-			imageGC = new GC(imageBuffer, control.getStyle()
-					& (SWT.RIGHT_TO_LEFT | SWT.LEFT_TO_RIGHT));
+			resetImageGC();
 			imageGC.setBackground(controlGC.getBackground());
 			imageGC.setForeground(controlGC.getForeground());
 			imageGC.setFont(controlGC.getFont());
@@ -113,7 +168,8 @@ class BufferedGraphicsSource implements GraphicsSource {
 			imageGC.setLineWidth(controlGC.getLineWidth());
 			imageGC.setXORMode(controlGC.getXORMode());
 			graphics = new SWTGraphics(imageGC);
-			graphics.translate(inUse.getLocation().negate());
+			if (!retained)
+				graphics.translate(inUse.getLocation().negate());
 		} else {
 			graphics = new SWTGraphics(controlGC);
 		}
@@ -122,6 +178,236 @@ class BufferedGraphicsSource implements GraphicsSource {
 		return graphics;
 	}
 
+	/**
+	 * Makes sure that the image buffer is at least as large as the given
+	 * required size. The buffer grows as soon as it is too small, but only
+	 * shrinks after the control has been less than half its size for
+	 * {@link #SHRINK_DELAY} consecutive cycles.
+	 */
+	private void ensureBuffer(int width, int height, int controlWidth,
+			int controlHeight) {
+		if (imageBuffer != null) {
+			org.eclipse.swt.graphics.Rectangle bounds = imageBuffer
+					.getBounds();
+			if (width <= bounds.width && height <= bounds.height) {
+				if (controlWidth * 2 < bounds.width
+						|| controlHeight * 2 < bounds.height)
+					shrinkCount++;
+				else
+					shrinkCount = 0;
+				if (shrinkCount < SHRINK_DELAY) {
+					bufferHits++;
+					return;
+				}
+				width = controlWidth;
+				height = controlHeight;
+			} else {
+				width = Math.max(width, bounds.width);
+				height = Math.max(height, bounds.height);
+			}
+		}
+		disposeBuffer();
+		shrinkCount = 0;
+		if (!retained) {
+			width = Math.min(roundUp(width), Math.max(width, controlWidth));
+			height = Math.min(roundUp(height), Math.max(height, controlHeight));
+		}
+
+		/*
+		 * Bugzilla 53632 - Attempts to create large images on some platforms
+		 * will fail. When this happens, do not use double-buffering for
+		 * painting.
+		 */
+		try {
+			imageBuffer = new Image(null, width, height);
+			imageGC = new GC(imageBuffer, control.getStyle()
+					& (SWT.RIGHT_TO_LEFT | SWT.LEFT_TO_RIGHT));
+			reallocations++;
+		} catch (SWTError noMoreHandles) {
+			disposeBuffer();
+		} catch (IllegalArgumentException tooBig) {
+			disposeBuffer();
+		}
+	}
+
+	/**
+	 * Adds the given painted region to the region held by the buffer. Since
+	 * the valid region is a single rectangle, the union is only taken if it
+	 * consists of both rectangles alone. Otherwise the larger one is kept.
+	 */
+	private void addValidRegion(Rectangle painted) {
+		if (painted.isEmpty())
+			return;
+		if (validRegion == null || painted.contains(validRegion)) {
+			validRegion = painted;
+			return;
+		}
+		if (validRegion.contains(painted))
+			return;
+		Rectangle union = validRegion.getUnion(painted);
+		Rectangle common = validRegion.getIntersection(painted);
+		if (area(union) == area(validRegion) + area(painted) - area(common))
+			validRegion = union;
+		else if (area(painted) > area(validRegion))
+			validRegion = painted;
+	}
+
+	private static long area(Rectangle r) {
+		return r.isEmpty() ? 0 : (long) r.width * r.height;
+	}
+
+	/**
+	 * Marks the contents of the retained image buffer as out of date, for
+	 * instance because the contents of the control have changed in a way that
+	 * does not correspond to any damage. The buffer is not used to restore
+	 * exposed areas until they have been painted into it again.
+	 */
+	public void invalidate() {
+		validRegion = null;
+	}
+
+	/**
+	 * Moves the contents of the retained image buffer in the same way as
+	 * {@link Control#scroll(int, int, int, int, int, int, boolean)} moves the
+	 * pixels of the control, so that the buffer stays valid where the control
+	 * was scrolled. The area exposed by the scroll is no longer valid until it
+	 * has been painted again.
+	 * 
+	 * @param destX
+	 *            the x coordinate of the destination
+	 * @param destY
+	 *            the y coordinate of the destination
+	 * @param x
+	 *            the x coordinate of the source area
+	 * @param y
+	 *            the y coordinate of the source area
+	 * @param width
+	 *            the width of the source area
+	 * @param height
+	 *            the height of the source area
+	 */
+	public void scroll(int destX, int destY, int x, int y, int width,
+			int height) {
+		if (validRegion == null)
+			return;
+		if (imageGC == null || width <= 0 || height <= 0) {
+			validRegion = null;
+			return;
+		}
+		resetImageGC();
+		imageGC.copyArea(x, y, width, height, destX, destY);
+		Rectangle moved = new Rectangle(x, y, width, height)
+				.intersect(validRegion);
+		moved.translate(destX - x, destY - y);
+		validRegion = moved.isEmpty() ? null : moved;
+	}
+
+	/**
+	 * Returns the size of the client area of the control, which excludes its
+	 * scroll bars and trim.
+	 */
+	private org.eclipse.swt.graphics.Point getClientSize() {
+		org.eclipse.swt.graphics.Rectangle area = control.getClientArea();
+		return new org.eclipse.swt.graphics.Point(area.width, area.height);
+	}
+
+	private static int roundUp(int size) {
+		return (size + GROWTH_INCREMENT - 1) / GROWTH_INCREMENT
+				* GROWTH_INCREMENT;
+	}
+
+	/**
+	 * Resets any state which a previous update cycle may have left on the
+	 * reused image GC.
+	 */
+	private void resetImageGC() {
+		if (imageGC.getAdvanced())
+			imageGC.setAdvanced(false);
+		imageGC.setClipping((org.eclipse.swt.graphics.Rectangle) null);
+	}
+
+	/**
+	 * Returns the number of update cycles which were served by the existing
+	 * image buffer, without allocating a new one.
+	 * 
+	 * @return the number of buffer hits
+	 */
+	public int getBufferHits() {
+		return bufferHits;
+	}
+
+	/**
+	 * Returns the number of times the image buffer has been allocated.
+	 * 
+	 * @return the number of buffer allocations
+	 */
+	public int getReallocations() {
+		return reallocations;
+	}
+
+	/**
+	 * Resets the buffer hit and reallocation counters.
+	 */
+	public void resetCounters() {
+		bufferHits = 0;
+		reallocations = 0;
+	}
+
+	/**
+	 * Returns whether the image buffer mirrors the whole control.
+	 * 
+	 * @return <code>true</code> if in retained mode
+	 * @see #setRetained(boolean)
+	 */
+	public boolean isRetained() {
+		return retained;
+	}
+
+	/**
+	 * Sets whether the image buffer mirrors the whole control. In retained
+	 * mode, the buffer always has the size of the control and its contents
+	 * outside of the damaged regions are kept, so that exposed areas can be
+	 * restored through {@link #restore(GC, Rectangle)} instead of being
+	 * repainted.
+	 * 
+	 * @param value
+	 *            <code>true</code> to enable retained mode
+	 */
+	public void setRetained(boolean value) {
+		if (retained == value)
+			return;
+		retained = value;
+		disposeBuffer();
+	}
+
+	/**
+	 * Copies the given region of the control from the retained image buffer
+	 * onto the given GC. This is only possible in retained mode, once the
+	 * region has been painted into the buffer.
+	 * 
+	 * @param gc
+	 *            the GC of the control
+	 * @param region
+	 *            the region to restore, in control coordinates
+	 * @return <code>true</code> if the region was restored from the buffer
+	 */
+	public boolean restore(GC gc, Rectangle region) {
+		if (!retained || validRegion == null || imageBuffer == null
+				|| control.isDisposed())
+			return false;
+		org.eclipse.swt.graphics.Point size = getClientSize();
+		if (!size.equals(validSize))
+			return false;
+		Rectangle r = new Rectangle(0, 0, size.x, size.y).intersect(region);
+		if (!r.isEmpty() && !validRegion.contains(r))
+			return false;
+		if (!r.isEmpty())
+			gc.drawImage(imageBuffer, r.x, r.y, r.width, r.height, r.x, r.y,
+					r.width, r.height);
+		bufferHits++;
+		return true;
+	}
+
 	/**
 	 * Returns the current image buffer or <code>null</code>.
 	 * 
@@ -45,8 +45,17 @@ public class DeferredUpdateManager extends UpdateManager {
 		}
 	}
 
+	/**
+	 * The default number of pixels that a separate paint pass is considered to
+	 * cost. Two damaged rectangles are merged whenever painting the area
+	 * wasted by their union is cheaper than this.
+	 */
+	private static final int DEFAULT_REGION_OVERHEAD = 64 * 64;
+
 	private Rectangle damage;
 	private Map dirtyRegions = new HashMap();
+	private int maxDamageRegions = 1;
+	private int regionOverhead = DEFAULT_REGION_OVERHEAD;
 
 	private GraphicsSource graphicsSource;
 	private List invalidFigures = new ArrayList();
@@ -147,6 +156,28 @@ public class DeferredUpdateManager extends UpdateManager {
 		return graphicsSource.getGraphics(region);
 	}
 
+	/**
+	 * Repairs the given exposed region of the control from a retained buffer.
+	 * A retained buffer is up to date unless there are dirty regions which
+	 * have not been repaired yet. Otherwise, the region is painted into the
+	 * buffer first, so that the buffer remains valid where the control has
+	 * been exposed, for instance by scrolling.
+	 */
+	private boolean paintBuffered(BufferedGraphicsSource buffer, GC gc,
+			Rectangle region) {
+		if (!buffer.isRetained())
+			return false;
+		if (dirtyRegions.isEmpty() && buffer.restore(gc, region))
+			return true;
+		Graphics graphics = buffer.getGraphics(region);
+		if (graphics == null)
+			return false;
+		root.paint(graphics);
+		graphics.dispose();
+		buffer.flushGraphics(region);
+		return buffer.restore(gc, region);
+	}
+
 	/**
 	 * @since 3.10
 	 */
@@ -165,6 +196,12 @@ public class DeferredUpdateManager extends UpdateManager {
 				firePainting(rect, map);
 			}
 			performValidation();
+			if (graphicsSource instanceof BufferedGraphicsSource
+					&& paintBuffered((BufferedGraphicsSource) graphicsSource,
+							gc, graphics.getClip(new Rectangle()))) {
+				graphics.dispose();
+				return;
+			}
 			root.paint(graphics);
 			graphics.dispose();
 		} else {
@@ -278,12 +315,18 @@ public class DeferredUpdateManager extends UpdateManager {
 	 * Repaints the dirty regions on the update queue and calls
 	 * {@link UpdateManager#firePainting(Rectangle, Map)}, unless there are no
 	 * dirty regions.
+	 * <P>
+	 * If more than one damage region is allowed (see
+	 * {@link #setMaximumDamageRegions(int)}), the contributions are collected
+	 * into a small set of disjoint rectangles, each of which is painted
+	 * separately with its own clip.
 	 */
 	protected void repairDamage() {
 		Iterator keys = dirtyRegions.keySet().iterator();
 		Rectangle contribution;
 		IFigure figure;
 		IFigure walker;
+		List regions = maxDamageRegions > 1 ? new ArrayList() : null;
 
 		while (keys.hasNext()) {
 			figure = (IFigure) keys.next();
@@ -300,6 +343,8 @@ public class DeferredUpdateManager extends UpdateManager {
 				damage = new Rectangle(contribution);
 			else
 				damage.union(contribution);
+			if (regions != null && !contribution.isEmpty())
+				addDamageRegion(regions, new Rectangle(contribution));
 		}
 
 		if (!dirtyRegions.isEmpty()) {
@@ -309,16 +354,93 @@ public class DeferredUpdateManager extends UpdateManager {
 		}
 
 		if (damage != null && !damage.isEmpty()) {
-			// ystem.out.println(damage);
-			Graphics graphics = getGraphics(damage);
-			if (graphics != null) {
-				root.paint(graphics);
-				releaseGraphics(graphics);
-			}
+			if (regions == null || regions.size() <= 1)
+				repairRegion(damage);
+			else
+				for (int i = 0; i < regions.size(); i++) {
+					damage = (Rectangle) regions.get(i);
+					repairRegion(damage);
+				}
 		}
 		damage = null;
 	}
 
+	/**
+	 * Paints the root figure clipped to the given region.
+	 * 
+	 * @param region
+	 *            the region to repaint
+	 */
+	private void repairRegion(Rectangle region) {
+		Graphics graphics = getGraphics(region);
+		if (graphics != null) {
+			root.paint(graphics);
+			releaseGraphics(graphics);
+		}
+	}
+
+	/**
+	 * Adds the given rectangle to the list of disjoint damage regions. The
+	 * rectangle is merged with any region it overlaps, or whose union with it
+	 * wastes less area than the cost of a separate paint pass. If the list then
+	 * exceeds the maximum number of regions, the two regions whose union wastes
+	 * the least area are merged.
+	 * 
+	 * @param regions
+	 *            the list of disjoint regions
+	 * @param rect
+	 *            the rectangle to add; may be modified
+	 */
+	private void addDamageRegion(List regions, Rectangle rect) {
+		boolean merged = true;
+		while (merged) {
+			merged = false;
+			for (int i = 0; i < regions.size(); i++) {
+				Rectangle region = (Rectangle) regions.get(i);
+				if (region.intersects(rect)
+						|| getMergeWaste(region, rect) <= regionOverhead) {
+					rect.union(region);
+					regions.remove(i);
+					merged = true;
+					break;
+				}
+			}
+		}
+		regions.add(rect);
+
+		while (regions.size() > maxDamageRegions) {
+			int bestI = 0, bestJ = 1;
+			long bestWaste = Long.MAX_VALUE;
+			for (int i = 0; i < regions.size() - 1; i++)
+				for (int j = i + 1; j < regions.size(); j++) {
+					long waste = getMergeWaste((Rectangle) regions.get(i),
+							(Rectangle) regions.get(j));
+					if (waste < bestWaste) {
+						bestWaste = waste;
+						bestI = i;
+						bestJ = j;
+					}
+				}
+			Rectangle removed = (Rectangle) regions.remove(bestJ);
+			rect = (Rectangle) regions.remove(bestI);
+			rect.union(removed);
+			// the union may now overlap other regions
+			addDamageRegion(regions, rect);
+		}
+	}
+
+	/**
+	 * Returns the number of pixels which would be painted needlessly if the two
+	 * given disjoint rectangles were painted as their union.
+	 */
+	private static long getMergeWaste(Rectangle a, Rectangle b) {
+		int x = Math.min(a.x, b.x);
+		int y = Math.min(a.y, b.y);
+		long w = Math.max(a.x + a.width, b.x + b.width) - x;
+		long h = Math.max(a.y + a.height, b.y + b.height) - y;
+		return w * h - (long) a.width * a.height - (long) b.width * b.height;
+	}
+
 	/**
 	 * Adds the given runnable and queues an update if an update is not under
 	 * progress.
@@ -342,6 +464,50 @@ public class DeferredUpdateManager extends UpdateManager {
 		graphicsSource = gs;
 	}
 
+	/**
+	 * Sets the maximum number of disjoint rectangles into which the damage is
+	 * collected before it is repaired. The default value of <code>1</code>
+	 * repairs the union of all dirty regions in a single paint pass. Larger
+	 * values allow small changes which are far apart from each other to be
+	 * repainted separately, so that the area between them is not repainted.
+	 * 
+	 * @param max
+	 *            the maximum number of damage regions, at least 1
+	 * @since 3.11
+	 */
+	public void setMaximumDamageRegions(int max) {
+		if (max < 1)
+			throw new IllegalArgumentException(
+					"At least one damage region is required"); //$NON-NLS-1$
+		maxDamageRegions = max;
+	}
+
+	/**
+	 * Returns the maximum number of disjoint damage regions.
+	 * 
+	 * @return the maximum number of damage regions
+	 * @see #setMaximumDamageRegions(int)
+	 * @since 3.11
+	 */
+	public int getMaximumDamageRegions() {
+		return maxDamageRegions;
+	}
+
+	/**
+	 * Sets the number of pixels that a separate paint pass is considered to
+	 * cost. Two damage regions are merged into one if the area painted
+	 * needlessly by their union does not exceed this value. Only relevant if
+	 * more than one damage region is allowed.
+	 * 
+	 * @param pixels
+	 *            the overhead of a paint pass, in pixels
+	 * @see #setMaximumDamageRegions(int)
+	 * @since 3.11
+	 */
+	public void setDamageRegionOverhead(int pixels) {
+		regionOverhead = pixels;
+	}
+
 	/**
 	 * Sets the root figure.
 	 * 
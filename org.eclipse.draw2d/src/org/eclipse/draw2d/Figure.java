@@ -121,6 +121,24 @@ public class Figure implements IFigure {
 
 	private AncestorHelper ancestorHelper;
 
+	private ChildIndex childIndex;
+
+	/**
+	 * A spatial index of the children which keeps itself up to date by
+	 * listening to the children being moved.
+	 */
+	private static class ChildIndex extends SpatialIndex implements
+			FigureListener {
+		public void figureMoved(IFigure source) {
+			update(source, source.getBounds());
+		}
+
+		void reorder(List children, int start) {
+			for (int i = start; i < children.size(); i++)
+				setOrder(children.get(i), i);
+		}
+	}
+
 	/**
 	 * Calls {@link #add(IFigure, Object, int)} with -1 as the index.
 	 * 
@@ -155,6 +173,13 @@ public class Figure implements IFigure {
 			children.add(index, figure);
 		figure.setParent(this);
 
+		if (childIndex != null) {
+			childIndex.put(figure, figure.getBounds(), children.size() - 1);
+			if (index != -1)
+				childIndex.reorder(children, index);
+			figure.addFigureListener(childIndex);
+		}
+
 		if (layoutManager != null)
 			layoutManager.setConstraint(figure, constraint);
 
@@ -349,10 +374,12 @@ public class Figure implements IFigure {
 
 		x = PRIVATE_POINT.x;
 		y = PRIVATE_POINT.y;
+		List candidates = childIndex != null ? childIndex.query(x, y)
+				: children;
 		IFigure fig;
-		for (int i = children.size(); i > 0;) {
+		for (int i = candidates.size(); i > 0;) {
 			i--;
-			fig = (IFigure) children.get(i);
+			fig = (IFigure) candidates.get(i);
 			if (fig.isVisible()) {
 				fig = fig.findFigureAt(x, y, search);
 				if (fig != null)
@@ -447,10 +474,12 @@ public class Figure implements IFigure {
 		if (!getClientArea(Rectangle.SINGLETON).contains(PRIVATE_POINT))
 			return null;
 
+		List candidates = childIndex != null ? childIndex.query(
+				PRIVATE_POINT.x, PRIVATE_POINT.y) : children;
 		IFigure fig;
-		for (int i = children.size(); i > 0;) {
+		for (int i = candidates.size(); i > 0;) {
 			i--;
-			fig = (IFigure) children.get(i);
+			fig = (IFigure) candidates.get(i);
 			if (fig.isVisible() && fig.isEnabled()) {
 				if (fig.containsPoint(PRIVATE_POINT.x, PRIVATE_POINT.y)) {
 					fig = fig.findMouseEventTargetAt(PRIVATE_POINT.x,
@@ -1133,7 +1162,8 @@ public class Figure implements IFigure {
 	 * @since 2.0
 	 */
 	protected void paintBorder(Graphics graphics) {
-		if (getBorder() != null)
+		if (getBorder() != null
+				&& LevelOfDetail.isShown(graphics, LevelOfDetail.BORDERS))
 			getBorder().paint(this, graphics, NO_INSETS);
 	}
 
@@ -1151,17 +1181,15 @@ public class Figure implements IFigure {
 	 * @since 2.0
 	 */
 	protected void paintChildren(Graphics graphics) {
+		if (clippingStrategy == null) {
+			paintChildrenClippedAtBounds(graphics);
+			return;
+		}
 		for (int i = 0; i < children.size(); i++) {
 			IFigure child = (IFigure) children.get(i);
-			if (child.isVisible()) {
+			if (isChildPainted(child, graphics)) {
 				// determine clipping areas for child
-				Rectangle[] clipping = null;
-				if (clippingStrategy != null) {
-					clipping = clippingStrategy.getClip(child);
-				} else {
-					// default clipping behaviour is to clip at bounds
-					clipping = new Rectangle[] { child.getBounds() };
-				}
+				Rectangle[] clipping = clippingStrategy.getClip(child);
 				// child may now paint inside the clipping areas
 				for (int j = 0; j < clipping.length; j++) {
 					if (clipping[j].intersects(graphics
@@ -1175,6 +1203,44 @@ public class Figure implements IFigure {
 		}
 	}
 
+	/**
+	 * Returns <code>true</code> if the given child is painted by
+	 * {@link #paintChildren(Graphics)}, which is the case if it is visible.
+	 */
+	boolean isChildPainted(IFigure child, Graphics graphics) {
+		return child.isVisible();
+	}
+
+	/**
+	 * Paints the children using the default clipping behavior, which is to clip
+	 * each child at its bounds. Children whose bounds do not intersect the
+	 * current clip are skipped. If the children are spatially indexed, only
+	 * the children intersecting the clip are visited at all.
+	 */
+	private void paintChildrenClippedAtBounds(Graphics graphics) {
+		// The clip is restored after each child, so it only needs to be read
+		// once
+		Rectangle clip = graphics.getClip(new Rectangle());
+		if (clip.isEmpty())
+			return;
+		List list = childIndex != null ? childIndex.query(clip) : children;
+		for (int i = 0; i < list.size(); i++) {
+			IFigure child = (IFigure) list.get(i);
+			if (isChildPainted(child, graphics)) {
+				Rectangle bounds = child.getBounds();
+				if (bounds.x < clip.x + clip.width
+						&& clip.x < bounds.x + bounds.width
+						&& bounds.y < clip.y + clip.height
+						&& clip.y < bounds.y + bounds.height
+						&& !bounds.isEmpty()) {
+					graphics.clipRect(bounds);
+					child.paint(graphics);
+					graphics.restoreState();
+				}
+			}
+		}
+	}
+
 	/**
 	 * Paints this Figure's client area. The client area is typically defined as
 	 * the anything inside the Figure's {@link Border} or {@link Insets}, and by
@@ -1274,7 +1340,13 @@ public class Figure implements IFigure {
 		// incorrect dirty region corrections.
 		figure.erase();
 		figure.setParent(null);
-		children.remove(figure);
+		int index = children.indexOf(figure);
+		children.remove(index);
+		if (childIndex != null) {
+			figure.removeFigureListener(childIndex);
+			childIndex.remove(figure);
+			childIndex.reorder(children, index);
+		}
 		revalidate();
 	}
 
@@ -1725,6 +1797,52 @@ public class Figure implements IFigure {
 		revalidate();
 	}
 
+	/**
+	 * Returns whether this figure maintains a spatial index of its children.
+	 * 
+	 * @return <code>true</code> if the children are spatially indexed
+	 * @see #setSpatialIndexEnabled(boolean)
+	 * @since 3.11
+	 */
+	public boolean isSpatialIndexEnabled() {
+		return childIndex != null;
+	}
+
+	/**
+	 * Sets whether this figure maintains a spatial index of its children's
+	 * bounds. The index is used to find the children at a given location, so
+	 * that hit-testing on figures with many children does not have to visit
+	 * every child. Unless a clipping strategy is set, it is also used to paint
+	 * only the children intersecting the current clip. The index is kept up to
+	 * date by listening to {@link FigureListener#figureMoved(IFigure)}
+	 * notifications of the children. Results are still visited in z-order, and
+	 * {@link TreeSearch#prune(IFigure)} and {@link TreeSearch#accept(IFigure)}
+	 * are applied as without an index.
+	 * <P>
+	 * The index may only be enabled if the children do not contain any points
+	 * outside of their bounds.
+	 * 
+	 * @param value
+	 *            <code>true</code> to index the children
+	 * @since 3.11
+	 */
+	public void setSpatialIndexEnabled(boolean value) {
+		if (value == (childIndex != null))
+			return;
+		if (value) {
+			childIndex = new ChildIndex();
+			for (int i = 0; i < children.size(); i++) {
+				IFigure child = (IFigure) children.get(i);
+				childIndex.put(child, child.getBounds(), i);
+				child.addFigureListener(childIndex);
+			}
+		} else {
+			for (int i = 0; i < children.size(); i++)
+				((IFigure) children.get(i)).removeFigureListener(childIndex);
+			childIndex = null;
+		}
+	}
+
 	/**
 	 * @see IFigure#setOpaque(boolean)
 	 */
@@ -82,9 +82,12 @@ public class FigureCanvas extends Canvas {
 	private Font font;
 	private int hBarOffset;
 	private int vBarOffset;
+	private boolean scrolling;
 
 	private PropertyChangeListener horizontalChangeListener = new PropertyChangeListener() {
 		public void propertyChange(PropertyChangeEvent event) {
+			if (!scrolling)
+				invalidateBuffer();
 			RangeModel model = getViewport().getHorizontalRangeModel();
 			hBarOffset = Math.max(0, -model.getMinimum());
 			getHorizontalBar().setValues(model.getValue() + hBarOffset,
@@ -97,6 +100,8 @@ public class FigureCanvas extends Canvas {
 
 	private PropertyChangeListener verticalChangeListener = new PropertyChangeListener() {
 		public void propertyChange(PropertyChangeEvent event) {
+			if (!scrolling)
+				invalidateBuffer();
 			RangeModel model = getViewport().getVerticalRangeModel();
 			vBarOffset = Math.max(0, -model.getMinimum());
 			getVerticalBar().setValues(model.getValue() + vBarOffset,
@@ -320,6 +325,28 @@ public class FigureCanvas extends Canvas {
 				verticalChangeListener);
 	}
 
+	/**
+	 * Invalidates the retained buffer of the graphics source, whose pixels no
+	 * longer match the control once the viewport has been moved or resized
+	 * other than by {@link #scrollToX(int)} or {@link #scrollToY(int)}.
+	 */
+	private void invalidateBuffer() {
+		GraphicsSource source = lws.getGraphicsSource();
+		if (source instanceof BufferedGraphicsSource)
+			((BufferedGraphicsSource) source).invalidate();
+	}
+
+	/**
+	 * Moves the pixels of the retained buffer of the graphics source along
+	 * with the pixels of the control which are about to be scrolled.
+	 */
+	private void scrollBuffer(int destX, int destY, Rectangle blit) {
+		GraphicsSource source = lws.getGraphicsSource();
+		if (source instanceof BufferedGraphicsSource)
+			((BufferedGraphicsSource) source).scroll(destX, destY, blit.x,
+					blit.y, blit.width, blit.height);
+	}
+
 	private void layoutViewport() {
 		ScrollPaneSolver.Result result;
 		result = ScrollPaneSolver.solve(
@@ -444,6 +471,7 @@ public class FigureCanvas extends Canvas {
 					|| bounds.x + bounds.width < blit.x
 					|| bounds.y + bounds.height < blit.y;
 		}
+		scrollBuffer(dest.x, dest.y, blit);
 		scroll(dest.x, dest.y, blit.x, blit.y, blit.width, blit.height, true);
 		for (int i = 0; i < children.length; i++) {
 			if (children[i].isDisposed())
@@ -455,7 +483,9 @@ public class FigureCanvas extends Canvas {
 		}
 
 		getViewport().setIgnoreScroll(true);
+		scrolling = true;
 		getViewport().setHorizontalLocation(hOffset);
+		scrolling = false;
 		getViewport().setIgnoreScroll(false);
 		redraw(expose.x, expose.y, expose.width, expose.height, true);
 	}
@@ -498,6 +528,7 @@ public class FigureCanvas extends Canvas {
 					|| bounds.x + bounds.width < blit.x
 					|| bounds.y + bounds.height < blit.y;
 		}
+		scrollBuffer(dest.x, dest.y, blit);
 		scroll(dest.x, dest.y, blit.x, blit.y, blit.width, blit.height, true);
 		for (int i = 0; i < children.length; i++) {
 			if (children[i].isDisposed())
@@ -509,7 +540,9 @@ public class FigureCanvas extends Canvas {
 		}
 
 		getViewport().setIgnoreScroll(true);
+		scrolling = true;
 		getViewport().setVerticalLocation(vOffset);
+		scrolling = false;
 		getViewport().setIgnoreScroll(false);
 		redraw(expose.x, expose.y, expose.width, expose.height, true);
 	}
@@ -62,6 +62,31 @@ public class FigureUtilities {
 		return metrics;
 	}
 
+	/**
+	 * Returns the advance widths of the printable ASCII characters in the given
+	 * font, starting with the space character. The widths are used to estimate
+	 * the width of ASCII text, which may differ from its extent because of
+	 * kerning.
+	 * 
+	 * @param f
+	 *            the font
+	 * @return the advance widths, which must not be modified
+	 */
+	static int[] getAsciiAdvances(Font f) {
+		int[] widths = TextExtentCache.getAdvances(f);
+		if (widths == null) {
+			setFont(f);
+			widths = new int[TextExtentCache.LAST_CHAR
+					- TextExtentCache.FIRST_CHAR + 1];
+			for (int i = 0; i < widths.length; i++)
+				widths[i] = getGC().getAdvanceWidth(
+						(char) (TextExtentCache.FIRST_CHAR + i));
+			if (f != null)
+				TextExtentCache.putAdvances(f, widths);
+		}
+		return widths;
+	}
+
 	/**
 	 * Returns the GC used for various utilities. Advanced graphics must not be
 	 * switched on by clients using this GC.
@@ -90,8 +115,13 @@ public class FigureUtilities {
 	 */
 	protected static org.eclipse.swt.graphics.Point getTextDimension(String s,
 			Font f) {
-		setFont(f);
-		return getGC().textExtent(s);
+		org.eclipse.swt.graphics.Point extent = TextExtentCache.get(s, f, true);
+		if (extent == null) {
+			setFont(f);
+			extent = getGC().textExtent(s);
+			TextExtentCache.put(s, f, true, extent);
+		}
+		return new org.eclipse.swt.graphics.Point(extent.x, extent.y);
 	}
 
 	/**
@@ -121,8 +151,14 @@ public class FigureUtilities {
 	 */
 	protected static org.eclipse.swt.graphics.Point getStringDimension(
 			String s, Font f) {
-		setFont(f);
-		return getGC().stringExtent(s);
+		org.eclipse.swt.graphics.Point extent = TextExtentCache
+				.get(s, f, false);
+		if (extent == null) {
+			setFont(f);
+			extent = getGC().stringExtent(s);
+			TextExtentCache.put(s, f, false, extent);
+		}
+		return new org.eclipse.swt.graphics.Point(extent.x, extent.y);
 	}
 
 	/**
@@ -186,6 +222,20 @@ public class FigureUtilities {
 		return getTextDimension(s, f).x;
 	}
 
+	/**
+	 * Discards the cached text extents of the given font, and of all fonts
+	 * which have been disposed. Clients disposing a font which has been used
+	 * to measure text should call this method, so that the extents do not use
+	 * memory until they are evicted.
+	 * 
+	 * @param f
+	 *            the font
+	 * @since 3.11
+	 */
+	public static void invalidateTextExtents(Font f) {
+		TextExtentCache.invalidate(f);
+	}
+
 	/**
 	 * Returns a Color the same as the passed color in a lighter hue.
 	 * 
@@ -505,6 +505,14 @@ public class Label extends Figure implements PositionConstants {
 		graphics.translate(bounds.x, bounds.y);
 		if (icon != null)
 			graphics.drawImage(icon, getIconLocation());
+		if (!LevelOfDetail.isShown(graphics, LevelOfDetail.TEXT)) {
+			Point location = getTextLocation();
+			Dimension size = getSubStringTextSize();
+			LevelOfDetail.paintTextBar(graphics, location.x, location.y,
+					size.width, size.height);
+			graphics.translate(-bounds.x, -bounds.y);
+			return;
+		}
 		if (!isEnabled()) {
 			graphics.translate(1, 1);
 			graphics.setForegroundColor(ColorConstants.buttonLightest);
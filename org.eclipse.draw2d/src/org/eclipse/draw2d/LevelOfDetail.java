@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d;
+
+import org.eclipse.swt.graphics.Color;
+
+/**
+ * Decides which details figures paint when they are painted at a small scale,
+ * such as a zoomed out diagram. Each kind of detail has a
+ * threshold: below it, figures paint a simplified representation instead of
+ * the detail, or omit it. The scale is the
+ * {@link Graphics#getAbsoluteScale() absolute scale} of the graphics being
+ * painted on.
+ * <P>
+ * A level of detail is scoped to the figures painted by a
+ * {@link ScalableFreeformLayeredPane} or a {@link ScalableLayeredPane}, and
+ * only applies while the pane is zoomed. Figures painted by any other means,
+ * such as a thumbnail or a print operation, always show every detail. All
+ * thresholds are <code>0</code> by default, which always shows the detail.
+ *
+ * @since 3.11
+ */
+public final class LevelOfDetail {
+
+	/**
+	 * The text of labels and text flows, which is painted as bars below its
+	 * threshold.
+	 */
+	public static final int TEXT = 0;
+
+	/**
+	 * The decorations of connections, which are omitted below their
+	 * threshold.
+	 */
+	public static final int DECORATIONS = 1;
+
+	/**
+	 * The borders of figures, which are omitted below their threshold.
+	 */
+	public static final int BORDERS = 2;
+
+	private final double[] thresholds = new double[3];
+
+	/**
+	 * Returns the scale below which the given detail is not painted.
+	 *
+	 * @param detail
+	 *            one of {@link #TEXT}, {@link #DECORATIONS} or
+	 *            {@link #BORDERS}
+	 * @return the threshold
+	 */
+	public double getThreshold(int detail) {
+		return thresholds[detail];
+	}
+
+	/**
+	 * Returns <code>true</code> if the given detail should be painted on the
+	 * given graphics. Only graphics created by a zoomed scalable pane with a
+	 * level of detail may hide a detail.
+	 *
+	 * @param graphics
+	 *            the graphics being painted on
+	 * @param detail
+	 *            one of {@link #TEXT}, {@link #DECORATIONS} or
+	 *            {@link #BORDERS}
+	 * @return <code>true</code> if the detail is shown
+	 */
+	public static boolean isShown(Graphics graphics, int detail) {
+		if (!(graphics instanceof ScaledGraphics))
+			return true;
+		LevelOfDetail levelOfDetail = ((ScaledGraphics) graphics).levelOfDetail;
+		return levelOfDetail == null
+				|| levelOfDetail.isShown(graphics.getAbsoluteScale(), detail);
+	}
+
+	/**
+	 * Returns <code>true</code> if the given detail should be painted at the
+	 * given scale.
+	 *
+	 * @param scale
+	 *            the absolute scale
+	 * @param detail
+	 *            one of {@link #TEXT}, {@link #DECORATIONS} or
+	 *            {@link #BORDERS}
+	 * @return <code>true</code> if the detail is shown
+	 */
+	public boolean isShown(double scale, int detail) {
+		double threshold = thresholds[detail];
+		return threshold <= 0 || scale >= threshold;
+	}
+
+	/**
+	 * Paints a bar in the foreground color in place of a line of text. The
+	 * bar covers the middle half of the line, so that consecutive lines remain
+	 * distinguishable.
+	 *
+	 * @param graphics
+	 *            the graphics
+	 * @param x
+	 *            the x coordinate of the text
+	 * @param y
+	 *            the y coordinate of the top of the text
+	 * @param width
+	 *            the width of the text
+	 * @param height
+	 *            the height of the line
+	 */
+	public static void paintTextBar(Graphics graphics, int x, int y,
+			int width, int height) {
+		if (width <= 0 || height <= 0)
+			return;
+		Color background = graphics.getBackgroundColor();
+		graphics.setBackgroundColor(graphics.getForegroundColor());
+		graphics.fillRectangle(x, y + height / 4, width, Math.max(1,
+				height / 2));
+		graphics.setBackgroundColor(background);
+	}
+
+	/**
+	 * Sets the scale below which the given detail is not painted. Figures
+	 * which are already painted are not repainted.
+	 *
+	 * @param detail
+	 *            one of {@link #TEXT}, {@link #DECORATIONS} or
+	 *            {@link #BORDERS}
+	 * @param threshold
+	 *            the threshold, or <code>0</code> to always show the detail
+	 */
+	public void setThreshold(int detail, double threshold) {
+		thresholds[detail] = threshold;
+	}
+
+}
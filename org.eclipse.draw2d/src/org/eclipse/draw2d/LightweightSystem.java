@@ -58,6 +58,7 @@ public class LightweightSystem {
 	private IFigure root;
 	private EventDispatcher dispatcher;
 	private UpdateManager manager = new DeferredUpdateManager();
+	private GraphicsSource graphicsSource;
 	private int ignoreResize;
 
 	/**
@@ -230,11 +231,10 @@ public class LightweightSystem {
 			return;
 		canvas = c;
 		if ((c.getStyle() & SWT.DOUBLE_BUFFERED) != 0)
-			getUpdateManager().setGraphicsSource(
-					new NativeGraphicsSource(canvas));
+			graphicsSource = new NativeGraphicsSource(canvas);
 		else
-			getUpdateManager().setGraphicsSource(
-					new BufferedGraphicsSource(canvas));
+			graphicsSource = new BufferedGraphicsSource(canvas);
+		getUpdateManager().setGraphicsSource(graphicsSource);
 		getEventDispatcher().setControl(c);
 		addListeners();
 
@@ -288,6 +288,19 @@ public class LightweightSystem {
 		manager.setRoot(root);
 	}
 
+	/**
+	 * Returns the graphics source which this LightweightSystem created for its
+	 * canvas, or <code>null</code> if it has no canvas. Unless the canvas is
+	 * natively double-buffered, this is a {@link BufferedGraphicsSource},
+	 * whose retained mode may be enabled by clients.
+	 * 
+	 * @return the graphics source or <code>null</code>
+	 * @since 3.11
+	 */
+	public GraphicsSource getGraphicsSource() {
+		return graphicsSource;
+	}
+
 	/**
 	 * The figure at the root of the LightweightSystem. If certain properties
 	 * (i.e. font, background/foreground color) are not set, the RootFigure will
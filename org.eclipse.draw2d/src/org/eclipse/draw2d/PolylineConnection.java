@@ -188,6 +188,19 @@ public class PolylineConnection extends Polyline implements Connection,
 		fireFigureMoved();
 	}
 
+	/**
+	 * The decorations are not painted when the {@link LevelOfDetail#DECORATIONS
+	 * decorations} are not shown at the current scale.
+	 * 
+	 * @see Figure#isChildPainted(IFigure, Graphics)
+	 */
+	boolean isChildPainted(IFigure child, Graphics graphics) {
+		if ((child == startArrow || child == endArrow)
+				&& !LevelOfDetail.isShown(graphics, LevelOfDetail.DECORATIONS))
+			return false;
+		return super.isChildPainted(child, graphics);
+	}
+
 	/**
 	 * Called just before the receiver is being removed from its parent. Results
 	 * in removing itself from the connection router.
@@ -50,6 +50,15 @@ public class PrinterGraphics extends ScaledGraphics {
 		return new Font(printer, data);
 	}
 
+	/**
+	 * The zoomed fonts are created on the printer, so they are not shared.
+	 * 
+	 * @see ScaledGraphics#getSharedFontCache()
+	 */
+	ZoomedFontCache getSharedFontCache() {
+		return null;
+	}
+
 	private Image printerImage(Image image) {
 		Image result = (Image) imageCache.get(image);
 		if (result != null)
@@ -21,6 +21,7 @@ public class ScalableFreeformLayeredPane extends FreeformLayeredPane implements
 		ScalableFigure {
 
 	private double scale = 1.0;
+	private LevelOfDetail levelOfDetail;
 
 	/**
 	 * @see org.eclipse.draw2d.Figure#getClientArea()
@@ -34,6 +35,17 @@ public class ScalableFreeformLayeredPane extends FreeformLayeredPane implements
 		return rect;
 	}
 
+	/**
+	 * Returns the level of detail of the figures painted by this pane, or
+	 * <code>null</code> if they always paint every detail.
+	 * 
+	 * @return the level of detail or <code>null</code>
+	 * @since 3.11
+	 */
+	public LevelOfDetail getLevelOfDetail() {
+		return levelOfDetail;
+	}
+
 	/**
 	 * Returns the current zoom scale level.
 	 * 
@@ -60,6 +72,7 @@ public class ScalableFreeformLayeredPane extends FreeformLayeredPane implements
 			super.paintClientArea(graphics);
 		} else {
 			ScaledGraphics g = new ScaledGraphics(graphics);
+			g.levelOfDetail = levelOfDetail;
 			boolean optimizeClip = getBorder() == null
 					|| getBorder().isOpaque();
 			if (!optimizeClip)
@@ -72,6 +85,20 @@ public class ScalableFreeformLayeredPane extends FreeformLayeredPane implements
 		}
 	}
 
+	/**
+	 * Sets the level of detail of the figures painted by this pane while it is
+	 * zoomed. The figures are repainted.
+	 * 
+	 * @param levelOfDetail
+	 *            the level of detail, or <code>null</code> to always paint
+	 *            every detail
+	 * @since 3.11
+	 */
+	public void setLevelOfDetail(LevelOfDetail levelOfDetail) {
+		this.levelOfDetail = levelOfDetail;
+		repaint();
+	}
+
 	/**
 	 * Sets the zoom level
 	 * 
@@ -25,6 +25,7 @@ import org.eclipse.draw2d.geometry.Translatable;
 public class ScalableLayeredPane extends LayeredPane implements ScalableFigure {
 
 	private double scale = 1.0;
+	private LevelOfDetail levelOfDetail;
 
 	/**
 	 * @see IFigure#getClientArea(Rectangle)
@@ -68,6 +69,17 @@ public class ScalableLayeredPane extends LayeredPane implements ScalableFigure {
 		return d.getExpanded(-w, -h).scale(scale).expand(w, h);
 	}
 
+	/**
+	 * Returns the level of detail of the figures painted by this pane, or
+	 * <code>null</code> if they always paint every detail.
+	 * 
+	 * @return the level of detail or <code>null</code>
+	 * @since 3.11
+	 */
+	public LevelOfDetail getLevelOfDetail() {
+		return levelOfDetail;
+	}
+
 	/**
 	 * Returns the scale level, default is 1.0.
 	 * 
@@ -94,6 +106,7 @@ public class ScalableLayeredPane extends LayeredPane implements ScalableFigure {
 			super.paintClientArea(graphics);
 		} else {
 			ScaledGraphics g = new ScaledGraphics(graphics);
+			g.levelOfDetail = levelOfDetail;
 			boolean optimizeClip = getBorder() == null
 					|| getBorder().isOpaque();
 			if (!optimizeClip)
@@ -106,6 +119,20 @@ public class ScalableLayeredPane extends LayeredPane implements ScalableFigure {
 		}
 	}
 
+	/**
+	 * Sets the level of detail of the figures painted by this pane while it is
+	 * zoomed. The figures are repainted.
+	 * 
+	 * @param levelOfDetail
+	 *            the level of detail, or <code>null</code> to always paint
+	 *            every detail
+	 * @since 3.11
+	 */
+	public void setLevelOfDetail(LevelOfDetail levelOfDetail) {
+		this.levelOfDetail = levelOfDetail;
+		repaint();
+	}
+
 	/**
 	 * Sets the zoom level
 	 * 
@@ -189,9 +189,12 @@ public class ScaledGraphics extends Graphics {
 
 	private boolean allowText = true;
 	// private static final Point PT = new Point();
+	// the zoomed fonts this graphics has acquired
 	private Map fontCache = new HashMap();
 	private Map fontDataCache = new HashMap();
 	private FontKey fontKey = new FontKey();
+	private ZoomedFontCache sharedFontCache;
+	private boolean sharedFontCacheFound;
 	private double fractionalX;
 	private double fractionalY;
 	private Graphics graphics;
@@ -204,6 +207,9 @@ public class ScaledGraphics extends Graphics {
 
 	double zoom = 1.0;
 
+	// the level of detail of the scalable pane which created this graphics
+	LevelOfDetail levelOfDetail;
+
 	/**
 	 * Constructs a new ScaledGraphics based on the given Graphics object.
 	 * 
@@ -277,12 +283,17 @@ public class ScaledGraphics extends Graphics {
 			popState();
 		}
 
-		// Dispose fonts
+		// Release or dispose fonts
+		ZoomedFontCache shared = getSharedFontCache();
 		Iterator iter = fontCache.values().iterator();
 		while (iter.hasNext()) {
 			Font font = ((Font) iter.next());
-			font.dispose();
+			if (shared != null)
+				shared.releaseFont(font);
+			else
+				font.dispose();
 		}
+		fontCache.clear();
 
 	}
 
@@ -520,14 +531,23 @@ public class ScaledGraphics extends Graphics {
 			return font;
 		}
 		key = new FontKey(key.font, key.height);
-		FontData data = key.font.getFontData()[0];
-		data.setHeight(key.height);
-		Font zoomedFont = createFont(data);
+		Font zoomedFont;
+		ZoomedFontCache shared = getSharedFontCache();
+		if (shared != null)
+			zoomedFont = shared.acquireFont(key.font, key.height);
+		else {
+			FontData data = key.font.getFontData()[0];
+			data.setHeight(key.height);
+			zoomedFont = createFont(data);
+		}
 		fontCache.put(key, zoomedFont);
 		return zoomedFont;
 	}
 
 	FontData getCachedFontData(Font f) {
+		ZoomedFontCache shared = getSharedFontCache();
+		if (shared != null)
+			return shared.getFontData(f);
 		FontData data = (FontData) fontDataCache.get(f);
 		if (data == null) {
 			data = f.getFontData()[0];
@@ -536,6 +556,21 @@ public class ScaledGraphics extends Graphics {
 		return data;
 	}
 
+	/**
+	 * Returns the cache of zoomed fonts shared with other graphics, or
+	 * <code>null</code> if the zoomed fonts are created by
+	 * {@link #createFont(FontData)} and disposed with this graphics.
+	 */
+	ZoomedFontCache getSharedFontCache() {
+		if (!sharedFontCacheFound) {
+			Display display = Display.getCurrent();
+			if (display != null)
+				sharedFontCache = ZoomedFontCache.getInstance(display);
+			sharedFontCacheFound = true;
+		}
+		return sharedFontCache;
+	}
+
 	/** @see Graphics#getClip(Rectangle) */
 	public Rectangle getClip(Rectangle rect) {
 		graphics.getClip(rect);
@@ -1039,7 +1074,11 @@ public class ScaledGraphics extends Graphics {
 			localCache.font = localFont;
 		}
 		if (targetCache.font != graphics.getFont()) {
-			FontMetrics metric = graphics.getFontMetrics();
+			ZoomedFontCache shared = getSharedFontCache();
+			FontMetrics metric = shared != null ? shared
+					.getFontMetrics(graphics.getFont()) : null;
+			if (metric == null)
+				metric = graphics.getFontMetrics();
 			targetCache.font = graphics.getFont();
 			targetCache.height = metric.getHeight() - metric.getDescent();
 		}
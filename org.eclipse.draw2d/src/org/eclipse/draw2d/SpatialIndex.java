@@ -0,0 +1,363 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.draw2d.geometry.Rectangle;
+
+/**
+ * A uniform grid which maps objects to rectangular bounds and answers point and
+ * rectangle queries in time proportional to the number of objects near the
+ * query, rather than the total number of objects.
+ * <P>
+ * Every object has an <i>order</i>, which is used to sort query results. A
+ * figure uses the index of a child in its children list, so that results are
+ * returned in z-order. Objects which would span too many grid cells are kept in
+ * a separate list which is always searched.
+ * <P>
+ * Objects are compared by identity, so distinct objects which are equal may be
+ * indexed at the same time.
+ * <P>
+ * This class is not thread-safe.
+ *
+ * @since 3.11
+ */
+public class SpatialIndex {
+
+	/**
+	 * The default width and height of a grid cell.
+	 */
+	public static final int DEFAULT_CELL_SIZE = 256;
+
+	/**
+	 * Objects spanning more cells than this are not put into the grid.
+	 */
+	private static final int MAX_CELLS_PER_ENTRY = 64;
+
+	private static final Comparator ORDER_COMPARATOR = new Comparator() {
+		public int compare(Object o1, Object o2) {
+			int order1 = ((Entry) o1).order;
+			int order2 = ((Entry) o2).order;
+			return order1 < order2 ? -1 : (order1 == order2 ? 0 : 1);
+		}
+	};
+
+	private static class Entry {
+		final Object object;
+		final Rectangle bounds = new Rectangle();
+		int order;
+		boolean oversized;
+		int stamp;
+
+		Entry(Object object) {
+			this.object = object;
+		}
+	}
+
+	private static class Cell {
+		int x, y;
+
+		Cell(int x, int y) {
+			this.x = x;
+			this.y = y;
+		}
+
+		public boolean equals(Object o) {
+			if (!(o instanceof Cell))
+				return false;
+			Cell c = (Cell) o;
+			return c.x == x && c.y == y;
+		}
+
+		public int hashCode() {
+			return x * 31 + y;
+		}
+	}
+
+	private final int cellSize;
+	private final Map entries = new IdentityHashMap();
+	private final Map cells = new HashMap();
+	private final List oversized = new ArrayList();
+	private final Cell lookup = new Cell(0, 0);
+	private int stamp;
+
+	/**
+	 * Constructs an index using the {@link #DEFAULT_CELL_SIZE}.
+	 */
+	public SpatialIndex() {
+		this(DEFAULT_CELL_SIZE);
+	}
+
+	/**
+	 * Constructs an index using the given cell size.
+	 *
+	 * @param cellSize
+	 *            the width and height of a grid cell, greater than 0
+	 */
+	public SpatialIndex(int cellSize) {
+		if (cellSize <= 0)
+			throw new IllegalArgumentException();
+		this.cellSize = cellSize;
+	}
+
+	/**
+	 * Removes all objects from this index.
+	 */
+	public void clear() {
+		entries.clear();
+		cells.clear();
+		oversized.clear();
+	}
+
+	/**
+	 * Returns whether the given object is in this index.
+	 *
+	 * @param object
+	 *            the object
+	 * @return <code>true</code> if the object has been indexed
+	 */
+	public boolean contains(Object object) {
+		return entries.containsKey(object);
+	}
+
+	/**
+	 * Returns the number of objects in this index.
+	 *
+	 * @return the number of objects
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Adds the given object to the index or updates its bounds and order, if it
+	 * is already indexed.
+	 *
+	 * @param object
+	 *            the object
+	 * @param bounds
+	 *            the bounds of the object; the rectangle is copied
+	 * @param order
+	 *            the order used to sort query results
+	 */
+	public void put(Object object, Rectangle bounds, int order) {
+		Entry entry = (Entry) entries.get(object);
+		if (entry == null) {
+			entry = new Entry(object);
+			entries.put(object, entry);
+		} else {
+			if (entry.bounds.equals(bounds)) {
+				entry.order = order;
+				return;
+			}
+			unlink(entry);
+		}
+		entry.order = order;
+		entry.bounds.setBounds(bounds);
+		link(entry);
+	}
+
+	/**
+	 * Updates the bounds of an indexed object, keeping its order. Does nothing
+	 * if the object is not indexed.
+	 *
+	 * @param object
+	 *            the object
+	 * @param bounds
+	 *            the new bounds; the rectangle is copied
+	 */
+	public void update(Object object, Rectangle bounds) {
+		Entry entry = (Entry) entries.get(object);
+		if (entry != null && !entry.bounds.equals(bounds)) {
+			unlink(entry);
+			entry.bounds.setBounds(bounds);
+			link(entry);
+		}
+	}
+
+	/**
+	 * Changes the order of an indexed object. Does nothing if the object is
+	 * not indexed.
+	 *
+	 * @param object
+	 *            the object
+	 * @param order
+	 *            the new order
+	 */
+	public void setOrder(Object object, int order) {
+		Entry entry = (Entry) entries.get(object);
+		if (entry != null)
+			entry.order = order;
+	}
+
+	/**
+	 * Removes the given object from this index.
+	 *
+	 * @param object
+	 *            the object
+	 */
+	public void remove(Object object) {
+		Entry entry = (Entry) entries.remove(object);
+		if (entry != null)
+			unlink(entry);
+	}
+
+	/**
+	 * Returns the objects whose bounds contain the given point, sorted by
+	 * ascending order.
+	 *
+	 * @param x
+	 *            the x coordinate
+	 * @param y
+	 *            the y coordinate
+	 * @return a new list of objects
+	 */
+	public List query(int x, int y) {
+		List result = new ArrayList();
+		lookup.x = cellIndex(x);
+		lookup.y = cellIndex(y);
+		List cell = (List) cells.get(lookup);
+		if (cell != null)
+			for (int i = 0; i < cell.size(); i++) {
+				Entry entry = (Entry) cell.get(i);
+				if (entry.bounds.contains(x, y))
+					result.add(entry);
+			}
+		for (int i = 0; i < oversized.size(); i++) {
+			Entry entry = (Entry) oversized.get(i);
+			if (entry.bounds.contains(x, y))
+				result.add(entry);
+		}
+		return toObjects(result);
+	}
+
+	/**
+	 * Returns the objects whose bounds intersect the given rectangle, sorted by
+	 * ascending order.
+	 *
+	 * @param rect
+	 *            the rectangle
+	 * @return a new list of objects
+	 */
+	public List query(Rectangle rect) {
+		List result = new ArrayList();
+		if (rect.isEmpty())
+			return result;
+		int currentStamp = ++stamp;
+		int x1 = cellIndex(rect.x), x2 = cellIndex(rect.right() - 1);
+		int y1 = cellIndex(rect.y), y2 = cellIndex(rect.bottom() - 1);
+		if ((long) (x2 - x1 + 1) * (y2 - y1 + 1) > entries.size()) {
+			// Cheaper to test every entry than to visit every cell
+			Iterator iter = entries.values().iterator();
+			while (iter.hasNext()) {
+				Entry entry = (Entry) iter.next();
+				if (intersects(entry.bounds, rect))
+					result.add(entry);
+			}
+			return toObjects(result);
+		}
+		for (int cx = x1; cx <= x2; cx++)
+			for (int cy = y1; cy <= y2; cy++) {
+				lookup.x = cx;
+				lookup.y = cy;
+				List cell = (List) cells.get(lookup);
+				if (cell == null)
+					continue;
+				for (int i = 0; i < cell.size(); i++) {
+					Entry entry = (Entry) cell.get(i);
+					if (entry.stamp != currentStamp
+							&& intersects(entry.bounds, rect)) {
+						entry.stamp = currentStamp;
+						result.add(entry);
+					}
+				}
+			}
+		for (int i = 0; i < oversized.size(); i++) {
+			Entry entry = (Entry) oversized.get(i);
+			if (intersects(entry.bounds, rect))
+				result.add(entry);
+		}
+		return toObjects(result);
+	}
+
+	private static List toObjects(List result) {
+		if (result.size() > 1)
+			Collections.sort(result, ORDER_COMPARATOR);
+		for (int i = 0; i < result.size(); i++)
+			result.set(i, ((Entry) result.get(i)).object);
+		return result;
+	}
+
+	private static boolean intersects(Rectangle a, Rectangle b) {
+		return a.x < b.x + b.width && b.x < a.x + a.width
+				&& a.y < b.y + b.height && b.y < a.y + a.height
+				&& !a.isEmpty();
+	}
+
+	private int cellIndex(int coordinate) {
+		// round towards negative infinity
+		return coordinate >= 0 ? coordinate / cellSize
+				: (coordinate + 1) / cellSize - 1;
+	}
+
+	private void link(Entry entry) {
+		Rectangle r = entry.bounds;
+		int x1 = cellIndex(r.x), x2 = cellIndex(r.x + Math.max(r.width, 1) - 1);
+		int y1 = cellIndex(r.y), y2 = cellIndex(r.y + Math.max(r.height, 1) - 1);
+		if ((long) (x2 - x1 + 1) * (y2 - y1 + 1) > MAX_CELLS_PER_ENTRY) {
+			entry.oversized = true;
+			oversized.add(entry);
+			return;
+		}
+		entry.oversized = false;
+		for (int cx = x1; cx <= x2; cx++)
+			for (int cy = y1; cy <= y2; cy++) {
+				lookup.x = cx;
+				lookup.y = cy;
+				List cell = (List) cells.get(lookup);
+				if (cell == null) {
+					cell = new ArrayList(4);
+					cells.put(new Cell(cx, cy), cell);
+				}
+				cell.add(entry);
+			}
+	}
+
+	private void unlink(Entry entry) {
+		if (entry.oversized) {
+			oversized.remove(entry);
+			return;
+		}
+		Rectangle r = entry.bounds;
+		int x1 = cellIndex(r.x), x2 = cellIndex(r.x + Math.max(r.width, 1) - 1);
+		int y1 = cellIndex(r.y), y2 = cellIndex(r.y + Math.max(r.height, 1) - 1);
+		for (int cx = x1; cx <= x2; cx++)
+			for (int cy = y1; cy <= y2; cy++) {
+				lookup.x = cx;
+				lookup.y = cy;
+				List cell = (List) cells.get(lookup);
+				if (cell == null)
+					continue;
+				cell.remove(entry);
+				if (cell.isEmpty())
+					cells.remove(lookup);
+			}
+	}
+
+}
@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.swt.graphics.Font;
+import org.eclipse.swt.graphics.Point;
+
+/**
+ * The extents of the strings measured by {@link FigureUtilities}, and the
+ * advance widths of the ASCII characters of each font. The extents are kept in
+ * least recently used order, up to a fixed number of strings. Long strings,
+ * which are rarely measured twice, are not kept. The advance widths are kept
+ * in the same way, up to a fixed number of fonts.
+ * <P>
+ * Fonts which have been disposed never match the fonts being measured, and
+ * their entries are removed by {@link FigureUtilities#invalidateTextExtents},
+ * or when the advance widths of another font are stored.
+ *
+ * @since 3.11
+ */
+class TextExtentCache {
+
+	private static class Key {
+		Font font;
+		String string;
+		boolean text;
+
+		Key(Font font, String string, boolean text) {
+			this.font = font;
+			this.string = string;
+			this.text = text;
+		}
+
+		public boolean equals(Object obj) {
+			Key key = (Key) obj;
+			return key.text == text && key.font.equals(font)
+					&& key.string.equals(string);
+		}
+
+		public int hashCode() {
+			return font.hashCode() ^ string.hashCode() ^ (text ? 1 : 0);
+		}
+	}
+
+	/**
+	 * The first and last character with an advance width in the tables.
+	 */
+	static final char FIRST_CHAR = ' ', LAST_CHAR = '~';
+
+	private static final int MAXIMUM_SIZE = 1024;
+	private static final int MAXIMUM_FONTS = 32;
+	private static final int MAXIMUM_LENGTH = 256;
+
+	private static final Map extents = new LinkedHashMap(64, 0.75f, true) {
+		protected boolean removeEldestEntry(Map.Entry eldest) {
+			return size() > MAXIMUM_SIZE;
+		}
+	};
+	private static final Map advances = new LinkedHashMap(16, 0.75f, true) {
+		protected boolean removeEldestEntry(Map.Entry eldest) {
+			return size() > MAXIMUM_FONTS;
+		}
+	};
+	private static final Key lookupKey = new Key(null, null, false);
+
+	/**
+	 * Returns the extent of the given string, or <code>null</code> if it has
+	 * not been measured. The extent must not be modified.
+	 *
+	 * @param s
+	 *            the string
+	 * @param f
+	 *            the font
+	 * @param text
+	 *            <code>true</code> for the extent with tab expansion and
+	 *            carriage return processing
+	 * @return the extent or <code>null</code>
+	 */
+	static Point get(String s, Font f, boolean text) {
+		if (f == null || s.length() > MAXIMUM_LENGTH)
+			return null;
+		lookupKey.font = f;
+		lookupKey.string = s;
+		lookupKey.text = text;
+		Point extent = (Point) extents.get(lookupKey);
+		lookupKey.font = null;
+		lookupKey.string = null;
+		return extent;
+	}
+
+	/**
+	 * Returns the advance widths of the characters from {@link #FIRST_CHAR}
+	 * to {@link #LAST_CHAR}, or <code>null</code> if they are not known.
+	 *
+	 * @param f
+	 *            the font
+	 * @return the advance widths or <code>null</code>
+	 */
+	static int[] getAdvances(Font f) {
+		return (int[]) advances.get(f);
+	}
+
+	/**
+	 * Removes the entries of the given font, and of all fonts which have been
+	 * disposed.
+	 *
+	 * @param f
+	 *            the font
+	 */
+	static void invalidate(Font f) {
+		for (Iterator iter = extents.keySet().iterator(); iter.hasNext();) {
+			Font font = ((Key) iter.next()).font;
+			if (font == f || font.isDisposed())
+				iter.remove();
+		}
+		for (Iterator iter = advances.keySet().iterator(); iter.hasNext();) {
+			Font font = (Font) iter.next();
+			if (font == f || font.isDisposed())
+				iter.remove();
+		}
+	}
+
+	/**
+	 * Stores the extent of the given string.
+	 *
+	 * @param s
+	 *            the string
+	 * @param f
+	 *            the font
+	 * @param text
+	 *            <code>true</code> for the extent with tab expansion and
+	 *            carriage return processing
+	 * @param extent
+	 *            the extent, which must not be modified afterwards
+	 */
+	static void put(String s, Font f, boolean text, Point extent) {
+		if (f != null && s.length() <= MAXIMUM_LENGTH)
+			extents.put(new Key(f, s, text), extent);
+	}
+
+	/**
+	 * Stores the advance widths of the ASCII characters of the given font.
+	 *
+	 * @param f
+	 *            the font
+	 * @param widths
+	 *            the advance widths
+	 */
+	static void putAdvances(Font f, int[] widths) {
+		for (Iterator iter = advances.keySet().iterator(); iter.hasNext();)
+			if (((Font) iter.next()).isDisposed())
+				iter.remove();
+		advances.put(f, widths);
+	}
+
+}
@@ -78,6 +78,27 @@ public class TextUtilities {
 		return FigureUtilities.getFontMetrics(font).getDescent();
 	}
 
+	/**
+	 * Estimates the largest substring confined to the given width from the
+	 * advance widths of the characters, if the substring only contains
+	 * printable ASCII characters.
+	 * 
+	 * @return the estimated length, or -1 if it cannot be estimated
+	 */
+	private int estimateLargestSubstring(String s, Font f, int availableWidth) {
+		int[] advances = FigureUtilities.getAsciiAdvances(f);
+		int width = 0;
+		for (int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+			if (c < TextExtentCache.FIRST_CHAR || c > TextExtentCache.LAST_CHAR)
+				return -1;
+			width += advances[c - TextExtentCache.FIRST_CHAR];
+			if (width >= availableWidth)
+				return i;
+		}
+		return s.length();
+	}
+
 	/**
 	 * Returns the largest substring of <i>s</i> in Font <i>f</i> that can be
 	 * confined to the number of pixels in <i>availableWidth<i>.
@@ -100,11 +121,17 @@ public class TextUtilities {
 
 		// The size of the current guess
 		int guess = 0, guessSize = 0;
+		int estimate = estimateLargestSubstring(s, f, availableWidth);
 		while ((max - min) > 1) {
-			// Pick a new guess size
-			// New guess is the last guess plus the missing width in pixels
-			// divided by the average character size in pixels
-			guess = guess + (int) ((availableWidth - guessSize) / avg);
+			if (estimate != -1) {
+				// The first guess is the estimate, which is usually exact
+				guess = estimate;
+				estimate = -1;
+			} else
+				// Pick a new guess size
+				// New guess is the last guess plus the missing width in pixels
+				// divided by the average character size in pixels
+				guess = guess + (int) ((availableWidth - guessSize) / avg);
 
 			if (guess >= max)
 				guess = max - 1;
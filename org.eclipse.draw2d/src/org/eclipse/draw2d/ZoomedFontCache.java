@@ -0,0 +1,273 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.swt.graphics.Font;
+import org.eclipse.swt.graphics.FontData;
+import org.eclipse.swt.graphics.FontMetrics;
+import org.eclipse.swt.widgets.Display;
+
+/**
+ * A cache of the zoomed fonts used by {@link ScaledGraphics}, shared by all
+ * graphics painting on the same display. A zoomed font is a copy of a font
+ * with a different height. Creating one, and querying its metrics, is
+ * expensive, so the fonts outlive the graphics which have used them.
+ * <P>
+ * Fonts are reference counted: each {@link #acquireFont(Font, int)} must be
+ * matched by a {@link #releaseFont(Font)}. The fonts which are not in use are
+ * kept up to the {@link #setMaximumSize(int) maximum size} of the cache, and
+ * the least recently used ones are disposed first. All fonts are disposed
+ * when the display is disposed.
+ * <P>
+ * The cache must only be used on the display's thread.
+ *
+ * @since 3.11
+ */
+public final class ZoomedFontCache {
+
+	private static class Entry {
+		final ScaledGraphics.FontKey key;
+		final Font font;
+		FontMetrics metrics;
+		int references;
+
+		Entry(ScaledGraphics.FontKey key, Font font) {
+			this.key = key;
+			this.font = font;
+		}
+	}
+
+	/**
+	 * The default maximum number of zoomed fonts which are kept when they are
+	 * not in use.
+	 */
+	public static final int DEFAULT_MAXIMUM_SIZE = 64;
+
+	private static final Map instances = new HashMap();
+
+	/**
+	 * Returns the cache of the given display.
+	 *
+	 * @param display
+	 *            the display, which must not be disposed
+	 * @return the cache
+	 */
+	public static ZoomedFontCache getInstance(final Display display) {
+		ZoomedFontCache cache = (ZoomedFontCache) instances.get(display);
+		if (cache == null) {
+			final ZoomedFontCache newCache = new ZoomedFontCache(display);
+			display.disposeExec(new Runnable() {
+				public void run() {
+					instances.remove(display);
+					newCache.dispose();
+				}
+			});
+			instances.put(display, newCache);
+			cache = newCache;
+		}
+		return cache;
+	}
+
+	private final Display display;
+	// the entries in least recently used order
+	private final LinkedHashMap entries = new LinkedHashMap(16, 0.75f, true);
+	private final Map fontEntries = new IdentityHashMap();
+	private final LinkedHashMap fontData = new LinkedHashMap(16, 0.75f, true);
+	private final ScaledGraphics.FontKey lookupKey =
+			new ScaledGraphics.FontKey();
+	private int maximumSize = DEFAULT_MAXIMUM_SIZE;
+	private int fontsInUse;
+	private int hits;
+	private int misses;
+
+	private ZoomedFontCache(Display display) {
+		this.display = display;
+	}
+
+	/**
+	 * Returns a copy of the given font with the given height, and increments
+	 * its reference count.
+	 *
+	 * @param font
+	 *            the font
+	 * @param height
+	 *            the height of the zoomed font in points
+	 * @return the zoomed font, which must be released
+	 */
+	public Font acquireFont(Font font, int height) {
+		lookupKey.setValues(font, height);
+		Entry entry = (Entry) entries.get(lookupKey);
+		lookupKey.setValues(null, 0);
+		if (entry != null)
+			hits++;
+		else {
+			misses++;
+			FontData data = font.getFontData()[0];
+			data.setHeight(height);
+			entry = new Entry(new ScaledGraphics.FontKey(font, height),
+					new Font(display, data));
+			entries.put(entry.key, entry);
+			fontEntries.put(entry.font, entry);
+		}
+		if (entry.references++ == 0)
+			fontsInUse++;
+		evict();
+		return entry.font;
+	}
+
+	private void dispose() {
+		for (Iterator iter = fontEntries.keySet().iterator(); iter.hasNext();)
+			((Font) iter.next()).dispose();
+		FigureUtilities.invalidateTextExtents(null);
+		fontEntries.clear();
+		entries.clear();
+		fontData.clear();
+		fontsInUse = 0;
+	}
+
+	/**
+	 * Disposes the least recently used fonts which are not in use, until the
+	 * cache is not larger than its maximum size.
+	 */
+	private void evict() {
+		Iterator iter = entries.values().iterator();
+		while (entries.size() - fontsInUse > maximumSize && iter.hasNext()) {
+			Entry entry = (Entry) iter.next();
+			if (entry.references == 0) {
+				iter.remove();
+				fontEntries.remove(entry.font);
+				entry.font.dispose();
+				FigureUtilities.invalidateTextExtents(entry.font);
+			}
+		}
+		while (fontData.size() > maximumSize) {
+			iter = fontData.keySet().iterator();
+			iter.next();
+			iter.remove();
+		}
+	}
+
+	/**
+	 * Returns the number of fonts which were found in the cache.
+	 *
+	 * @return the hit count
+	 */
+	public int getHitCount() {
+		return hits;
+	}
+
+	/**
+	 * Returns the font data of the given font. The font data must not be
+	 * modified.
+	 *
+	 * @param font
+	 *            a font
+	 * @return the font data
+	 */
+	public FontData getFontData(Font font) {
+		FontData data = (FontData) fontData.get(font);
+		if (data == null) {
+			data = font.getFontData()[0];
+			fontData.put(font, data);
+		}
+		return data;
+	}
+
+	/**
+	 * Returns the metrics of a zoomed font which has been acquired from this
+	 * cache.
+	 *
+	 * @param zoomedFont
+	 *            the zoomed font
+	 * @return the metrics, or <code>null</code> if the font is not in the
+	 *         cache
+	 */
+	public FontMetrics getFontMetrics(Font zoomedFont) {
+		Entry entry = (Entry) fontEntries.get(zoomedFont);
+		if (entry == null)
+			return null;
+		if (entry.metrics == null)
+			entry.metrics = FigureUtilities.getFontMetrics(zoomedFont);
+		return entry.metrics;
+	}
+
+	/**
+	 * Returns the maximum number of fonts kept when they are not in use.
+	 *
+	 * @return the maximum size
+	 */
+	public int getMaximumSize() {
+		return maximumSize;
+	}
+
+	/**
+	 * Returns the number of fonts which had to be created.
+	 *
+	 * @return the miss count
+	 */
+	public int getMissCount() {
+		return misses;
+	}
+
+	/**
+	 * Returns the number of zoomed fonts in the cache, including the ones in
+	 * use.
+	 *
+	 * @return the number of fonts
+	 */
+	public int getSize() {
+		return fontEntries.size();
+	}
+
+	/**
+	 * Decrements the reference count of a zoomed font. The font is disposed if
+	 * it is no longer in use and the cache is full.
+	 *
+	 * @param zoomedFont
+	 *            a font returned by {@link #acquireFont(Font, int)}
+	 */
+	public void releaseFont(Font zoomedFont) {
+		Entry entry = (Entry) fontEntries.get(zoomedFont);
+		if (entry == null || entry.references == 0)
+			return;
+		if (--entry.references == 0) {
+			fontsInUse--;
+			evict();
+		}
+	}
+
+	/**
+	 * Resets the hit and miss counts.
+	 */
+	public void resetCounts() {
+		hits = 0;
+		misses = 0;
+	}
+
+	/**
+	 * Sets the maximum number of fonts which are kept when they are not in
+	 * use. Fonts in use are not counted against it.
+	 *
+	 * @param maximumSize
+	 *            the maximum size
+	 */
+	public void setMaximumSize(int maximumSize) {
+		this.maximumSize = maximumSize;
+		evict();
+	}
+
+}
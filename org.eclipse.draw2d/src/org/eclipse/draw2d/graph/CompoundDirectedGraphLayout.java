@@ -54,4 +54,11 @@ public final class CompoundDirectedGraphLayout extends DirectedGraphLayout {
 		steps.add(new CompoundHorizontalPlacement());
 	}
 
+	/**
+	 * Compound graphs are always laid out from scratch, since the nesting of
+	 * the subgraphs determines the initial ordering of the ranks.
+	 */
+	void setPreviousLayout(PreviousLayout layout) {
+	}
+
 }
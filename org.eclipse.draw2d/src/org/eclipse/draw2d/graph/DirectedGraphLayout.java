@@ -93,6 +93,73 @@ public class DirectedGraphLayout {
 		steps.add(new HorizontalPlacement());
 	}
 
+	/**
+	 * Sets how many consecutive sweeps of crossing reduction may pass without
+	 * reducing the number of edge crossings before the layout stops sweeping.
+	 * The ordering with the fewest crossings found is kept. A value of 0
+	 * disables early termination, so that the full number of sweeps is always
+	 * made. The default is 10.
+	 * 
+	 * @param sweeps
+	 *            the number of sweeps without improvement, or 0
+	 * @since 3.11
+	 */
+	public void setCrossingReductionPatience(int sweeps) {
+		if (sweeps < 0)
+			throw new IllegalArgumentException();
+		for (int i = 0; i < steps.size(); i++)
+			if (steps.get(i) instanceof MinCross)
+				((MinCross) steps.get(i)).setPatience(sweeps);
+	}
+
+	/**
+	 * Lays out the given graph, starting from the layout of a similar graph
+	 * which was laid out before. Nodes of the two graphs are matched by their
+	 * {@link Node#data data}, or by identity if they have no data. Matched
+	 * nodes keep their previous ranks where the edges allow it, and the ranks
+	 * are ordered like before unless this produces more edge crossings. This
+	 * keeps the layout stable and makes re-laying out a large graph after a
+	 * small edit much cheaper.
+	 * <P>
+	 * The previous layout is ignored, and the graph laid out from scratch, if
+	 * <code>previous</code> is <code>null</code>, was laid out in a different
+	 * direction, or differs from <code>graph</code> in more than half of its
+	 * nodes and edges. {@link CompoundDirectedGraphLayout} always lays out from
+	 * scratch.
+	 * 
+	 * @param graph
+	 *            the graph to layout
+	 * @param previous
+	 *            a graph laid out before, or <code>null</code>
+	 * @since 3.11
+	 */
+	public void visit(DirectedGraph graph, DirectedGraph previous) {
+		if (graph.nodes.isEmpty())
+			return;
+		PreviousLayout layout = null;
+		if (previous != null) {
+			layout = new PreviousLayout(previous);
+			if (!layout.isCloseTo(graph))
+				layout = null;
+		}
+		setPreviousLayout(layout);
+		try {
+			visit(graph);
+		} finally {
+			setPreviousLayout(null);
+		}
+	}
+
+	void setPreviousLayout(PreviousLayout layout) {
+		for (int i = 0; i < steps.size(); i++) {
+			Object step = steps.get(i);
+			if (step instanceof InitialRankSolver)
+				((InitialRankSolver) step).previous = layout;
+			else if (step instanceof MinCross)
+				((MinCross) step).setPreviousLayout(layout);
+		}
+	}
+
 	/**
 	 * Lays out the given graph
 	 * 
@@ -27,6 +27,7 @@ class InitialRankSolver extends GraphVisitor {
 	protected DirectedGraph graph;
 	protected EdgeList candidates = new EdgeList();
 	protected NodeList members = new NodeList();
+	PreviousLayout previous;
 
 	public void visit(DirectedGraph graph) {
 		this.graph = graph;
@@ -112,6 +113,9 @@ class InitialRankSolver extends GraphVisitor {
 			e = node.incoming.getEdge(i1);
 			rank = Math.max(rank, e.delta + e.source.rank);
 		}
+		// start from the previous rank, as long as the edges allow it
+		if (previous != null)
+			rank = Math.max(rank, previous.getRank(node));
 		node.rank = rank;
 	}
 
@@ -10,6 +10,10 @@
  *******************************************************************************/
 package org.eclipse.draw2d.graph;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+
 /**
  * Sweeps up and down the ranks rearranging them so as to reduce edge crossings.
  * 
@@ -20,8 +24,22 @@ class MinCross extends GraphVisitor {
 
 	static final int MAX = 45;
 
+	/**
+	 * The default number of consecutive sweeps without fewer crossings after
+	 * which the sweeps stop.
+	 */
+	static final int DEFAULT_PATIENCE = 10;
+
+	/**
+	 * The patience used when starting from a previous layout, which is only
+	 * left for an ordering with fewer crossings.
+	 */
+	static final int WARM_START_PATIENCE = 2;
+
 	private DirectedGraph g;
 	private RankSorter sorter = new RankSorter();
+	private int patience = DEFAULT_PATIENCE;
+	private PreviousLayout previous;
 
 	public MinCross() {
 	}
@@ -37,28 +55,204 @@ class MinCross extends GraphVisitor {
 		this.sorter = sorter;
 	}
 
+	/**
+	 * Sets the number of consecutive sweeps without fewer crossings after
+	 * which the sweeps stop early. 0 disables early termination.
+	 * 
+	 * @param patience
+	 *            the number of sweeps
+	 */
+	void setPatience(int patience) {
+		this.patience = patience;
+	}
+
+	/**
+	 * Sets the layout to start the ordering from, or <code>null</code>.
+	 */
+	void setPreviousLayout(PreviousLayout previous) {
+		this.previous = previous;
+	}
+
+	/**
+	 * Orders every rank by the previous positions of its nodes. Nodes without
+	 * a previous position are placed at the mean position of their neighbors
+	 * in the adjacent ranks, or at the end of the rank.
+	 */
+	void orderFromPrevious() {
+		for (int row = 0; row < g.ranks.size(); row++) {
+			Rank rank = g.ranks.getRank(row);
+			for (int n = 0; n < rank.count(); n++) {
+				Node node = rank.getNode(n);
+				node.sortValue = previous.getPosition(node);
+			}
+		}
+		for (int row = 0; row < g.ranks.size(); row++) {
+			Rank rank = g.ranks.getRank(row);
+			for (int n = 0; n < rank.count(); n++) {
+				Node node = rank.getNode(n);
+				if (Double.isNaN(node.sortValue))
+					node.sortValue = meanNeighborPosition(node);
+			}
+			Collections.sort(rank, new Comparator() {
+				public int compare(Object left, Object right) {
+					return Double.compare(((Node) left).sortValue,
+							((Node) right).sortValue);
+				}
+			});
+		}
+	}
+
+	private static double meanNeighborPosition(Node node) {
+		double sum = 0;
+		int count = 0;
+		for (int i = 0; i < node.incoming.size(); i++) {
+			double value = node.incoming.getEdge(i).source.sortValue;
+			if (!Double.isNaN(value)) {
+				sum += value;
+				count++;
+			}
+		}
+		for (int i = 0; i < node.outgoing.size(); i++) {
+			double value = node.outgoing.getEdge(i).target.sortValue;
+			if (!Double.isNaN(value)) {
+				sum += value;
+				count++;
+			}
+		}
+		return count == 0 ? Double.MAX_VALUE : sum / count;
+	}
+
+	/**
+	 * Counts the number of edge crossings between all adjacent ranks.
+	 */
+	long countCrossings() {
+		long crossings = 0;
+		int[] sequence = new int[16];
+		int[] buffer = new int[16];
+		for (int row = 0; row < g.ranks.size() - 1; row++) {
+			Rank rank = g.ranks.getRank(row);
+			int length = 0;
+			for (int n = 0; n < rank.count(); n++) {
+				Node node = rank.getNode(n);
+				int start = length;
+				for (int i = 0; i < node.outgoing.size(); i++) {
+					Node target = node.outgoing.getEdge(i).target;
+					if (target.rank != row + 1)
+						continue;
+					if (length == sequence.length) {
+						int[] grown = new int[length * 2];
+						System.arraycopy(sequence, 0, grown, 0, length);
+						sequence = grown;
+					}
+					sequence[length++] = target.index;
+				}
+				// edges of the same node do not cross each other
+				Arrays.sort(sequence, start, length);
+			}
+			if (buffer.length < length)
+				buffer = new int[sequence.length];
+			crossings += countInversions(sequence, buffer, 0, length);
+		}
+		return crossings;
+	}
+
+	/**
+	 * Sorts the given range and returns the number of pairs which were in
+	 * descending order.
+	 */
+	private static long countInversions(int[] a, int[] buffer, int from, int to) {
+		if (to - from < 2)
+			return 0;
+		int mid = (from + to) >>> 1;
+		long count = countInversions(a, buffer, from, mid)
+				+ countInversions(a, buffer, mid, to);
+		int i = from, j = mid, k = from;
+		while (i < mid && j < to) {
+			if (a[j] < a[i]) {
+				count += mid - i;
+				buffer[k++] = a[j++];
+			} else
+				buffer[k++] = a[i++];
+		}
+		while (i < mid)
+			buffer[k++] = a[i++];
+		while (j < to)
+			buffer[k++] = a[j++];
+		System.arraycopy(buffer, from, a, from, to - from);
+		return count;
+	}
+
+	/**
+	 * Sweeps up and down the ranks. Unless early termination is disabled, the
+	 * crossings are counted after every sweep, the sweeps stop once there are
+	 * no crossings or the count has not improved for <code>patience</code>
+	 * sweeps, and the ordering with the fewest crossings is restored at the end.
+	 * When starting from a previous layout, its ordering is kept unless a few
+	 * sweeps find one with fewer crossings.
+	 */
 	void solve() {
 		Rank rank;
+		int limit = patience;
+		long bestCrossings = Long.MAX_VALUE;
+		Node[][] best = null;
+		if (previous != null) {
+			limit = patience == 0 ? MAX : Math.min(patience,
+					WARM_START_PATIENCE);
+			bestCrossings = countCrossings();
+			best = snapshot();
+		}
+		long crossings = bestCrossings;
+		int sinceImprovement = 0;
 		for (int loop = 0; loop < MAX; loop++) {
+			if (limit > 0 && bestCrossings == 0)
+				break;
 			for (int row = 1; row < g.ranks.size(); row++) {
 				rank = g.ranks.getRank(row);
 				sorter.sortRankIncoming(g, rank, row, (double) loop / MAX);
 			}
-			if (loop == MAX - 1)
+			if (loop < MAX - 1)
+				for (int row = g.ranks.size() - 2; row >= 0; row--) {
+					rank = g.ranks.getRank(row);
+					sorter.sortRankOutgoing(g, rank, row, (double) loop / MAX);
+				}
+			if (limit == 0)
 				continue;
-			for (int row = g.ranks.size() - 2; row >= 0; row--) {
-				rank = g.ranks.getRank(row);
-				sorter.sortRankOutgoing(g, rank, row, (double) loop / MAX);
-			}
+			crossings = countCrossings();
+			if (crossings < bestCrossings) {
+				bestCrossings = crossings;
+				best = snapshot();
+				sinceImprovement = 0;
+			} else
+				sinceImprovement++;
+			if (sinceImprovement >= limit)
+				break;
 		}
+		if (crossings > bestCrossings)
+			restore(best);
+	}
+
+	private Node[][] snapshot() {
+		Node[][] ordering = new Node[g.ranks.size()][];
+		for (int row = 0; row < ordering.length; row++) {
+			Rank rank = g.ranks.getRank(row);
+			ordering[row] = (Node[]) rank.toArray(new Node[rank.size()]);
+		}
+		return ordering;
+	}
+
+	private void restore(Node[][] ordering) {
+		for (int row = 0; row < ordering.length; row++)
+			sorter.restoreRank(g, g.ranks.getRank(row), row, ordering[row]);
 	}
 
 	/**
 	 * @see GraphVisitor#visit(org.eclipse.draw2d.graph.DirectedGraph)
 	 */
 	public void visit(DirectedGraph g) {
-		sorter.init(g);
 		this.g = g;
+		if (previous != null)
+			orderFromPrevious();
+		sorter.init(g);
 		solve();
 		sorter.optimize(g);
 	}
@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d.graph;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.draw2d.SpatialIndex;
+import org.eclipse.draw2d.geometry.Rectangle;
+
+/**
+ * Finds the obstacles of a {@link ShortestPathRouter} near a rectangle or
+ * segment, and remembers which obstacle blocks a segment of the visibility
+ * graph between two vertices.
+ * <P>
+ * The obstacles are kept in a {@link SpatialIndex} ordered like the router's
+ * list of obstacles, so that the first blocking obstacle found is the same as
+ * with a linear search. A cached blocker stays valid until an obstacle is
+ * added or removed within the bounds of the segment, so only the segments near
+ * a moved obstacle have to be tested again.
+ *
+ * @since 3.11
+ */
+class ObstacleIndex {
+
+	/**
+	 * Below this number of obstacles, searching the list is faster than
+	 * querying the index.
+	 */
+	static final int MIN_INDEXED = 16;
+
+	/**
+	 * The cache is cleared when it grows beyond this number of segments.
+	 */
+	static final int MAX_CACHED = 16384;
+
+	private static final Object NO_BLOCKER = new Object();
+
+	/**
+	 * A segment between two vertices, tested without two obstacles.
+	 */
+	private static class SegmentKey {
+		final Vertex start, end;
+		final Obstacle exclude1, exclude2;
+
+		SegmentKey(Segment segment, Obstacle exclude1, Obstacle exclude2) {
+			start = segment.start;
+			end = segment.end;
+			this.exclude1 = exclude1;
+			this.exclude2 = exclude2;
+		}
+
+		public boolean equals(Object o) {
+			if (!(o instanceof SegmentKey))
+				return false;
+			SegmentKey key = (SegmentKey) o;
+			return key.start == start && key.end == end
+					&& key.exclude1 == exclude1 && key.exclude2 == exclude2;
+		}
+
+		public int hashCode() {
+			return System.identityHashCode(start) * 31
+					+ System.identityHashCode(end);
+		}
+	}
+
+	private final List obstacles;
+	private final SpatialIndex index = new SpatialIndex(128);
+	private int nextOrder;
+
+	private final Map blockers = new HashMap();
+	private final SpatialIndex cachedSegments = new SpatialIndex(128);
+
+	/**
+	 * Creates an index for the given list of obstacles, which is owned by the
+	 * router.
+	 *
+	 * @param obstacles
+	 *            the obstacles
+	 */
+	ObstacleIndex(List obstacles) {
+		this.obstacles = obstacles;
+	}
+
+	/**
+	 * Indexes an obstacle which has been added to the end of the list.
+	 *
+	 * @param obs
+	 *            the obstacle
+	 */
+	void add(Obstacle obs) {
+		index.put(obs, obs, nextOrder++);
+		invalidate(obs);
+	}
+
+	/**
+	 * Removes an obstacle which has been removed from the list.
+	 *
+	 * @param obs
+	 *            the obstacle
+	 */
+	void remove(Obstacle obs) {
+		index.remove(obs);
+		invalidate(obs);
+	}
+
+	/**
+	 * Forgets the blockers of all segments within the given bounds.
+	 */
+	private void invalidate(Rectangle bounds) {
+		List stale = cachedSegments.query(bounds);
+		for (int i = 0; i < stale.size(); i++) {
+			Object key = stale.get(i);
+			blockers.remove(key);
+			cachedSegments.remove(key);
+		}
+	}
+
+	/**
+	 * Returns the obstacles which may intersect the given rectangle, in the
+	 * order of the router's list. The result may contain other obstacles and
+	 * must not be modified.
+	 *
+	 * @param rect
+	 *            the rectangle
+	 * @return a list of obstacles
+	 */
+	List getObstacles(Rectangle rect) {
+		if (obstacles.size() < MIN_INDEXED)
+			return obstacles;
+		return index.query(rect);
+	}
+
+	/**
+	 * Returns the first obstacle, in the order of the router's list, which
+	 * blocks the given segment, ignoring the two given obstacles and any
+	 * obstacle which is excluded for the current path.
+	 *
+	 * @param segment
+	 *            the segment
+	 * @param exclude1
+	 *            an obstacle to ignore, or <code>null</code>
+	 * @param exclude2
+	 *            another obstacle to ignore, or <code>null</code>
+	 * @return the blocking obstacle or <code>null</code>
+	 */
+	Obstacle getBlocker(Segment segment, Obstacle exclude1, Obstacle exclude2) {
+		SegmentKey key = new SegmentKey(segment, exclude1, exclude2);
+		Object cached = blockers.get(key);
+		if (cached == NO_BLOCKER)
+			return null;
+		// excluded obstacles only hide blockers, so the first blocker stays
+		// the first one unless it is excluded itself
+		if (cached != null && !((Obstacle) cached).exclude)
+			return (Obstacle) cached;
+
+		Rectangle bounds = getBounds(segment);
+		List candidates = getObstacles(bounds);
+		Obstacle first = null, result = null;
+		for (int i = 0; i < candidates.size(); i++) {
+			Obstacle obs = (Obstacle) candidates.get(i);
+			if (obs == exclude1 || obs == exclude2 || !blocks(segment, obs))
+				continue;
+			if (first == null)
+				first = obs;
+			if (!obs.exclude) {
+				result = obs;
+				break;
+			}
+		}
+
+		if (cached == null) {
+			if (blockers.size() >= MAX_CACHED) {
+				blockers.clear();
+				cachedSegments.clear();
+			}
+			blockers.put(key, first == null ? NO_BLOCKER : first);
+			cachedSegments.put(key, bounds, 0);
+		}
+		return result;
+	}
+
+	private static boolean blocks(Segment segment, Obstacle obs) {
+		return segment.intersects(obs.x, obs.y, obs.right() - 1,
+				obs.bottom() - 1)
+				|| segment.intersects(obs.x, obs.bottom() - 1, obs.right() - 1,
+						obs.y) || obs.containsProper(segment.start)
+				|| obs.containsProper(segment.end);
+	}
+
+	private static Rectangle getBounds(Segment segment) {
+		int x = Math.min(segment.start.x, segment.end.x);
+		int y = Math.min(segment.start.y, segment.end.y);
+		return new Rectangle(x, y, Math.max(segment.start.x, segment.end.x)
+				- x + 1, Math.max(segment.start.y, segment.end.y) - y + 1);
+	}
+
+}
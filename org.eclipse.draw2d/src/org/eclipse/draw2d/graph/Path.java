@@ -300,32 +300,21 @@ public class Path {
 	 * @param exclude2
 	 *            another obstacle to exclude from the search
 	 * @param allObstacles
-	 *            the list of all obstacles
+	 *            the index of all obstacles
 	 */
 	private void addSegment(Segment segment, Obstacle exclude1,
-			Obstacle exclude2, List allObstacles) {
+			Obstacle exclude2, ObstacleIndex allObstacles) {
 		if (threshold != 0
 				&& (segment.end.getDistance(end)
 						+ segment.end.getDistance(start) > threshold || segment.start
 						.getDistance(end) + segment.start.getDistance(start) > threshold))
 			return;
 
-		for (int i = 0; i < allObstacles.size(); i++) {
-			Obstacle obs = (Obstacle) allObstacles.get(i);
-
-			if (obs == exclude1 || obs == exclude2 || obs.exclude)
-				continue;
-
-			if (segment.intersects(obs.x, obs.y, obs.right() - 1,
-					obs.bottom() - 1)
-					|| segment.intersects(obs.x, obs.bottom() - 1,
-							obs.right() - 1, obs.y)
-					|| obs.containsProper(segment.start)
-					|| obs.containsProper(segment.end)) {
-				if (!visibleObstacles.contains(obs))
-					addObstacle(obs);
-				return;
-			}
+		Obstacle obs = allObstacles.getBlocker(segment, exclude1, exclude2);
+		if (obs != null) {
+			if (!visibleObstacles.contains(obs))
+				addObstacle(obs);
+			return;
 		}
 
 		linkVertices(segment);
@@ -526,9 +515,9 @@ public class Path {
 	 * Begins the creation of the visibility graph with the first segment
 	 * 
 	 * @param allObstacles
-	 *            list of all obstacles
+	 *            index of all obstacles
 	 */
-	private void createVisibilityGraph(List allObstacles) {
+	private void createVisibilityGraph(ObstacleIndex allObstacles) {
 		stack.push(null);
 		stack.push(null);
 		stack.push(new Segment(start, end));
@@ -585,10 +574,10 @@ public class Path {
 	 * could be determined.
 	 * 
 	 * @param allObstacles
-	 *            the list of all obstacles
+	 *            the index of all obstacles
 	 * @return true if a shortest path was found
 	 */
-	boolean generateShortestPath(List allObstacles) {
+	boolean generateShortestPath(ObstacleIndex allObstacles) {
 		createVisibilityGraph(allObstacles);
 
 		if (visibleVertices.size() == 0)
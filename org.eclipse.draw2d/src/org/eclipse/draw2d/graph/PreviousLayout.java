@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d.graph;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.draw2d.PositionConstants;
+
+/**
+ * The ranks and horizontal positions of the nodes of a graph which has been
+ * laid out before. Nodes of the previous graph are matched to the nodes of a
+ * new graph by their {@link Node#data data}, or by identity if they have no
+ * data. The solution is used as a starting point for the rank assignment and
+ * the crossing reduction of the new graph, which keeps the layout stable
+ * across small edits.
+ *
+ * @since 3.11
+ */
+class PreviousLayout {
+
+	/**
+	 * The previous layout is ignored if the number of added and removed nodes
+	 * and edges is more than this fraction of the previous graph.
+	 */
+	static final double MAX_CHANGE = 0.5;
+
+	private final int direction;
+	private final Map ranks = new HashMap();
+	private final Map positions = new HashMap();
+	private final Set edges = new HashSet();
+
+	/**
+	 * Records the solution of the given graph, which must have been laid out.
+	 *
+	 * @param previous
+	 *            the graph laid out before
+	 */
+	PreviousLayout(DirectedGraph previous) {
+		direction = previous.getDirection();
+		boolean transposed = direction != PositionConstants.SOUTH;
+		for (int i = 0; i < previous.nodes.size(); i++) {
+			Node node = previous.nodes.getNode(i);
+			Object key = keyOf(node);
+			ranks.put(key, new Integer(node.rank));
+			int position = transposed ? node.y + node.height / 2 : node.x
+					+ node.width / 2;
+			positions.put(key, new Integer(position));
+		}
+		for (int i = 0; i < previous.edges.size(); i++)
+			edges.add(keyOf(previous.edges.getEdge(i)));
+	}
+
+	private static Object keyOf(Node node) {
+		return node.data != null ? node.data : node;
+	}
+
+	private static Object keyOf(Edge edge) {
+		return Arrays.asList(new Object[] { keyOf(edge.source),
+				keyOf(edge.target) });
+	}
+
+	/**
+	 * Returns whether the previous solution is close enough to the given graph
+	 * to be worth starting from. This is the case when both graphs are laid
+	 * out in the same direction and not too many nodes and edges have been
+	 * added or removed.
+	 *
+	 * @param graph
+	 *            the graph about to be laid out
+	 * @return <code>true</code> if the previous solution should be used
+	 */
+	boolean isCloseTo(DirectedGraph graph) {
+		if (graph.getDirection() != direction || ranks.isEmpty())
+			return false;
+		int matched = 0;
+		for (int i = 0; i < graph.nodes.size(); i++)
+			if (ranks.containsKey(keyOf(graph.nodes.getNode(i))))
+				matched++;
+		int changes = graph.nodes.size() - matched + ranks.size() - matched;
+		matched = 0;
+		for (int i = 0; i < graph.edges.size(); i++)
+			if (edges.contains(keyOf(graph.edges.getEdge(i))))
+				matched++;
+		changes += graph.edges.size() - matched + edges.size() - matched;
+		return changes <= MAX_CHANGE * (ranks.size() + edges.size());
+	}
+
+	/**
+	 * Returns the previous rank of the given node, or -1 if the node is new.
+	 *
+	 * @param node
+	 *            a node of the new graph
+	 * @return the previous rank or -1
+	 */
+	int getRank(Node node) {
+		Integer rank = (Integer) ranks.get(keyOf(node));
+		return rank == null ? -1 : rank.intValue();
+	}
+
+	/**
+	 * Returns the previous horizontal position of the given node, or
+	 * {@link Double#NaN} if the node is new. Virtual nodes are placed on the
+	 * straight line between the ends of their edge.
+	 *
+	 * @param node
+	 *            a node of the new graph
+	 * @return the previous position or NaN
+	 */
+	double getPosition(Node node) {
+		if (!(node instanceof VirtualNode))
+			return getRealPosition(node);
+		Node source = node, target = node;
+		while (source instanceof VirtualNode && source.incoming.size() == 1)
+			source = source.incoming.getEdge(0).source;
+		while (target instanceof VirtualNode && target.outgoing.size() == 1)
+			target = target.outgoing.getEdge(0).target;
+		double start = getRealPosition(source);
+		double end = getRealPosition(target);
+		if (Double.isNaN(start) || Double.isNaN(end) || source == target)
+			return Double.isNaN(start) ? end : start;
+		return start + (end - start) * (node.rank - source.rank)
+				/ (target.rank - source.rank);
+	}
+
+	private double getRealPosition(Node node) {
+		if (node instanceof VirtualNode)
+			return Double.NaN;
+		Integer position = (Integer) positions.get(keyOf(node));
+		return position == null ? Double.NaN : position.intValue();
+	}
+
+}
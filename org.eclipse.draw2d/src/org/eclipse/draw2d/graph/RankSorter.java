@@ -166,6 +166,18 @@ class RankSorter {
 		rank.assignIndices();
 	}
 
+	/**
+	 * Restores an ordering of the given rank which was taken earlier.
+	 */
+	void restoreRank(DirectedGraph g, Rank rank, int row, Node[] ordering) {
+		this.currentRow = row;
+		this.rank = rank;
+		rank.clear();
+		for (int i = 0; i < ordering.length; i++)
+			rank.add(ordering[i]);
+		postSort();
+	}
+
 	void sort() {
 		boolean change;
 		do {
@@ -18,6 +18,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.eclipse.draw2d.PositionConstants;
+import org.eclipse.draw2d.SpatialIndex;
 import org.eclipse.draw2d.geometry.Point;
 import org.eclipse.draw2d.geometry.PointList;
 import org.eclipse.draw2d.geometry.Rectangle;
@@ -73,8 +74,10 @@ public class ShortestPathRouter {
 	private List subPaths;
 
 	private List userObstacles;
+	private ObstacleIndex obstacleIndex;
 	private List userPaths;
 	private List workingPaths;
+	private SpatialIndex pathIndex;
 
 	/**
 	 * Creates a new shortest path routing.
@@ -84,6 +87,8 @@ public class ShortestPathRouter {
 		workingPaths = new ArrayList();
 		pathsToChildPaths = new HashMap();
 		userObstacles = new ArrayList();
+		obstacleIndex = new ObstacleIndex(userObstacles);
+		pathIndex = new SpatialIndex();
 	}
 
 	/**
@@ -161,8 +166,9 @@ public class ShortestPathRouter {
 
 		int xDist, yDist;
 
-		for (int o = 0; o < userObstacles.size(); o++) {
-			Obstacle obs = (Obstacle) userObstacles.get(o);
+		List nearby = obstacleIndex.getObstacles(r);
+		for (int o = 0; o < nearby.size(); o++) {
+			Obstacle obs = (Obstacle) nearby.get(o);
 			if (obs != vertex.obs && r.intersects(obs)) {
 				int pos = obs.getPosition(vertex);
 				if (pos == 0)
@@ -369,6 +375,7 @@ public class ShortestPathRouter {
 	 */
 	private boolean internalAddObstacle(Obstacle obs) {
 		userObstacles.add(obs);
+		obstacleIndex.add(obs);
 		return testAndDirtyPaths(obs);
 	}
 
@@ -391,6 +398,7 @@ public class ShortestPathRouter {
 		}
 
 		userObstacles.remove(index);
+		obstacleIndex.remove(obs);
 
 		boolean result = false;
 		result |= dirtyPathsOn(obs.bottomLeft);
@@ -631,10 +639,14 @@ public class ShortestPathRouter {
 	public boolean removePath(Path path) {
 		userPaths.remove(path);
 		List children = (List) pathsToChildPaths.get(path);
-		if (children == null)
+		if (children == null) {
 			workingPaths.remove(path);
-		else
+			pathIndex.remove(path);
+		} else {
 			workingPaths.removeAll(children);
+			for (int i = 0; i < children.size(); i++)
+				pathIndex.remove(children.get(i));
+		}
 		return true;
 	}
 
@@ -704,6 +716,7 @@ public class ShortestPathRouter {
 
 		recombineChildrenPaths();
 		cleanup();
+		indexPaths();
 
 		return Collections.unmodifiableList(userPaths);
 	}
@@ -747,13 +760,13 @@ public class ShortestPathRouter {
 			numSolved++;
 			path.fullReset();
 
-			boolean pathFoundCheck = path.generateShortestPath(userObstacles);
+			boolean pathFoundCheck = path.generateShortestPath(obstacleIndex);
 			if (!pathFoundCheck || path.end.cost > path.threshold) {
 				// path not found, or path found was too long
 				resetVertices();
 				path.fullReset();
 				path.threshold = 0;
-				pathFoundCheck = path.generateShortestPath(userObstacles);
+				pathFoundCheck = path.generateShortestPath(obstacleIndex);
 			}
 
 			resetVertices();
@@ -929,13 +942,42 @@ public class ShortestPathRouter {
 	 */
 	private boolean testAndDirtyPaths(Obstacle obs) {
 		boolean result = false;
-		for (int i = 0; i < workingPaths.size(); i++) {
-			Path path = (Path) workingPaths.get(i);
+		// only paths solved by the last call to solve() can be dirtied, and
+		// those are indexed by the bounds of their points
+		List paths = pathIndex.query(obs);
+		for (int i = 0; i < paths.size(); i++) {
+			Path path = (Path) paths.get(i);
 			result |= path.testAndSet(obs);
 		}
 		return result;
 	}
 
+	/**
+	 * Indexes the working paths by the bounds of their points, so that the
+	 * paths near an added obstacle can be found quickly.
+	 */
+	private void indexPaths() {
+		pathIndex.clear();
+		Rectangle bounds = new Rectangle();
+		for (int i = 0; i < workingPaths.size(); i++) {
+			Path path = (Path) workingPaths.get(i);
+			PointList points = path.getPoints();
+			if (points.size() == 0)
+				continue;
+			int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE;
+			int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+			for (int p = 0; p < points.size(); p++) {
+				Point point = points.getPoint(p);
+				minX = Math.min(minX, point.x);
+				minY = Math.min(minY, point.y);
+				maxX = Math.max(maxX, point.x);
+				maxY = Math.max(maxY, point.y);
+			}
+			bounds.setBounds(minX, minY, maxX - minX + 1, maxY - minY + 1);
+			pathIndex.put(path, bounds, i);
+		}
+	}
+
 	/**
 	 * Updates the position of an existing obstacle.
 	 * 
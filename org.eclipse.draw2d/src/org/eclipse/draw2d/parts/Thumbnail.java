@@ -40,7 +40,9 @@ public class Thumbnail extends Figure implements UpdateListener {
 
 	/**
 	 * This updates the Thumbnail by breaking the thumbnail {@link Image} into
-	 * several tiles and updating each tile individually.
+	 * several tiles and updating each tile individually. Only the damaged
+	 * region of each tile is updated, and tiles which are not damaged are
+	 * skipped.
 	 */
 	class ThumbnailUpdater implements Runnable {
 		private static final int MIN_TILE_SIZE = 256;
@@ -48,8 +50,14 @@ public class Thumbnail extends Figure implements UpdateListener {
 		private int currentHTile, currentVTile;
 		private int hTiles, vTiles;
 		private Dimension tileSize;
-		private Dimension sourceSize; // the source size that was used for the
-										// tileSize computation
+		// the source rectangle and image size that were used for the tileSize
+		// computation
+		private Rectangle sourceRectangle;
+		private Dimension imageSize;
+		// the damaged region of each tile in thumbnail image coordinates, or
+		// null if the tile is up to date
+		private Rectangle[] tileDamage;
+		private int damagedTiles;
 		private boolean isActive = true;
 
 		private boolean isRunning = false;
@@ -68,6 +76,8 @@ public class Thumbnail extends Figure implements UpdateListener {
 		public void deactivate() {
 			setActive(false);
 			stop();
+			tileDamage = null;
+			damagedTiles = 0;
 			if (thumbnailImage != null) {
 				thumbnailImage.dispose();
 				thumbnailImage = null;
@@ -93,6 +103,66 @@ public class Thumbnail extends Figure implements UpdateListener {
 			return currentVTile;
 		}
 
+		/**
+		 * Marks the given region of the thumbnail image as damaged. If the
+		 * tiles have not been computed yet, the thumbnail is marked as dirty
+		 * instead.
+		 * 
+		 * @param region
+		 *            the damaged region in thumbnail image coordinates
+		 */
+		void addDamage(Rectangle region) {
+			if (tileDamage == null) {
+				setDirty(true);
+				return;
+			}
+			if (region.isEmpty() || tileSize.isEmpty())
+				return;
+			int h1 = Math.max(region.x, 0) / tileSize.width;
+			int h2 = Math.min(region.right(), imageSize.width) - 1;
+			int v1 = Math.max(region.y, 0) / tileSize.height;
+			int v2 = Math.min(region.bottom(), imageSize.height) - 1;
+			if (h2 < 0 || v2 < 0)
+				return;
+			h2 = Math.min(h2 / tileSize.width, hTiles - 1);
+			v2 = Math.min(v2 / tileSize.height, vTiles - 1);
+			for (int v = v1; v <= v2; v++) {
+				for (int h = h1; h <= h2; h++) {
+					Rectangle damage = region.getIntersection(getTileBounds(h,
+							v));
+					if (damage.isEmpty())
+						continue;
+					int index = v * hTiles + h;
+					if (tileDamage[index] == null) {
+						tileDamage[index] = damage;
+						damagedTiles++;
+					} else
+						tileDamage[index].union(damage);
+				}
+			}
+		}
+
+		/**
+		 * Returns the bounds of the given tile in thumbnail image coordinates.
+		 * The tiles on the bottom and right border may be smaller.
+		 */
+		private Rectangle getTileBounds(int h, int v) {
+			int x = h * tileSize.width;
+			int y = v * tileSize.height;
+			return new Rectangle(x, y, Math.min(tileSize.width,
+					imageSize.width - x), Math.min(tileSize.height,
+					imageSize.height - y));
+		}
+
+		/**
+		 * Returns <code>true</code> if some tiles need to be updated.
+		 * 
+		 * @return <code>true</code> if some tiles are damaged
+		 */
+		boolean hasDamage() {
+			return damagedTiles > 0;
+		}
+
 		/**
 		 * Returns <code>true</code> if this ThumbnailUpdater is active. An
 		 * inactive updater has disposed of its {@link Image}. The updater may
@@ -114,34 +184,55 @@ public class Thumbnail extends Figure implements UpdateListener {
 			return isRunning;
 		}
 
+		/**
+		 * Marks all tiles as damaged.
+		 */
+		private void markAllDamaged() {
+			damagedTiles = 0;
+			for (int v = 0; v < vTiles; v++) {
+				for (int h = 0; h < hTiles; h++) {
+					Rectangle bounds = getTileBounds(h, v);
+					if (bounds.isEmpty())
+						bounds = null;
+					else
+						damagedTiles++;
+					tileDamage[v * hTiles + h] = bounds;
+				}
+			}
+		}
+
 		/**
 		 * Resets the number of vertical and horizontal tiles, as well as the
-		 * tile size and current tile index.
+		 * tile size and current tile index. All tiles are marked as damaged.
 		 */
 		public void resetTileValues() {
-			// Keep track of source size that matches the computed tile size.
-			sourceSize = getSourceRectangle().getSize();
-
-			// Compute number of horizontal and vertical tiles and the size of
-			// each tile (while the last tile in horizontal and vertical
-			// direction may be smaller); ensure that all tiles except those on
-			// the bottom and right border will have at least a size of
-			// MIN_TILE_SIZE size and that at most MAX_NUMBER_OF_TILES tiles
-			// will be created.
-			hTiles = Math.min(
-					(int) Math.ceil((float) sourceSize.width
-							/ (float) MIN_TILE_SIZE), MAX_NUMBER_OF_TILES);
-			vTiles = Math.min(
-					(int) Math.ceil((float) sourceSize.height
-							/ (float) MIN_TILE_SIZE), MAX_NUMBER_OF_TILES);
-			tileSize = new Dimension((int) Math.ceil((float) sourceSize.width
+			// Keep track of source rectangle and image size that match the
+			// computed tile size.
+			sourceRectangle = getSourceRectangle().getCopy();
+			imageSize = new Dimension(targetSize);
+
+			// Compute number of horizontal and vertical tiles of the thumbnail
+			// image and the size of each tile (while the last tile in
+			// horizontal and vertical direction may be smaller); ensure that
+			// all tiles except those on the bottom and right border will have
+			// at least a size of MIN_TILE_SIZE size and that at most
+			// MAX_NUMBER_OF_TILES tiles will be created.
+			hTiles = Math.max(1, Math.min(
+					(int) Math.ceil((float) imageSize.width
+							/ (float) MIN_TILE_SIZE), MAX_NUMBER_OF_TILES));
+			vTiles = Math.max(1, Math.min(
+					(int) Math.ceil((float) imageSize.height
+							/ (float) MIN_TILE_SIZE), MAX_NUMBER_OF_TILES));
+			tileSize = new Dimension((int) Math.ceil((float) imageSize.width
 					/ (float) hTiles),
-					(int) Math.ceil((float) sourceSize.height / (float) vTiles));
+					(int) Math.ceil((float) imageSize.height / (float) vTiles));
 
 			// Reset the current indices so that the next update will start with
 			// the first tile in horizontal and vertical direction
 			currentHTile = 0;
 			currentVTile = 0;
+			tileDamage = new Rectangle[hTiles * vTiles];
+			markAllDamaged();
 		}
 
 		/**
@@ -153,31 +244,48 @@ public class Thumbnail extends Figure implements UpdateListener {
 		}
 
 		/**
-		 * Updates the current tile on the Thumbnail. An area of the source
-		 * Figure is painted to an {@link Image}. That Image is then drawn on
-		 * the Thumbnail. Scaling of the source Image is done inside
-		 * {@link GC#drawImage(Image, int, int, int, int, int, int, int, int)}
-		 * since the source and target sizes are different. The current tile
+		 * Updates the next damaged tile on the Thumbnail. The damaged area of
+		 * the source Figure is painted to an {@link Image}, clipped to the
+		 * damaged region of the tile, so that figures outside of it are not
+		 * painted. That Image is then drawn on the Thumbnail. The current tile
 		 * indexes are incremented and if more updating is necesary, this
 		 * {@link Runnable} is called again in a
-		 * {@link Display#timerExec(int, Runnable)}. If no more updating is
+		 * {@link Display#asyncExec(Runnable)}. If no more updating is
 		 * required, {@link #stop()} is called.
 		 */
 		public void run() {
 			if (!isActive() || !isRunning() || tileGraphics == null)
 				return;
 
+			if (isDirty() || !getSourceRectangle().equals(sourceRectangle)) {
+				// the whole source has changed since the update started
+				setDirty(false);
+				sourceRectangle = getSourceRectangle().getCopy();
+				setScales(targetSize.width / (float) sourceRectangle.width,
+						targetSize.height / (float) sourceRectangle.height);
+				markAllDamaged();
+			}
+			if (!findDamagedTile()) {
+				stop();
+				repaint();
+				return;
+			}
+
 			int v = getCurrentVTile();
 			int sy1 = v * tileSize.height;
-			int sy2 = Math.min((v + 1) * tileSize.height, sourceSize.height);
 
 			int h = getCurrentHTile();
 			int sx1 = h * tileSize.width;
-			int sx2 = Math.min((h + 1) * tileSize.width, sourceSize.width);
+
+			int index = v * hTiles + h;
+			Rectangle damage = tileDamage[index];
+			tileDamage[index] = null;
+			damagedTiles--;
 
 			tileGraphics.pushState();
 			// clear the background (by filling with the background color)
-			Rectangle rect = new Rectangle(0, 0, sx2 - sx1, sy2 - sy1);
+			Rectangle rect = damage.getTranslated(-sx1, -sy1);
+			tileGraphics.clipRect(rect);
 			tileGraphics.fillRectangle(rect);
 
 			// Let the source figure paint into the tile image.
@@ -195,9 +303,13 @@ public class Thumbnail extends Figure implements UpdateListener {
 			sourceFigure.paint(tileGraphics);
 			tileGraphics.popState();
 
-			// Copy the painted tile image into the thumbnail image.
-			thumbnailGC.drawImage(tileImage, 0, 0, sx2 - sx1, sy2 - sy1, sx1,
-					sy1, sx2 - sx1, sy2 - sy1);
+			// Copy the painted region of the tile image into the thumbnail
+			// image (a mirrored tile has been painted from the right).
+			int x = sourceFigure.isMirrored() ? tileImageSize.width
+					- rect.right() : rect.x;
+			thumbnailGC.drawImage(tileImage, x, rect.y, rect.width,
+					rect.height, damage.x, damage.y, damage.width,
+					damage.height);
 
 			if (getCurrentHTile() < (hTiles - 1))
 				setCurrentHTile(getCurrentHTile() + 1);
@@ -209,16 +321,31 @@ public class Thumbnail extends Figure implements UpdateListener {
 					setCurrentVTile(0);
 			}
 
-			if (getCurrentHTile() != 0 || getCurrentVTile() != 0) {
-				Display.getCurrent().asyncExec(this);
-			} else if (isDirty()) {
-				setDirty(false);
-				Display.getCurrent().asyncExec(this);
-				repaint();
-			} else {
-				stop();
+			// show the progress after each pass over the tiles
+			if (getCurrentHTile() == 0 && getCurrentVTile() == 0)
 				repaint();
+			Display.getCurrent().asyncExec(this);
+		}
+
+		/**
+		 * Moves the current tile indexes to the next damaged tile, starting
+		 * with the current one.
+		 * 
+		 * @return <code>false</code> if no tile is damaged
+		 */
+		private boolean findDamagedTile() {
+			if (damagedTiles == 0)
+				return false;
+			int current = getCurrentVTile() * hTiles + getCurrentHTile();
+			for (int i = 0; i < tileDamage.length; i++) {
+				int index = (current + i) % tileDamage.length;
+				if (tileDamage[index] != null) {
+					setCurrentHTile(index % hTiles);
+					setCurrentVTile(index / hTiles);
+					return true;
+				}
 			}
+			return false;
 		}
 
 		/**
@@ -255,16 +382,21 @@ public class Thumbnail extends Figure implements UpdateListener {
 		 * Starts this updater. This method initializes all the necessary
 		 * resources and puts this {@link Runnable} on the asynch queue. If this
 		 * updater is not active or is already running, this method just
-		 * returns.
+		 * returns. If the thumbnail is dirty, or the source rectangle or the
+		 * size of the thumbnail have changed, all tiles are updated.
+		 * Otherwise, only the damaged tiles are.
 		 */
 		public void start() {
 			if (!isActive() || isRunning())
 				return;
 
 			isRunning = true;
-			setDirty(false);
 
-			resetTileValues();
+			if (isDirty() || tileDamage == null
+					|| !targetSize.equals(imageSize)
+					|| !getSourceRectangle().equals(sourceRectangle))
+				resetTileValues();
+			setDirty(false);
 
 			if (!targetSize.equals(thumbnailImageSize)) {
 				resetThumbnailImage();
@@ -292,8 +424,8 @@ public class Thumbnail extends Figure implements UpdateListener {
 				tileGraphics.setBackgroundColor(color);
 			tileGraphics.setFont(sourceFigure.getFont());
 
-			setScales(targetSize.width / (float) sourceSize.width,
-					targetSize.height / (float) sourceSize.height);
+			setScales(targetSize.width / (float) sourceRectangle.width,
+					targetSize.height / (float) sourceRectangle.height);
 
 			Display.getCurrent().asyncExec(this);
 		}
@@ -498,7 +630,7 @@ public class Thumbnail extends Figure implements UpdateListener {
 				.getHeight()).negate());
 		setScales(targetSize.width / (float) getSourceRectangle().width,
 				targetSize.height / (float) getSourceRectangle().height);
-		if ((isDirty()) && !updater.isRunning())
+		if ((isDirty() || updater.hasDamage()) && !updater.isRunning())
 			updater.start();
 		else if (oldSize != null && !targetSize.equals(oldSize)) {
 			revalidate();
@@ -518,21 +650,72 @@ public class Thumbnail extends Figure implements UpdateListener {
 	}
 
 	/**
+	 * Returns the region of the thumbnail image showing the given dirty region
+	 * of a figure, or <code>null</code> if the figure is not the source figure
+	 * or one of its descendants. The dirty region has been translated to the
+	 * root figure and clipped by the figure and its ancestors. If the figure is
+	 * not fully visible, the dirty region may have been clipped, so the whole
+	 * figure is considered dirty instead.
+	 * 
+	 * @param figure
+	 *            the dirty figure
+	 * @param region
+	 *            the dirty region, in the coordinates of the root figure
+	 * @return the damaged region of the thumbnail image, or <code>null</code>
+	 */
+	private Rectangle getDamagedRegion(IFigure figure, Rectangle region) {
+		Rectangle bounds = figure.getBounds().getCopy();
+		Rectangle visible = bounds.getCopy();
+		Rectangle rect = figure == getSource() ? bounds.getCopy() : null;
+		IFigure walker = figure.getParent();
+		while (walker != null) {
+			walker.translateToParent(bounds);
+			walker.translateToParent(visible);
+			visible.intersect(walker.getBounds());
+			if (walker == getSource())
+				rect = bounds.getCopy();
+			walker = walker.getParent();
+		}
+		if (rect == null)
+			return null;
+		if (visible.equals(bounds)) {
+			rect = region.getCopy();
+			if (getSource().getParent() != null)
+				getSource().getParent().translateToRelative(rect);
+		}
+		Rectangle source = getSourceRectangle();
+		rect.intersect(source);
+		if (rect.isEmpty())
+			return rect;
+		// round outwards, and include the pixels the scaled painting may
+		// bleed into
+		int x1 = (int) Math.floor((rect.x - source.x) * getScaleX()) - 1;
+		int y1 = (int) Math.floor((rect.y - source.y) * getScaleY()) - 1;
+		int x2 = (int) Math.ceil((rect.right() - source.x) * getScaleX()) + 1;
+		int y2 = (int) Math.ceil((rect.bottom() - source.y) * getScaleY()) + 1;
+		return new Rectangle(x1, y1, x2 - x1, y2 - y1);
+	}
+
+	/**
+	 * Maps the dirty regions of the source figure and its descendants onto the
+	 * thumbnail image, so that only the tiles showing them are updated.
+	 * 
 	 * @see org.eclipse.draw2d.UpdateListener#notifyPainting(Rectangle, Map)
 	 */
 	public void notifyPainting(Rectangle damage, Map dirtyRegions) {
-		Iterator dirtyFigures = dirtyRegions.keySet().iterator();
+		boolean changed = false;
+		Iterator dirtyFigures = dirtyRegions.entrySet().iterator();
 		while (dirtyFigures.hasNext()) {
-			IFigure current = (IFigure) dirtyFigures.next();
-			while (current != null) {
-				if (current == getSource()) {
-					setDirty(true);
-					repaint();
-					return;
-				}
-				current = current.getParent();
+			Map.Entry entry = (Map.Entry) dirtyFigures.next();
+			Rectangle region = getDamagedRegion((IFigure) entry.getKey(),
+					(Rectangle) entry.getValue());
+			if (region != null) {
+				updater.addDamage(region);
+				changed = true;
 			}
 		}
+		if (changed)
+			repaint();
 	}
 
 	/**
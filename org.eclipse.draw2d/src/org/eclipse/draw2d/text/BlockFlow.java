@@ -227,12 +227,20 @@ public class BlockFlow extends FlowFigure {
 
 	/**
 	 * A Block will invalidate the Bidi state of all its children, so that it is
-	 * re-evaluated when this block is next validated.
+	 * re-evaluated when this block is next validated. If the origin is a child
+	 * {@link TextFlow} whose text has changed, only the lines affected by the
+	 * change are laid out again.
 	 * 
 	 * @see org.eclipse.draw2d.text.FlowFigure#revalidateBidi(org.eclipse.draw2d.IFigure)
 	 */
 	protected void revalidateBidi(IFigure origin) {
-		if (bidiValid) {
+		if (origin instanceof TextFlow && origin.getParent() == this) {
+			bidiValid = false;
+			((BlockFlowLayout) getLayoutManager())
+					.textChanged((TextFlow) origin);
+			// Bypasses blockContentsChanged(), which lays out every child
+			super.revalidate();
+		} else if (bidiValid) {
 			bidiValid = false;
 			revalidate();
 		}
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.draw2d.text;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.swt.SWT;
@@ -33,6 +34,10 @@ public class BlockFlowLayout extends FlowContainerLayout {
 	boolean blockInvalid = false;
 	private boolean continueOnSameLine = false;
 	private CompositeBox previousLine = null;
+	// the lines and blocks added during the last layout, in order
+	private List lines = new ArrayList();
+	private List previousLines;
+	private TextFlow changedFlow;
 
 	/**
 	 * Creates a new BlockFlowLayout with the given BlockFlow.
@@ -84,6 +89,7 @@ public class BlockFlowLayout extends FlowContainerLayout {
 		}
 		blockBox.add(line);
 		previousLine = line;
+		lines.add(line);
 	}
 
 	/**
@@ -118,6 +124,8 @@ public class BlockFlowLayout extends FlowContainerLayout {
 	protected void cleanup() {
 		super.cleanup();
 		previousLine = null;
+		previousLines = null;
+		changedFlow = null;
 	}
 
 	/**
@@ -133,7 +141,8 @@ public class BlockFlowLayout extends FlowContainerLayout {
 	 * to the current line and then ends the line.
 	 */
 	protected void endBlock() {
-		if (blockInvalid) {
+		boolean linesInvalid = isLinesInvalid();
+		if (linesInvalid) {
 			Insets insets = getBlockFlow().getInsets();
 			blockBox.height += insets.getHeight();
 			blockBox.width += insets.getWidth();
@@ -142,7 +151,7 @@ public class BlockFlowLayout extends FlowContainerLayout {
 		if (getContext() != null)
 			getContext().addLine(blockBox);
 
-		if (blockInvalid) {
+		if (linesInvalid) {
 			blockInvalid = false;
 			List v = getFlowFigure().getChildren();
 			for (int i = 0; i < v.size(); i++)
@@ -207,6 +216,83 @@ public class BlockFlowLayout extends FlowContainerLayout {
 				return;
 	}
 
+	private boolean isLinesInvalid() {
+		return blockInvalid || changedFlow != null;
+	}
+
+	/**
+	 * Lays out again the changed text flow from the line preceding the first
+	 * changed line, reusing the lines before it. As soon as the line breaks
+	 * resynchronize with the previous layout, either within the text flow or
+	 * at a following block, the remaining lines are reused and moved below the
+	 * new ones.
+	 * 
+	 * @return <code>false</code> if the previous layout cannot be reused
+	 */
+	private boolean layoutChangedText() {
+		TextFlow flow = changedFlow;
+		// Subclasses of the layout may wrap the text differently
+		if (flow.getLayoutManager().getClass() != ParagraphTextLayout.class
+				|| flow.getBorder() != null || flow.getBidiInfo() != null)
+			return false;
+		List children = getFlowFigure().getChildren();
+		for (int i = 0; i < children.size(); i++)
+			if (!((Figure) children.get(i)).isValid())
+				return false;
+
+		ParagraphTextLayout layout = (ParagraphTextLayout) flow
+				.getLayoutManager();
+		int index = layout.getRestartFragment();
+		if (index == -1)
+			return false;
+		FlowBox fragment = (FlowBox) flow.getFragments().get(index);
+		int restartLine = previousLines.indexOf(fragment.getLineRoot());
+		// The lines before must not depend on the text being wrapped again
+		if (restartLine == -1
+				|| fragment.getLineRoot().getFragments().get(0) != fragment
+				|| (index == 0 && restartLine > 0))
+			return false;
+
+		for (int i = 0; i < restartLine; i++)
+			addBelowPreviousLine((CompositeBox) previousLines.get(i));
+		fragment = layout.layoutFrom(index);
+		int resyncLine = -1;
+		if (fragment != null)
+			resyncLine = previousLines.indexOf(fragment.getLineRoot());
+		for (int i = children.indexOf(flow) + 1; i < children.size()
+				&& resyncLine == -1; i++) {
+			Figure f = (Figure) children.get(i);
+			// A block is laid out the same way wherever it starts
+			if (f instanceof BlockFlow)
+				resyncLine = previousLines.indexOf(((BlockFlow) f)
+						.getBlockBox());
+			if (resyncLine == -1) {
+				f.invalidate();
+				f.validate();
+			}
+		}
+		if (resyncLine != -1) {
+			endLine();
+			for (int i = resyncLine; i < previousLines.size(); i++)
+				addBelowPreviousLine((CompositeBox) previousLines.get(i));
+		}
+		return true;
+	}
+
+	/**
+	 * Lays out only the lines affected by a change of text, if possible.
+	 * 
+	 * @see FlowContainerLayout#layoutChildren()
+	 */
+	protected void layoutChildren() {
+		if (changedFlow != null && !blockInvalid) {
+			if (layoutChangedText())
+				return;
+			blockInvalid = true;
+		}
+		super.layoutChildren();
+	}
+
 	/**
 	 * @see FlowContainerLayout#preLayout()
 	 */
@@ -214,6 +300,10 @@ public class BlockFlowLayout extends FlowContainerLayout {
 		setContinueOnSameLine(false);
 		blockBox = getBlockFlow().getBlockBox();
 		setupBlock();
+		if (isLinesInvalid()) {
+			previousLines = lines;
+			lines = new ArrayList();
+		}
 		// Probably could setup current and previous line here, or just previous
 	}
 
@@ -243,10 +333,24 @@ public class BlockFlowLayout extends FlowContainerLayout {
 			blockBox.setRecommendedWidth(recommended);
 		}
 
-		if (blockInvalid) {
+		if (isLinesInvalid()) {
 			blockBox.height = 0;
 			blockBox.setWidth(Math.max(0, recommended));
 		}
 	}
 
+	/**
+	 * Records that the text of the given child has changed. Unless the block's
+	 * contents have changed as well, only the lines affected by the change
+	 * will be laid out again.
+	 * 
+	 * @param flow
+	 *            the child whose text has changed
+	 */
+	void textChanged(TextFlow flow) {
+		if (changedFlow != null && changedFlow != flow)
+			blockInvalid = true;
+		changedFlow = flow;
+	}
+
 }
\ No newline at end of file
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.draw2d.text;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.swt.graphics.Font;
@@ -43,6 +44,14 @@ public class ParagraphTextLayout extends TextLayout {
 
 	private int wrappingStyle = WORD_WRAP_HARD;
 
+	// The length of the text at the start and at the end which have not
+	// changed since the last layout. The prefix is -1 if the text has not
+	// changed.
+	private int unchangedPrefix = -1;
+	private int unchangedSuffix;
+	// The change in the length of the text since the last layout
+	private int lengthChange;
+
 	/**
 	 * Constructs a new ParagraphTextLayout on the specified TextFlow.
 	 * 
@@ -141,10 +150,52 @@ public class ParagraphTextLayout extends TextLayout {
 		}
 	}
 
+	/**
+	 * Returns the index of the fragment from which the text must be wrapped
+	 * again after it has changed. It is the first fragment of the line
+	 * preceding the first changed line, since a deletion may allow the words
+	 * of the changed line to move up. Returns <code>-1</code> if the text has
+	 * not changed, or if the previous layout cannot be reused.
+	 * 
+	 * @return the index of the fragment or <code>-1</code>
+	 * @since 3.11
+	 */
+	int getRestartFragment() {
+		List fragments = ((TextFlow) getFlowFigure()).getFragments();
+		if (unchangedPrefix == -1 || fragments.isEmpty()
+				|| ((TextFragmentBox) fragments.get(0)).getBidiLevel() != -1)
+			return -1;
+		int index = 0;
+		TextFragmentBox fragment = (TextFragmentBox) fragments.get(0);
+		while (index < fragments.size() - 1
+				&& fragment.offset + fragment.length < unchangedPrefix)
+			fragment = (TextFragmentBox) fragments.get(++index);
+		index = getLineStart(fragments, index);
+		if (index > 0)
+			index = getLineStart(fragments, index - 1);
+		return index;
+	}
+
+	private int getLineStart(List fragments, int index) {
+		LineRoot line = ((TextFragmentBox) fragments.get(index)).getLineRoot();
+		while (index > 0) {
+			FlowBox previous = (FlowBox) fragments.get(index - 1);
+			if (previous.getLineRoot() != line)
+				break;
+			index--;
+		}
+		return index;
+	}
+
+	private boolean isLineStart(TextFragmentBox fragment) {
+		return fragment.getLineRoot().getFragments().get(0) == fragment;
+	}
+
 	/**
 	 * @see org.eclipse.draw2d.text.FlowFigureLayout#layout()
 	 */
 	protected void layout() {
+		resetChanges();
 		TextFlow textFlow = (TextFlow) getFlowFigure();
 		int offset = 0;
 
@@ -217,4 +268,120 @@ public class ParagraphTextLayout extends TextLayout {
 			fragments.remove(fragments.size() - 1);
 	}
 
+	/**
+	 * Wraps the text again from the given fragment, which must start a line,
+	 * after the text has changed. The fragments before it, and the lines they
+	 * are on, are kept. Wrapping stops as soon as a line starts past the
+	 * changed text at the same place as a line of the previous layout: the
+	 * remaining fragments of the previous layout are then reused, and the
+	 * caller is expected to reuse the lines they are on.
+	 * <P>
+	 * Only text without a border or Bidi levels can be wrapped this way.
+	 * 
+	 * @param index
+	 *            the index of the first fragment to wrap again, as returned by
+	 *            {@link #getRestartFragment()}
+	 * @return the first fragment reused from the previous layout, or
+	 *         <code>null</code> if the text was wrapped to its end
+	 * @since 3.11
+	 */
+	TextFragmentBox layoutFrom(int index) {
+		TextFlow textFlow = (TextFlow) getFlowFigure();
+		FlowContext context = getContext();
+		List fragments = textFlow.getFragments();
+		List reused = fragments.subList(index, fragments.size());
+		List previous = new ArrayList(reused);
+		reused.clear();
+
+		int offset = ((TextFragmentBox) previous.get(0)).offset;
+		int resyncOffset = textFlow.getText().length() - unchangedSuffix;
+		int shift = lengthChange;
+		resetChanges();
+
+		String segment = textFlow.getText().substring(offset);
+		SegmentLookahead lookahead = new SegmentLookahead(
+				new String[] { segment }, 0);
+		lookahead.setIndex(0);
+		FlowUtilities flowUtilities = textFlow.getFlowUtilities();
+		Font font = textFlow.getFont();
+		TextFragmentBox fragment;
+		int advance, previousIndex = 0;
+		boolean lineStart = true;
+
+		do {
+			if (lineStart && offset >= resyncOffset) {
+				// The rest of the text is unchanged, so a line starting at
+				// the same place as before wraps the same way.
+				fragment = null;
+				while (previousIndex < previous.size()) {
+					fragment = (TextFragmentBox) previous.get(previousIndex);
+					if (fragment.offset >= offset - shift)
+						break;
+					previousIndex++;
+				}
+				if (previousIndex < previous.size()) {
+					if (fragment.offset == offset - shift
+							&& isLineStart(fragment)) {
+						reused = previous.subList(previousIndex,
+								previous.size());
+						for (int i = 0; i < reused.size(); i++)
+							((TextFragmentBox) reused.get(i)).offset += shift;
+						fragments.addAll(reused);
+						return fragment;
+					}
+				}
+			}
+			fragment = getFragment(fragments.size(), fragments);
+			fragment.offset = offset;
+			fragment.setBidiLevel(-1);
+
+			advance = flowUtilities.wrapFragmentInContext(fragment, segment,
+					context, lookahead, font, wrappingStyle);
+			segment = segment.substring(advance);
+			offset += advance;
+			lineStart = segment.length() > 0 || fragment.length < advance
+					|| fragment.isTruncated();
+			if (lineStart)
+				context.endLine();
+		} while (segment.length() > 0
+				|| (!fragment.isTruncated() && fragment.length < advance));
+		return null;
+	}
+
+	private void resetChanges() {
+		unchangedPrefix = -1;
+		unchangedSuffix = 0;
+		lengthChange = 0;
+	}
+
+	/**
+	 * Records a change of the text since the last layout, so that the next
+	 * layout can wrap only the lines affected by the change.
+	 * 
+	 * @param oldText
+	 *            the previous text
+	 * @param newText
+	 *            the new text
+	 * @since 3.11
+	 */
+	void textChanged(String oldText, String newText) {
+		int prefix = 0, max = Math.min(oldText.length(), newText.length());
+		while (prefix < max && oldText.charAt(prefix) == newText.charAt(prefix))
+			prefix++;
+		int suffix = 0;
+		max -= prefix;
+		while (suffix < max
+				&& oldText.charAt(oldText.length() - suffix - 1) == newText
+						.charAt(newText.length() - suffix - 1))
+			suffix++;
+		if (unchangedPrefix == -1) {
+			unchangedPrefix = prefix;
+			unchangedSuffix = suffix;
+		} else {
+			unchangedPrefix = Math.min(unchangedPrefix, prefix);
+			unchangedSuffix = Math.min(unchangedSuffix, suffix);
+		}
+		lengthChange += newText.length() - oldText.length();
+	}
+
 }
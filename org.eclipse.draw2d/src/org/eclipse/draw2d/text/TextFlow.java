@@ -18,6 +18,7 @@ import org.eclipse.swt.graphics.TextLayout;
 
 import org.eclipse.draw2d.ColorConstants;
 import org.eclipse.draw2d.Graphics;
+import org.eclipse.draw2d.LevelOfDetail;
 import org.eclipse.draw2d.TextUtilities;
 import org.eclipse.draw2d.geometry.Dimension;
 import org.eclipse.draw2d.geometry.Point;
@@ -549,6 +550,7 @@ public class TextFlow extends InlineFlow {
 		g.getClip(Rectangle.SINGLETON);
 		int yStart = Rectangle.SINGLETON.y;
 		int yEnd = Rectangle.SINGLETON.bottom();
+		boolean showText = LevelOfDetail.isShown(g, LevelOfDetail.TEXT);
 
 		for (int i = 0; i < fragments.size(); i++) {
 			frag = (TextFragmentBox) fragments.get(i);
@@ -569,6 +571,13 @@ public class TextFlow extends InlineFlow {
 			if (yEnd < frag.getLineRoot().getVisibleTop())
 				break;
 
+			if (!showText) {
+				LevelOfDetail.paintTextBar(g, frag.getX(), frag.getBaseline()
+						- getAscent(), frag.getWidth(), getAscent()
+						+ getDescent());
+				continue;
+			}
+
 			String draw = getBidiSubstring(frag, i);
 
 			if (frag.isTruncated())
@@ -683,6 +692,8 @@ public class TextFlow extends InlineFlow {
 	 */
 	public void setText(String s) {
 		if (s != null && !s.equals(text)) {
+			if (getLayoutManager() instanceof ParagraphTextLayout)
+				((ParagraphTextLayout) getLayoutManager()).textChanged(text, s);
 			text = s;
 			revalidateBidi(this);
 			repaint();
@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.gef.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.draw2d.graph.CompoundDirectedGraphLayout;
+import org.eclipse.draw2d.graph.DirectedGraph;
+import org.eclipse.draw2d.graph.DirectedGraphLayout;
+import org.eclipse.draw2d.graph.Edge;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link DirectedGraphLayout} and {@link CompoundDirectedGraphLayout}
+ * on generated graphs, and the incremental layout of a graph after one edge
+ * has been added. Since a layout changes its graph, a new graph is generated
+ * before every invocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class DirectedGraphLayoutBenchmark {
+
+	@Param({ "100", "1000" })
+	public int nodes;
+
+	@Param({ "0.5" })
+	public double extraEdges;
+
+	private DirectedGraph graph;
+	private DirectedGraph compoundGraph;
+	private DirectedGraph previous;
+	private DirectedGraph editedGraph;
+
+	@Setup(Level.Trial)
+	public void layoutPrevious() {
+		previous = GraphGenerator.createGraph(nodes, extraEdges, 1);
+		new DirectedGraphLayout().visit(previous);
+	}
+
+	@Setup(Level.Invocation)
+	public void createGraphs() {
+		graph = GraphGenerator.createGraph(nodes, extraEdges, 1);
+		compoundGraph = GraphGenerator.createCompoundGraph(nodes, extraEdges,
+				1);
+		editedGraph = GraphGenerator.createGraph(nodes, extraEdges, 1);
+		editedGraph.edges.add(new Edge(editedGraph.nodes.getNode(0),
+				editedGraph.nodes.getNode(nodes - 1)));
+	}
+
+	@Benchmark
+	public DirectedGraph layout() {
+		new DirectedGraphLayout().visit(graph);
+		return graph;
+	}
+
+	@Benchmark
+	public DirectedGraph incrementalLayout() {
+		new DirectedGraphLayout().visit(editedGraph, previous);
+		return editedGraph;
+	}
+
+	@Benchmark
+	public DirectedGraph compoundLayout() {
+		new CompoundDirectedGraphLayout().visit(compoundGraph);
+		return compoundGraph;
+	}
+
+}
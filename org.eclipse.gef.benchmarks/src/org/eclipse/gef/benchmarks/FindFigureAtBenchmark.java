@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.gef.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.draw2d.Figure;
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link IFigure#findFigureAt(int, int)} on a figure with many
+ * children laid out in a grid, each of which has a few children of its own,
+ * with and without the spatial index of the children.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class FindFigureAtBenchmark {
+
+	private static final int CELL = 40;
+	private static final int POINTS = 1024;
+
+	@Param({ "1000", "10000" })
+	public int children;
+
+	@Param({ "false", "true" })
+	public boolean spatialIndex;
+
+	private Figure root;
+	private int[] xs = new int[POINTS];
+	private int[] ys = new int[POINTS];
+	private int next;
+
+	@Setup
+	public void createFigures() {
+		int columns = (int) Math.ceil(Math.sqrt(children));
+		root = new Figure();
+		root.setBounds(new Rectangle(0, 0, columns * CELL, columns * CELL));
+		root.setSpatialIndexEnabled(spatialIndex);
+		for (int i = 0; i < children; i++) {
+			IFigure child = new Figure();
+			int x = i % columns * CELL, y = i / columns * CELL;
+			child.setBounds(new Rectangle(x, y, CELL - 4, CELL - 4));
+			for (int j = 0; j < 4; j++) {
+				IFigure grandChild = new Figure();
+				grandChild.setBounds(new Rectangle(x + j % 2 * 18, y + j / 2
+						* 18, 16, 16));
+				child.add(grandChild);
+			}
+			root.add(child);
+		}
+		Random random = new Random(1);
+		for (int i = 0; i < POINTS; i++) {
+			xs[i] = random.nextInt(columns * CELL);
+			ys[i] = random.nextInt(columns * CELL);
+		}
+	}
+
+	@Benchmark
+	public IFigure findFigureAt() {
+		next = (next + 1) % POINTS;
+		return root.findFigureAt(xs[next], ys[next]);
+	}
+
+}
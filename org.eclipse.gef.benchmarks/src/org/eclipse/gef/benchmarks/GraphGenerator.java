@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.gef.benchmarks;
+
+import java.util.Random;
+
+import org.eclipse.draw2d.graph.CompoundDirectedGraph;
+import org.eclipse.draw2d.graph.DirectedGraph;
+import org.eclipse.draw2d.graph.Edge;
+import org.eclipse.draw2d.graph.Node;
+import org.eclipse.draw2d.graph.Subgraph;
+
+/**
+ * Generates reproducible random graphs for the layout benchmarks.
+ */
+final class GraphGenerator {
+
+	/**
+	 * The number of nodes in each subgraph of a compound graph.
+	 */
+	static final int SUBGRAPH_SIZE = 10;
+
+	private GraphGenerator() {
+	}
+
+	/**
+	 * Creates an acyclic graph in which every node but the first has an edge
+	 * from a random earlier node, plus <code>extraEdges</code> further edges
+	 * per node.
+	 */
+	static DirectedGraph createGraph(int nodeCount, double extraEdges,
+			long seed) {
+		DirectedGraph graph = new DirectedGraph();
+		Node[] nodes = new Node[nodeCount];
+		for (int i = 0; i < nodeCount; i++) {
+			nodes[i] = new Node("n" + i);
+			graph.nodes.add(nodes[i]);
+		}
+		addEdges(graph, nodes, extraEdges, seed);
+		return graph;
+	}
+
+	/**
+	 * Creates a graph like {@link #createGraph(int, double, long)} whose nodes
+	 * are grouped into subgraphs of {@link #SUBGRAPH_SIZE} nodes.
+	 */
+	static CompoundDirectedGraph createCompoundGraph(int nodeCount,
+			double extraEdges, long seed) {
+		CompoundDirectedGraph graph = new CompoundDirectedGraph();
+		Node[] nodes = new Node[nodeCount];
+		Subgraph subgraph = null;
+		for (int i = 0; i < nodeCount; i++) {
+			if (i % SUBGRAPH_SIZE == 0) {
+				subgraph = new Subgraph("s" + i / SUBGRAPH_SIZE);
+				graph.nodes.add(subgraph);
+			}
+			nodes[i] = new Node("n" + i, subgraph);
+			graph.nodes.add(nodes[i]);
+		}
+		addEdges(graph, nodes, extraEdges, seed);
+		return graph;
+	}
+
+	private static void addEdges(DirectedGraph graph, Node[] nodes,
+			double extraEdges, long seed) {
+		Random random = new Random(seed);
+		for (int i = 1; i < nodes.length; i++)
+			graph.edges.add(new Edge(nodes[random.nextInt(i)], nodes[i]));
+		int count = (int) (nodes.length * extraEdges);
+		for (int i = 0; i < count; i++) {
+			int a = random.nextInt(nodes.length);
+			int b = random.nextInt(nodes.length);
+			if (a == b)
+				continue;
+			graph.edges.add(new Edge(nodes[Math.min(a, b)], nodes[Math.max(a,
+					b)]));
+		}
+	}
+
+}
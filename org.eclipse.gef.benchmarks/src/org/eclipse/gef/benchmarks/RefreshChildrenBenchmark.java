@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.gef.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.draw2d.Figure;
+import org.eclipse.draw2d.FreeformLayer;
+import org.eclipse.draw2d.FreeformLayout;
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.RectangleFigure;
+import org.eclipse.gef.EditPart;
+import org.eclipse.gef.EditPartFactory;
+import org.eclipse.gef.editparts.AbstractGraphicalEditPart;
+import org.eclipse.gef.editparts.FreeformGraphicalRootEditPart;
+import org.eclipse.gef.ui.parts.ScrollingGraphicalViewer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures <code>AbstractEditPart.refreshChildren()</code> of an edit part
+ * with many children after one model child has been moved from the front to
+ * the end of the model children, and after one has been replaced.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class RefreshChildrenBenchmark {
+
+	@Param({ "100", "1000" })
+	public int children;
+
+	private List model;
+	private EditPart contents;
+	private int created;
+
+	static class ContentsPart extends AbstractGraphicalEditPart {
+		protected IFigure createFigure() {
+			Figure figure = new FreeformLayer();
+			figure.setLayoutManager(new FreeformLayout());
+			return figure;
+		}
+
+		protected void createEditPolicies() {
+		}
+
+		protected List getModelChildren() {
+			return (List) getModel();
+		}
+	}
+
+	static class ChildPart extends AbstractGraphicalEditPart {
+		protected IFigure createFigure() {
+			return new RectangleFigure();
+		}
+
+		protected void createEditPolicies() {
+		}
+	}
+
+	@Setup
+	public void createViewer() {
+		model = new ArrayList();
+		for (int i = 0; i < children; i++)
+			model.add(new Integer(created++));
+		ScrollingGraphicalViewer viewer = new ScrollingGraphicalViewer();
+		viewer.setRootEditPart(new FreeformGraphicalRootEditPart());
+		viewer.setEditPartFactory(new EditPartFactory() {
+			public EditPart createEditPart(EditPart context, Object object) {
+				EditPart part = object instanceof List ? (EditPart) new ContentsPart()
+						: new ChildPart();
+				part.setModel(object);
+				return part;
+			}
+		});
+		viewer.setContents(model);
+		contents = viewer.getContents();
+	}
+
+	@Benchmark
+	public EditPart moveChild() {
+		model.add(model.remove(0));
+		contents.refresh();
+		return contents;
+	}
+
+	@Benchmark
+	public EditPart replaceChild() {
+		model.set(created % children, new Integer(created++));
+		contents.refresh();
+		return contents;
+	}
+
+}
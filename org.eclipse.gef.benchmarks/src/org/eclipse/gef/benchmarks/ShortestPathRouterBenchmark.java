@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.gef.benchmarks;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.draw2d.geometry.Point;
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.eclipse.draw2d.graph.Path;
+import org.eclipse.draw2d.graph.ShortestPathRouter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link ShortestPathRouter#solve()} for paths between random
+ * obstacles of a grid. Since a solved router only routes changed paths again,
+ * a new router is set up before every invocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ShortestPathRouterBenchmark {
+
+	private static final int CELL = 100, SIZE = 60;
+
+	@Param({ "25", "100" })
+	public int obstacles;
+
+	@Param({ "50" })
+	public int paths;
+
+	private ShortestPathRouter router;
+
+	@Setup(Level.Invocation)
+	public void createRouter() {
+		router = new ShortestPathRouter();
+		int columns = (int) Math.ceil(Math.sqrt(obstacles));
+		Rectangle[] bounds = new Rectangle[obstacles];
+		for (int i = 0; i < obstacles; i++) {
+			bounds[i] = new Rectangle(i % columns * CELL, i / columns * CELL,
+					SIZE, SIZE);
+			router.addObstacle(bounds[i]);
+		}
+		Random random = new Random(1);
+		for (int i = 0; i < paths; i++) {
+			Rectangle source = bounds[random.nextInt(obstacles)];
+			Rectangle target = bounds[random.nextInt(obstacles)];
+			router.addPath(new Path(new Point(source.right(), source.y
+					+ SIZE / 2), new Point(target.x, target.y + SIZE / 2)));
+		}
+	}
+
+	@Benchmark
+	public List solve() {
+		return router.solve();
+	}
+
+}
@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.gef.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.zest.layouts.InvalidLayoutConfiguration;
+import org.eclipse.zest.layouts.LayoutEntity;
+import org.eclipse.zest.layouts.LayoutRelationship;
+import org.eclipse.zest.layouts.LayoutStyles;
+import org.eclipse.zest.layouts.algorithms.SpringLayoutAlgorithm;
+import org.eclipse.zest.layouts.exampleStructures.SimpleNode;
+import org.eclipse.zest.layouts.exampleStructures.SimpleRelationship;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a synchronous {@link SpringLayoutAlgorithm} run on a random sparse
+ * graph, with the exact and the Barnes-Hut approximated repulsion.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SpringLayoutBenchmark {
+
+	@Param({ "100", "500" })
+	public int nodes;
+
+	@Param({ "0", "0.8" })
+	public double theta;
+
+	private SimpleNode[] entities;
+	private SimpleRelationship[] relationships;
+	private SpringLayoutAlgorithm algorithm;
+
+	@Setup
+	public void createGraph() {
+		Random random = new Random(1);
+		entities = new SimpleNode[nodes];
+		for (int i = 0; i < nodes; i++)
+			entities[i] = new SimpleNode("n" + i, 0, 0, 20, 20);
+		relationships = new SimpleRelationship[2 * (nodes - 1)];
+		for (int i = 1; i < nodes; i++) {
+			relationships[2 * i - 2] = new SimpleRelationship(
+					entities[random.nextInt(i)], entities[i], false);
+			relationships[2 * i - 1] = new SimpleRelationship(
+					entities[random.nextInt(nodes)], entities[i], false);
+		}
+		algorithm = new SpringLayoutAlgorithm(
+				LayoutStyles.NO_LAYOUT_NODE_RESIZING);
+		algorithm.setRandomSeed(1);
+		algorithm.setBarnesHutTheta(theta);
+	}
+
+	@Benchmark
+	public LayoutEntity[] layout() throws InvalidLayoutConfiguration {
+		algorithm.applyLayout((LayoutEntity[]) entities,
+				(LayoutRelationship[]) relationships, 0, 0, 1000, 1000, false,
+				false);
+		return entities;
+	}
+
+}
@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.gef.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.eclipse.draw2d.text.FlowPage;
+import org.eclipse.draw2d.text.TextFlow;
+import org.eclipse.swt.widgets.Display;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures wrapping a {@link TextFlow} to a new width. Every invocation
+ * alternates between two widths, so that all lines are wrapped again. Needs a
+ * display for the font metrics; run it on a virtual X server when no real one
+ * is available.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class TextFlowBenchmark {
+
+	private static final String SENTENCE = "The quick brown fox jumps over the lazy dog. ";
+
+	@Param({ "100", "1000" })
+	public int sentences;
+
+	private Display display;
+	private FlowPage page;
+	private boolean narrow;
+
+	@Setup
+	public void createFlow() {
+		display = Display.getDefault();
+		StringBuffer text = new StringBuffer();
+		for (int i = 0; i < sentences; i++)
+			text.append(SENTENCE);
+		page = new FlowPage();
+		page.setFont(display.getSystemFont());
+		page.add(new TextFlow(text.toString()));
+	}
+
+	@Benchmark
+	public FlowPage wrap() {
+		narrow = !narrow;
+		page.setBounds(new Rectangle(0, 0, narrow ? 300 : 500, 100000));
+		page.validate();
+		return page;
+	}
+
+	@TearDown
+	public void disposeDisplay() {
+		display.dispose();
+	}
+
+}
@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.gef.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.draw2d.BufferedGraphicsSource;
+import org.eclipse.draw2d.ColorConstants;
+import org.eclipse.draw2d.DeferredUpdateManager;
+import org.eclipse.draw2d.Figure;
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.LightweightSystem;
+import org.eclipse.draw2d.RectangleFigure;
+import org.eclipse.draw2d.UpdateManager;
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Canvas;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link UpdateManager#performUpdate()} of the default
+ * <code>DeferredUpdateManager</code> after a number of figures scattered over
+ * the canvas have been repainted. The canvas is not natively double-buffered,
+ * so the damage is painted through a {@link BufferedGraphicsSource}, either as
+ * the union of all damage or as several separate regions. Needs a display; run
+ * it on a virtual X server when no real one is available.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class UpdateManagerBenchmark {
+
+	private static final int WIDTH = 1024, HEIGHT = 768, CELL = 32;
+
+	@Param({ "1", "50" })
+	public int damagedFigures;
+
+	@Param({ "1", "8" })
+	public int damageRegions;
+
+	private Display display;
+	private Shell shell;
+	private UpdateManager updateManager;
+	private IFigure[] figures;
+	private Random random = new Random(1);
+
+	@Setup
+	public void createShell() {
+		display = Display.getDefault();
+		shell = new Shell(display);
+		shell.setSize(WIDTH, HEIGHT);
+		Canvas canvas = new Canvas(shell, SWT.NO_BACKGROUND);
+		canvas.setBounds(0, 0, WIDTH, HEIGHT);
+		LightweightSystem lws = new LightweightSystem(canvas);
+		IFigure contents = new Figure();
+		contents.setOpaque(true);
+		contents.setBackgroundColor(ColorConstants.white);
+		int columns = WIDTH / CELL, rows = HEIGHT / CELL;
+		figures = new IFigure[columns * rows];
+		for (int i = 0; i < figures.length; i++) {
+			figures[i] = new RectangleFigure();
+			figures[i].setBackgroundColor(ColorConstants.lightBlue);
+			figures[i].setBounds(new Rectangle(i % columns * CELL, i / columns
+					* CELL, CELL - 2, CELL - 2));
+			contents.add(figures[i]);
+		}
+		lws.setContents(contents);
+		if (!(lws.getGraphicsSource() instanceof BufferedGraphicsSource))
+			throw new IllegalStateException();
+		shell.open();
+		updateManager = lws.getUpdateManager();
+		((DeferredUpdateManager) updateManager)
+				.setMaximumDamageRegions(damageRegions);
+		updateManager.performUpdate();
+	}
+
+	@Benchmark
+	public void performUpdate() {
+		for (int i = 0; i < damagedFigures; i++)
+			figures[random.nextInt(figures.length)].repaint();
+		updateManager.performUpdate();
+	}
+
+	@TearDown
+	public void disposeShell() {
+		shell.dispose();
+		display.dispose();
+	}
+
+}
@@ -135,6 +135,15 @@ public class LogicResizableEditPolicy extends ResizableEditPolicy {
 		return getHostFigure().getBounds();
 	}
 
+	/**
+	 * Keeps the custom feedback figures for large selections as well.
+	 * 
+	 * @see org.eclipse.gef.editpolicies.NonResizableEditPolicy#isSharedFeedbackSupported()
+	 */
+	protected boolean isSharedFeedbackSupported() {
+		return false;
+	}
+
 	/**
 	 * Overwritten to ensure size constraints are respected.
 	 */
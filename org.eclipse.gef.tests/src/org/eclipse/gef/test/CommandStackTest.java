@@ -1,18 +1,246 @@
 package org.eclipse.gef.test;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EventObject;
 import java.util.List;
 
 import junit.framework.TestCase;
 
 import org.eclipse.gef.commands.Command;
+import org.eclipse.gef.commands.CommandSerializer;
 import org.eclipse.gef.commands.CommandStack;
 import org.eclipse.gef.commands.CommandStackEvent;
 import org.eclipse.gef.commands.CommandStackEventListener;
+import org.eclipse.gef.commands.CommandStackListener;
 import org.junit.Assert;
 
 public class CommandStackTest extends TestCase {
 
+	private static class AddCommand extends Command {
+		final List values;
+		final int value;
+
+		AddCommand(List values, int value) {
+			this.values = values;
+			this.value = value;
+		}
+
+		public void execute() {
+			values.add(new Integer(value));
+		}
+
+		public int getEstimatedSize() {
+			return 100;
+		}
+
+		public void undo() {
+			values.remove(values.size() - 1);
+		}
+	}
+
+	private static class AddCommandSerializer implements CommandSerializer {
+		final List values;
+
+		AddCommandSerializer(List values) {
+			this.values = values;
+		}
+
+		public boolean canSerialize(Command command) {
+			return command instanceof AddCommand;
+		}
+
+		public Command deserialize(InputStream in) throws IOException {
+			return new AddCommand(values, new DataInputStream(in).readInt());
+		}
+
+		public void serialize(Command command, OutputStream out)
+				throws IOException {
+			new DataOutputStream(out).writeInt(((AddCommand) command).value);
+		}
+	}
+
+	private static class MergeableAddCommand extends AddCommand {
+		MergeableAddCommand(List values, int value) {
+			super(values, value);
+		}
+
+		public boolean canMergeWith(Command previous, long elapsed) {
+			return true;
+		}
+	}
+
+	private static class MoveCommand extends Command {
+		final int distance;
+
+		MoveCommand(int distance) {
+			super("Move " + distance); //$NON-NLS-1$
+			this.distance = distance;
+		}
+
+		public boolean canMergeWith(Command previous, long elapsed) {
+			return previous instanceof MoveCommand;
+		}
+
+		public Command mergeWith(Command previous) {
+			return new MoveCommand(((MoveCommand) previous).distance + distance);
+		}
+	}
+
+	public void testMergeCommands() {
+		List values = new ArrayList();
+		final int[] stackChanges = new int[1];
+		CommandStack stack = new CommandStack();
+		stack.addCommandStackListener(new CommandStackListener() {
+			public void commandStackChanged(EventObject event) {
+				stackChanges[0]++;
+			}
+		});
+		stack.execute(new MergeableAddCommand(values, 1));
+		stack.markSaveLocation();
+		// not merged across the save location
+		stack.execute(new MergeableAddCommand(values, 2));
+		stack.execute(new MergeableAddCommand(values, 3));
+		stack.execute(new MergeableAddCommand(values, 4));
+		Assert.assertEquals(2, stack.getCommands().length);
+		Assert.assertEquals(4, values.size());
+		Assert.assertEquals(5, stackChanges[0]);
+
+		stack.undo();
+		Assert.assertEquals(1, values.size());
+		Assert.assertFalse(stack.isDirty());
+		stack.redo();
+		Assert.assertEquals(4, values.size());
+		// not merged with a redone command
+		stack.execute(new MergeableAddCommand(values, 5));
+		Assert.assertEquals(3, stack.getCommands().length);
+	}
+
+	public void testMergeRefreshesUndoLabel() {
+		final CommandStack stack = new CommandStack();
+		final List labels = new ArrayList();
+		final List details = new ArrayList();
+		stack.addCommandStackListener(new CommandStackListener() {
+			public void commandStackChanged(EventObject event) {
+				// as an undo action refreshes its label
+				labels.add(stack.getUndoCommand().getLabel());
+			}
+		});
+		stack.addCommandStackEventListener(new CommandStackEventListener() {
+			public void stackChanged(CommandStackEvent event) {
+				details.add(new Integer(event.getDetail()));
+			}
+		});
+		stack.execute(new MoveCommand(1));
+		stack.execute(new MoveCommand(2));
+		stack.execute(new MoveCommand(3));
+		Assert.assertEquals(1, stack.getCommands().length);
+		Assert.assertEquals("Move 6", stack.getUndoCommand().getLabel()); //$NON-NLS-1$
+		Assert.assertEquals(3, labels.size());
+		Assert.assertEquals("Move 6", labels.get(2)); //$NON-NLS-1$
+		Integer pre = new Integer(CommandStack.PRE_EXECUTE);
+		Integer post = new Integer(CommandStack.POST_EXECUTE);
+		Assert.assertEquals(
+				Arrays.asList(new Integer[] { pre, post, pre, post, pre, post }),
+				details);
+	}
+
+	public void testMemoryLimitDiscardsOldestCommands() {
+		List values = new ArrayList();
+		CommandStack stack = new CommandStack();
+		stack.setMemoryLimit(250);
+		stack.execute(new AddCommand(values, 1));
+		stack.markSaveLocation();
+		for (int i = 2; i <= 5; i++)
+			stack.execute(new AddCommand(values, i));
+		Assert.assertEquals(2, stack.getCommands().length);
+		Assert.assertTrue(stack.isDirty());
+
+		stack.undo();
+		stack.undo();
+		Assert.assertFalse(stack.canUndo());
+		Assert.assertEquals(3, values.size());
+		// the save location has been discarded
+		Assert.assertTrue(stack.isDirty());
+	}
+
+	public void testMemoryLimitSpillsCommands() {
+		List values = new ArrayList();
+		CommandStack stack = new CommandStack();
+		stack.setCommandSerializer(new AddCommandSerializer(values));
+		stack.setMemoryLimit(250);
+		stack.execute(new AddCommand(values, 1));
+		stack.markSaveLocation();
+		for (int i = 2; i <= 5; i++)
+			stack.execute(new AddCommand(values, i));
+		Assert.assertEquals(2, stack.getCommands().length);
+
+		for (int i = 5; i > 1; i--) {
+			Assert.assertTrue(stack.isDirty());
+			Assert.assertTrue(stack.canUndo());
+			stack.undo();
+			Assert.assertEquals(i - 1, values.size());
+		}
+		Assert.assertFalse(stack.isDirty());
+		stack.undo();
+		Assert.assertTrue(values.isEmpty());
+		Assert.assertFalse(stack.canUndo());
+
+		while (stack.canRedo())
+			stack.redo();
+		Assert.assertEquals(5, values.size());
+		Assert.assertEquals(new Integer(5), values.get(4));
+		stack.dispose();
+	}
+
+	public void testUnreadableCommandsDiscarded() {
+		final List values = new ArrayList();
+		final List details = new ArrayList();
+		final int[] stackChanges = new int[1];
+		CommandStack stack = new CommandStack();
+		stack.setCommandSerializer(new AddCommandSerializer(values) {
+			public Command deserialize(InputStream in) throws IOException {
+				throw new IOException();
+			}
+		});
+		stack.setMemoryLimit(250);
+		for (int i = 1; i <= 5; i++)
+			stack.execute(new AddCommand(values, i));
+		stack.addCommandStackEventListener(new CommandStackEventListener() {
+			public void stackChanged(CommandStackEvent event) {
+				details.add(new Integer(event.getDetail()));
+			}
+		});
+		stack.addCommandStackListener(new CommandStackListener() {
+			public void commandStackChanged(EventObject event) {
+				stackChanges[0]++;
+			}
+		});
+
+		stack.undo();
+		Assert.assertFalse(details.contains(new Integer(
+				CommandStack.HISTORY_DISCARDED)));
+		Assert.assertTrue(stack.canUndo());
+		stack.undo();
+		Assert.assertTrue(details.contains(new Integer(
+				CommandStack.HISTORY_DISCARDED)));
+		Assert.assertFalse(stack.canUndo());
+		Assert.assertNull(stack.getUndoCommand());
+		Assert.assertEquals(3, values.size());
+		Assert.assertEquals(3, stackChanges[0]);
+		Assert.assertTrue(stack.isDirty());
+
+		while (stack.canRedo())
+			stack.redo();
+		Assert.assertEquals(5, values.size());
+		stack.dispose();
+	}
+
 	public void testCommandStackEventListenerNotifications() {
 		final List commandStackEvents = new ArrayList();
 
@@ -0,0 +1,212 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.gef.test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.eclipse.draw2d.Figure;
+import org.eclipse.draw2d.FigureCanvas;
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.XYLayout;
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.eclipse.gef.EditPart;
+import org.eclipse.gef.EditPartFactory;
+import org.eclipse.gef.EditPolicy;
+import org.eclipse.gef.GraphicalEditPart;
+import org.eclipse.gef.Handle;
+import org.eclipse.gef.LayerConstants;
+import org.eclipse.gef.editparts.AbstractGraphicalEditPart;
+import org.eclipse.gef.editparts.LayerManager;
+import org.eclipse.gef.editpolicies.ResizableEditPolicy;
+import org.eclipse.gef.ui.parts.ScrollingGraphicalViewer;
+import org.eclipse.jface.viewers.StructuredSelection;
+import org.eclipse.swt.widgets.Shell;
+
+public class DeferredHandlesTest extends TestCase {
+
+	private static final int COUNT = 100;
+
+	private static class Node {
+		int x;
+
+		Node(int x) {
+			this.x = x;
+		}
+	}
+
+	private static class TestPolicy extends ResizableEditPolicy {
+		boolean hasHandles() {
+			return handles != null;
+		}
+	}
+
+	private static class DiagramPart extends AbstractGraphicalEditPart {
+		protected IFigure createFigure() {
+			Figure figure = new Figure();
+			figure.setLayoutManager(new XYLayout());
+			return figure;
+		}
+
+		protected void createEditPolicies() {
+			// do nothing
+		}
+
+		protected List getModelChildren() {
+			return (List) getModel();
+		}
+	}
+
+	private static class NodePart extends AbstractGraphicalEditPart {
+		protected IFigure createFigure() {
+			return new Figure();
+		}
+
+		protected void createEditPolicies() {
+			installEditPolicy(EditPolicy.PRIMARY_DRAG_ROLE, new TestPolicy());
+		}
+
+		protected void refreshVisuals() {
+			((GraphicalEditPart) getParent()).setLayoutConstraint(this,
+					getFigure(), new Rectangle(((Node) getModel()).x, 10, 10,
+							10));
+		}
+	}
+
+	private Shell shell;
+	private ScrollingGraphicalViewer viewer;
+	private List nodes;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		shell = new Shell();
+		viewer = new ScrollingGraphicalViewer();
+		viewer.createControl(shell);
+		viewer.getControl().setSize(200, 200);
+		viewer.setEditPartFactory(new EditPartFactory() {
+			public EditPart createEditPart(EditPart context, Object model) {
+				EditPart part = model instanceof Node ? (EditPart) new NodePart()
+						: new DiagramPart();
+				part.setModel(model);
+				return part;
+			}
+		});
+		nodes = new ArrayList();
+		for (int i = 0; i < COUNT; i++)
+			nodes.add(new Node(i * 20));
+		viewer.setContents(nodes);
+		viewer.flush();
+	}
+
+	protected void tearDown() throws Exception {
+		shell.dispose();
+		super.tearDown();
+	}
+
+	private EditPart getPart(int i) {
+		return (EditPart) viewer.getEditPartRegistry().get(nodes.get(i));
+	}
+
+	/**
+	 * Returns the figure painting the outlines of the deferred edit parts,
+	 * which is the only figure on the handle layer that is not a handle.
+	 */
+	private IFigure getOutlines() {
+		IFigure layer = ((LayerManager) viewer.getEditPartRegistry().get(
+				LayerManager.ID)).getLayer(LayerConstants.HANDLE_LAYER);
+		List children = layer.getChildren();
+		for (int i = 0; i < children.size(); i++)
+			if (!(children.get(i) instanceof Handle))
+				return (IFigure) children.get(i);
+		return null;
+	}
+
+	private boolean hasHandles(int i) {
+		return ((TestPolicy) getPart(i).getEditPolicy(
+				EditPolicy.PRIMARY_DRAG_ROLE)).hasHandles();
+	}
+
+	/**
+	 * Selects the first <code>count</code> nodes, the last one first.
+	 */
+	private void select(int count) {
+		List parts = new ArrayList();
+		for (int i = 0; i < count; i++)
+			parts.add(getPart(i));
+		Collections.reverse(parts);
+		viewer.setSelection(new StructuredSelection(parts));
+	}
+
+	private void moveNode(int i, int x) {
+		((Node) nodes.get(i)).x = x;
+		getPart(i).refresh();
+		viewer.flush();
+	}
+
+	public void testOffscreenHandlesDeferred() {
+		select(COUNT);
+		for (int i = 0; i < 10; i++)
+			assertTrue(hasHandles(i));
+		// the parts selected first are deferred as well
+		for (int i = 10; i < COUNT; i++)
+			assertFalse(hasHandles(i));
+		assertNotNull(getOutlines());
+	}
+
+	public void testSmallSelectionNotDeferred() {
+		select(20);
+		for (int i = 0; i < 20; i++)
+			assertTrue(hasHandles(i));
+		assertNull(getOutlines());
+	}
+
+	public void testShrinkingSelectionCreatesHandles() {
+		select(COUNT);
+		select(20);
+		for (int i = 0; i < 20; i++)
+			assertTrue(hasHandles(i));
+		assertFalse(hasHandles(20));
+		assertNull(getOutlines());
+
+		select(COUNT);
+		viewer.deselectAll();
+		assertNull(getOutlines());
+	}
+
+	public void testScrollingCreatesHandles() {
+		select(COUNT);
+		((FigureCanvas) viewer.getControl()).scrollToX(400);
+		assertFalse(hasHandles(10));
+		for (int i = 20; i < 30; i++)
+			assertTrue(hasHandles(i));
+		assertFalse(hasHandles(40));
+	}
+
+	public void testMovedHostCreatesHandles() {
+		select(COUNT);
+		moveNode(COUNT - 1, 50);
+		assertTrue(hasHandles(COUNT - 1));
+		assertFalse(hasHandles(COUNT - 2));
+	}
+
+	public void testOutlinesFollowHosts() {
+		select(COUNT);
+		moveNode(COUNT - 1, 3000);
+		assertFalse(hasHandles(COUNT - 1));
+		IFigure outlines = getOutlines();
+		IFigure host = ((GraphicalEditPart) getPart(COUNT - 1)).getFigure();
+		assertTrue(outlines.getBounds().contains(host.getBounds()));
+	}
+
+}
@@ -11,6 +11,7 @@
 
 package org.eclipse.gef.test;
 
+import java.util.Collections;
 import java.util.List;
 
 import junit.framework.TestCase;
@@ -18,12 +19,29 @@ import junit.framework.TestCase;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.draw2d.Figure;
 import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.XYLayout;
+import org.eclipse.draw2d.geometry.Dimension;
+import org.eclipse.draw2d.geometry.Rectangle;
 import org.eclipse.gef.DefaultEditDomain;
 import org.eclipse.gef.EditPart;
+import org.eclipse.gef.EditPartFactory;
+import org.eclipse.gef.EditPolicy;
+import org.eclipse.gef.GraphicalEditPart;
+import org.eclipse.gef.Request;
+import org.eclipse.gef.SnapToGrid;
+import org.eclipse.gef.SnapToHelper;
+import org.eclipse.gef.commands.Command;
 import org.eclipse.gef.editparts.AbstractGraphicalEditPart;
+import org.eclipse.gef.editpolicies.OrderedLayoutEditPolicy;
+import org.eclipse.gef.requests.CreateRequest;
 import org.eclipse.gef.tools.DragEditPartsTracker;
+import org.eclipse.gef.ui.parts.ScrollingGraphicalViewer;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.events.MouseEvent;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Shell;
 import org.eclipse.ui.IEditorInput;
 import org.eclipse.ui.IEditorSite;
 import org.eclipse.ui.IPropertyListener;
@@ -31,6 +49,13 @@ import org.eclipse.ui.IWorkbenchPartSite;
 import org.eclipse.ui.PartInitException;
 
 public class DragEditPartsTrackerTest extends TestCase {
+
+	private static final String CHILD = "child"; //$NON-NLS-1$
+
+	private Shell shell;
+
+	private ScrollingGraphicalViewer viewer;
+
 	/**
 	 * @see TestCase#setUp()
 	 */
@@ -42,6 +67,8 @@ public class DragEditPartsTrackerTest extends TestCase {
 	 * @see TestCase#tearDown()
 	 */
 	protected void tearDown() throws Exception {
+		if (shell != null)
+			shell.dispose();
 		super.tearDown();
 	}
 
@@ -165,6 +192,166 @@ public class DragEditPartsTrackerTest extends TestCase {
 		}
 	};
 
+	private static class ContainerEditPart extends AbstractGraphicalEditPart {
+
+		private final boolean ordered;
+
+		ContainerEditPart(boolean ordered) {
+			this.ordered = ordered;
+		}
+
+		protected IFigure createFigure() {
+			Figure figure = new Figure();
+			figure.setLayoutManager(new XYLayout());
+			return figure;
+		}
+
+		protected void createEditPolicies() {
+			if (ordered)
+				installEditPolicy(EditPolicy.LAYOUT_ROLE,
+						new TestOrderedLayoutEditPolicy());
+		}
+
+		protected List getModelChildren() {
+			return Collections.singletonList(CHILD);
+		}
+
+		public EditPart getTargetEditPart(Request request) {
+			return this;
+		}
+
+		public Object getAdapter(Class key) {
+			if (key == SnapToHelper.class)
+				return new SnapToGrid(this);
+			return super.getAdapter(key);
+		}
+	}
+
+	private static class TestOrderedLayoutEditPolicy extends
+			OrderedLayoutEditPolicy {
+
+		protected Command createAddCommand(EditPart child, EditPart after) {
+			return null;
+		}
+
+		protected EditPolicy createChildEditPolicy(EditPart child) {
+			return null;
+		}
+
+		protected Command createMoveChildCommand(EditPart child,
+				EditPart after) {
+			return null;
+		}
+
+		protected EditPart getInsertionReference(Request request) {
+			return null;
+		}
+
+		protected Command getCreateCommand(CreateRequest request) {
+			return null;
+		}
+	}
+
+	private static class ChildEditPart extends AbstractGraphicalEditPart {
+
+		protected IFigure createFigure() {
+			return new Figure();
+		}
+
+		protected void createEditPolicies() {
+			// do nothing
+		}
+
+		protected void refreshVisuals() {
+			((GraphicalEditPart) getParent()).setLayoutConstraint(this,
+					getFigure(), new Rectangle(20, 20, 20, 20));
+		}
+	}
+
+	private class CountingDragEditPartsTracker extends DragEditPartsTracker {
+
+		int commands;
+
+		public CountingDragEditPartsTracker(EditPart sourceEditPart) {
+			super(sourceEditPart);
+		}
+
+		protected Command getCommand() {
+			commands++;
+			return super.getCommand();
+		}
+	}
+
+	private MouseEvent createMouseEvent(ScrollingGraphicalViewer viewer,
+			int x, int y) {
+		Event event = new Event();
+		event.widget = viewer.getControl();
+		event.x = x;
+		event.y = y;
+		event.button = 1;
+		event.stateMask = SWT.BUTTON1;
+		return new MouseEvent(event);
+	}
+
+	/**
+	 * Creates a viewer with a grid whose container holds a single child at
+	 * (20, 20), and returns an active tracker for dragging the child.
+	 */
+	private CountingDragEditPartsTracker createSnappingTracker(
+			final boolean ordered) {
+		shell = new Shell();
+		viewer = new ScrollingGraphicalViewer();
+		viewer.createControl(shell);
+		viewer.getControl().setSize(200, 200);
+		viewer.setProperty(SnapToGrid.PROPERTY_GRID_SPACING, new Dimension(20,
+				20));
+		viewer.setEditPartFactory(new EditPartFactory() {
+			public EditPart createEditPart(EditPart context, Object model) {
+				EditPart part = context == null ? (EditPart) new ContainerEditPart(
+						ordered) : new ChildEditPart();
+				part.setModel(model);
+				return part;
+			}
+		});
+		viewer.setContents("diagram"); //$NON-NLS-1$
+		viewer.flush();
+		EditPart node = (EditPart) viewer.getContents().getChildren().get(0);
+
+		CountingDragEditPartsTracker tracker = new CountingDragEditPartsTracker(
+				node);
+		tracker.setEditDomain(new DefaultEditDomain(new DummyEditorPart()));
+		tracker.activate();
+		return tracker;
+	}
+
+	public void test_commandCachedForSnappedDelta() {
+		CountingDragEditPartsTracker tracker = createSnappingTracker(false);
+		tracker.mouseDown(createMouseEvent(viewer, 25, 25), viewer);
+		// the node snaps from x = 45 to x = 40
+		tracker.mouseDrag(createMouseEvent(viewer, 50, 25), viewer);
+		int commands = tracker.commands;
+		assertTrue(commands > 0);
+		// x = 47 snaps to x = 40 as well
+		tracker.mouseDrag(createMouseEvent(viewer, 52, 25), viewer);
+		assertEquals(commands, tracker.commands);
+		// x = 60 is the next grid line
+		tracker.mouseDrag(createMouseEvent(viewer, 65, 25), viewer);
+		assertEquals(commands + 1, tracker.commands);
+		tracker.deactivate();
+	}
+
+	public void test_commandNotCachedForOrderedLayout() {
+		CountingDragEditPartsTracker tracker = createSnappingTracker(true);
+		tracker.mouseDown(createMouseEvent(viewer, 25, 25), viewer);
+		tracker.mouseDrag(createMouseEvent(viewer, 50, 25), viewer);
+		int commands = tracker.commands;
+		assertTrue(commands > 0);
+		// the insertion index depends on the mouse location, not the delta
+		tracker.mouseDrag(createMouseEvent(viewer, 52, 25), viewer);
+		assertEquals(commands + 1, tracker.commands);
+		tracker.deactivate();
+	}
+
 	public void test_createOperationSet() {
 		TestDragEditPartsTracker dept = new TestDragEditPartsTracker(
 				new TestGraphicalEditPart());
@@ -0,0 +1,172 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.gef.test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.eclipse.draw2d.Figure;
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.XYLayout;
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.eclipse.gef.DefaultEditDomain;
+import org.eclipse.gef.EditPart;
+import org.eclipse.gef.EditPartFactory;
+import org.eclipse.gef.EditPolicy;
+import org.eclipse.gef.GraphicalEditPart;
+import org.eclipse.gef.LayerConstants;
+import org.eclipse.gef.editparts.AbstractGraphicalEditPart;
+import org.eclipse.gef.editparts.LayerManager;
+import org.eclipse.gef.editpolicies.NonResizableEditPolicy;
+import org.eclipse.gef.tools.DragEditPartsTracker;
+import org.eclipse.gef.tools.DragFeedbackFigure;
+import org.eclipse.gef.ui.parts.ScrollingGraphicalViewer;
+import org.eclipse.jface.viewers.StructuredSelection;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.events.MouseEvent;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Shell;
+
+public class DragFeedbackTest extends TestCase {
+
+	private static final int COUNT = 20;
+
+	private static class Node {
+		final int index;
+		final boolean sharedFeedback;
+
+		Node(int index, boolean sharedFeedback) {
+			this.index = index;
+			this.sharedFeedback = sharedFeedback;
+		}
+	}
+
+	private static class OptOutPolicy extends NonResizableEditPolicy {
+		protected boolean isSharedFeedbackSupported() {
+			return false;
+		}
+	}
+
+	private static class DiagramPart extends AbstractGraphicalEditPart {
+		protected IFigure createFigure() {
+			Figure figure = new Figure();
+			figure.setLayoutManager(new XYLayout());
+			return figure;
+		}
+
+		protected void createEditPolicies() {
+			// do nothing
+		}
+
+		protected List getModelChildren() {
+			return (List) getModel();
+		}
+	}
+
+	private static class NodePart extends AbstractGraphicalEditPart {
+		protected IFigure createFigure() {
+			return new Figure();
+		}
+
+		protected void createEditPolicies() {
+			installEditPolicy(EditPolicy.PRIMARY_DRAG_ROLE,
+					((Node) getModel()).sharedFeedback ? new NonResizableEditPolicy()
+							: new OptOutPolicy());
+		}
+
+		protected void refreshVisuals() {
+			int index = ((Node) getModel()).index;
+			((GraphicalEditPart) getParent()).setLayoutConstraint(this,
+					getFigure(), new Rectangle(10 + index % 5 * 30,
+							10 + index / 5 * 30, 20, 20));
+		}
+	}
+
+	private Shell shell;
+	private ScrollingGraphicalViewer viewer;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		shell = new Shell();
+		viewer = new ScrollingGraphicalViewer();
+		viewer.createControl(shell);
+		viewer.getControl().setSize(200, 200);
+		viewer.setEditPartFactory(new EditPartFactory() {
+			public EditPart createEditPart(EditPart context, Object model) {
+				EditPart part = model instanceof Node ? (EditPart) new NodePart()
+						: new DiagramPart();
+				part.setModel(model);
+				return part;
+			}
+		});
+	}
+
+	protected void tearDown() throws Exception {
+		shell.dispose();
+		super.tearDown();
+	}
+
+	private MouseEvent createMouseEvent(int x, int y) {
+		Event event = new Event();
+		event.widget = viewer.getControl();
+		event.x = x;
+		event.y = y;
+		event.button = 1;
+		event.stateMask = SWT.BUTTON1;
+		return new MouseEvent(event);
+	}
+
+	/**
+	 * Selects all nodes, drags them by (20, 20) without releasing the mouse,
+	 * and returns the figures on the feedback layer.
+	 */
+	private List drag(boolean sharedFeedback) {
+		List nodes = new ArrayList();
+		for (int i = 0; i < COUNT; i++)
+			nodes.add(new Node(i, sharedFeedback));
+		viewer.setContents(nodes);
+		viewer.flush();
+		List parts = viewer.getContents().getChildren();
+		viewer.setSelection(new StructuredSelection(parts));
+
+		DragEditPartsTracker tracker = new DragEditPartsTracker(
+				(EditPart) parts.get(0));
+		tracker.setEditDomain(new DefaultEditDomain(null));
+		tracker.activate();
+		tracker.mouseDown(createMouseEvent(15, 15), viewer);
+		tracker.mouseDrag(createMouseEvent(25, 25), viewer);
+		tracker.mouseDrag(createMouseEvent(35, 35), viewer);
+		IFigure layer = ((LayerManager) viewer.getEditPartRegistry().get(
+				LayerManager.ID)).getLayer(LayerConstants.FEEDBACK_LAYER);
+		List feedback = new ArrayList(layer.getChildren());
+		tracker.deactivate();
+		return feedback;
+	}
+
+	public void testSharedFeedback() {
+		List feedback = drag(true);
+		assertEquals(1, feedback.size());
+		assertTrue(feedback.get(0) instanceof DragFeedbackFigure);
+		assertFalse(((IFigure) feedback.get(0)).getBounds().isEmpty());
+	}
+
+	public void testOptOutKeepsOwnFeedback() {
+		int count = 0;
+		List feedback = drag(false);
+		for (int i = 0; i < feedback.size(); i++)
+			if (!(feedback.get(i) instanceof DragFeedbackFigure))
+				count++;
+		assertEquals(COUNT, count);
+	}
+
+}
@@ -32,6 +32,11 @@ public class GEFTestSuite extends TestSuite {
 		addTest(new TestSuite(ToolUtilitiesTest.class));
 		addTest(new TestSuite(DragEditPartsTrackerTest.class));
 		addTest(new TestSuite(CommandStackTest.class));
+		addTest(new TestSuite(RefreshTransactionTest.class));
+		addTest(new TestSuite(DeferredHandlesTest.class));
+		addTest(new TestSuite(SnapToGeometryTest.class));
+		addTest(new TestSuite(MarqueeSelectionToolTest.class));
+		addTest(new TestSuite(DragFeedbackTest.class));
 	}
 
 }
@@ -0,0 +1,241 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.gef.test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.eclipse.draw2d.Figure;
+import org.eclipse.draw2d.FigureCanvas;
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.PolylineConnection;
+import org.eclipse.draw2d.XYLayout;
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.eclipse.gef.DefaultEditDomain;
+import org.eclipse.gef.EditPart;
+import org.eclipse.gef.EditPartFactory;
+import org.eclipse.gef.GraphicalEditPart;
+import org.eclipse.gef.Request;
+import org.eclipse.gef.editparts.AbstractConnectionEditPart;
+import org.eclipse.gef.editparts.AbstractGraphicalEditPart;
+import org.eclipse.gef.tools.MarqueeSelectionTool;
+import org.eclipse.gef.ui.parts.ScrollingGraphicalViewer;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.events.MouseEvent;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Shell;
+
+public class MarqueeSelectionToolTest extends TestCase {
+
+	private static class Node {
+		final Rectangle bounds;
+		final List sourceConnections = new ArrayList();
+		final List targetConnections = new ArrayList();
+
+		Node(int x, int y) {
+			bounds = new Rectangle(x, y, 20, 20);
+		}
+	}
+
+	private static class Connection {
+		Connection(Node source, Node target) {
+			source.sourceConnections.add(this);
+			target.targetConnections.add(this);
+		}
+	}
+
+	private static class DiagramPart extends AbstractGraphicalEditPart {
+		protected IFigure createFigure() {
+			Figure figure = new Figure();
+			figure.setLayoutManager(new XYLayout());
+			return figure;
+		}
+
+		protected void createEditPolicies() {
+			// do nothing
+		}
+
+		protected List getModelChildren() {
+			return (List) getModel();
+		}
+	}
+
+	private static class NodePart extends AbstractGraphicalEditPart {
+		protected IFigure createFigure() {
+			return new Figure();
+		}
+
+		protected void createEditPolicies() {
+			// do nothing
+		}
+
+		protected List getModelSourceConnections() {
+			return ((Node) getModel()).sourceConnections;
+		}
+
+		protected List getModelTargetConnections() {
+			return ((Node) getModel()).targetConnections;
+		}
+
+		public EditPart getTargetEditPart(Request request) {
+			return this;
+		}
+
+		protected void refreshVisuals() {
+			((GraphicalEditPart) getParent()).setLayoutConstraint(this,
+					getFigure(), ((Node) getModel()).bounds);
+		}
+	}
+
+	private static class ConnectionPart extends AbstractConnectionEditPart {
+		protected IFigure createFigure() {
+			return new PolylineConnection();
+		}
+
+		protected void createEditPolicies() {
+			// do nothing
+		}
+
+		public EditPart getTargetEditPart(Request request) {
+			return this;
+		}
+	}
+
+	private Shell shell;
+	private ScrollingGraphicalViewer viewer;
+	private Node a;
+	private Node b;
+	private Node c;
+	private Node d;
+	private Connection ab;
+	private Connection ac;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		shell = new Shell();
+		viewer = new ScrollingGraphicalViewer();
+		viewer.createControl(shell);
+		viewer.getControl().setSize(200, 200);
+		viewer.setEditPartFactory(new EditPartFactory() {
+			public EditPart createEditPart(EditPart context, Object model) {
+				EditPart part;
+				if (model instanceof Node)
+					part = new NodePart();
+				else if (model instanceof Connection)
+					part = new ConnectionPart();
+				else
+					part = new DiagramPart();
+				part.setModel(model);
+				return part;
+			}
+		});
+		a = new Node(10, 10);
+		b = new Node(100, 10);
+		c = new Node(10, 100);
+		// only visible when the viewer is scrolled
+		d = new Node(500, 10);
+		ab = new Connection(a, b);
+		ac = new Connection(a, c);
+		viewer.setContents(Arrays.asList(new Node[] { a, b, c, d,
+				new Node(1000, 10) }));
+		viewer.flush();
+	}
+
+	protected void tearDown() throws Exception {
+		shell.dispose();
+		super.tearDown();
+	}
+
+	private MouseEvent createMouseEvent(int x, int y) {
+		Event event = new Event();
+		event.widget = viewer.getControl();
+		event.x = x;
+		event.y = y;
+		event.button = 1;
+		event.stateMask = SWT.BUTTON1;
+		return new MouseEvent(event);
+	}
+
+	private MarqueeSelectionTool createTool(int behavior) {
+		MarqueeSelectionTool tool = new MarqueeSelectionTool();
+		tool.setMarqueeBehavior(behavior);
+		tool.setEditDomain(new DefaultEditDomain(null));
+		tool.activate();
+		return tool;
+	}
+
+	/**
+	 * Drags a marquee from (5, 5) to the given location and returns the
+	 * models of the selected edit parts.
+	 */
+	private HashSet selectMarquee(int behavior, int x, int y) {
+		MarqueeSelectionTool tool = createTool(behavior);
+		tool.mouseDown(createMouseEvent(5, 5), viewer);
+		tool.mouseDrag(createMouseEvent(x / 2, y / 2), viewer);
+		tool.mouseDrag(createMouseEvent(x, y), viewer);
+		tool.mouseUp(createMouseEvent(x, y), viewer);
+		return getSelectedModels();
+	}
+
+	private HashSet getSelectedModels() {
+		HashSet models = new HashSet();
+		List parts = viewer.getSelectedEditParts();
+		for (int i = 0; i < parts.size(); i++)
+			models.add(((EditPart) parts.get(i)).getModel());
+		return models;
+	}
+
+	private HashSet asSet(Object[] models) {
+		return new HashSet(Arrays.asList(models));
+	}
+
+	public void testNodesContained() {
+		assertEquals(asSet(new Object[] { a }), selectMarquee(
+				MarqueeSelectionTool.BEHAVIOR_NODES_CONTAINED, 110, 40));
+	}
+
+	public void testNodesTouched() {
+		assertEquals(asSet(new Object[] { a, b }), selectMarquee(
+				MarqueeSelectionTool.BEHAVIOR_NODES_TOUCHED, 110, 40));
+	}
+
+	public void testConnectionsContained() {
+		assertEquals(asSet(new Object[] { ab }), selectMarquee(
+				MarqueeSelectionTool.BEHAVIOR_CONNECTIONS_CONTAINED, 110, 40));
+	}
+
+	public void testConnectionsTouched() {
+		assertEquals(asSet(new Object[] { ab, ac }), selectMarquee(
+				MarqueeSelectionTool.BEHAVIOR_CONNECTIONS_TOUCHED, 110, 40));
+	}
+
+	public void testNodesContainedAndRelatedConnections() {
+		assertEquals(asSet(new Object[] { a, b, ab }), selectMarquee(
+				MarqueeSelectionTool.BEHAVIOR_NODES_CONTAINED_AND_RELATED_CONNECTIONS,
+				130, 40));
+	}
+
+	public void testScrollingDuringDrag() {
+		MarqueeSelectionTool tool = createTool(MarqueeSelectionTool.BEHAVIOR_NODES_CONTAINED);
+		tool.mouseDown(createMouseEvent(5, 5), viewer);
+		tool.mouseDrag(createMouseEvent(60, 60), viewer);
+		((FigureCanvas) viewer.getControl()).scrollToX(490);
+		viewer.flush();
+		tool.mouseDrag(createMouseEvent(61, 60), viewer);
+		tool.mouseUp(createMouseEvent(61, 60), viewer);
+		assertEquals(asSet(new Object[] { d }), getSelectedModels());
+	}
+
+}
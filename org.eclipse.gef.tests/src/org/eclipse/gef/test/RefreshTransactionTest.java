@@ -0,0 +1,280 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.gef.test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.eclipse.draw2d.DeferredUpdateManager;
+import org.eclipse.draw2d.Figure;
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.LightweightSystem;
+import org.eclipse.draw2d.PolylineConnection;
+import org.eclipse.gef.EditPart;
+import org.eclipse.gef.EditPartFactory;
+import org.eclipse.gef.GraphicalEditPart;
+import org.eclipse.gef.editparts.AbstractConnectionEditPart;
+import org.eclipse.gef.editparts.AbstractGraphicalEditPart;
+import org.eclipse.gef.editparts.RefreshTransaction;
+import org.eclipse.gef.ui.parts.GraphicalViewerImpl;
+import org.eclipse.swt.widgets.Shell;
+
+public class RefreshTransactionTest extends TestCase {
+
+	private static class Node {
+		final String name;
+		final List children = new ArrayList();
+		final List sourceConnections = new ArrayList();
+		final List targetConnections = new ArrayList();
+		boolean fail;
+
+		Node(String name) {
+			this.name = name;
+		}
+	}
+
+	private static class Connection {
+		Connection(Node source, Node target) {
+			source.sourceConnections.add(this);
+			target.targetConnections.add(this);
+		}
+	}
+
+	private static class CountingUpdateManager extends DeferredUpdateManager {
+		int updates;
+
+		public synchronized void performUpdate() {
+			updates++;
+			super.performUpdate();
+		}
+	}
+
+	private static class TestViewer extends GraphicalViewerImpl {
+		protected LightweightSystem createLightweightSystem() {
+			LightweightSystem lws = new LightweightSystem();
+			lws.setUpdateManager(new CountingUpdateManager());
+			return lws;
+		}
+
+		int getUpdates() {
+			return ((CountingUpdateManager) getLightweightSystem()
+					.getUpdateManager()).updates;
+		}
+	}
+
+	private class NodePart extends AbstractGraphicalEditPart {
+		protected IFigure createFigure() {
+			return new Figure();
+		}
+
+		protected void createEditPolicies() {
+			// do nothing
+		}
+
+		protected List getModelChildren() {
+			return ((Node) getModel()).children;
+		}
+
+		protected List getModelSourceConnections() {
+			return ((Node) getModel()).sourceConnections;
+		}
+
+		protected List getModelTargetConnections() {
+			return ((Node) getModel()).targetConnections;
+		}
+
+		protected void refreshVisuals() {
+			Node node = (Node) getModel();
+			if (node.fail)
+				throw new IllegalStateException(node.name);
+			log.add(node.name);
+		}
+	}
+
+	private class ConnectionPart extends AbstractConnectionEditPart {
+		protected IFigure createFigure() {
+			return new PolylineConnection();
+		}
+
+		protected void createEditPolicies() {
+			// do nothing
+		}
+
+		protected void refreshVisuals() {
+			super.refreshVisuals();
+			log.add("connection"); //$NON-NLS-1$
+		}
+	}
+
+	private final List log = new ArrayList();
+	private Shell shell;
+	private TestViewer viewer;
+	private Node a;
+	private Node b;
+	private Node c;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		shell = new Shell();
+		viewer = new TestViewer();
+		viewer.createControl(shell);
+		viewer.setEditPartFactory(new EditPartFactory() {
+			public EditPart createEditPart(EditPart context, Object model) {
+				EditPart part;
+				if (model instanceof Connection)
+					part = new ConnectionPart();
+				else
+					part = new NodePart();
+				part.setModel(model);
+				return part;
+			}
+		});
+		a = new Node("a"); //$NON-NLS-1$
+		b = new Node("b"); //$NON-NLS-1$
+		c = new Node("c"); //$NON-NLS-1$
+		a.children.add(b);
+		a.children.add(c);
+		viewer.setContents(a);
+		log.clear();
+	}
+
+	protected void tearDown() throws Exception {
+		shell.dispose();
+		super.tearDown();
+	}
+
+	private GraphicalEditPart getPart(Object model) {
+		return (GraphicalEditPart) viewer.getEditPartRegistry().get(model);
+	}
+
+	public void testNestedTransactions() {
+		RefreshTransaction outer = RefreshTransaction.begin(viewer);
+		RefreshTransaction inner = RefreshTransaction.begin(viewer);
+		assertSame(outer, inner);
+		getPart(b).refresh();
+		inner.commit();
+		assertTrue(log.isEmpty());
+		assertSame(outer, RefreshTransaction.getOpenTransaction(viewer));
+		outer.commit();
+		assertEquals(Arrays.asList(new String[] { "b" }), log); //$NON-NLS-1$
+		assertNull(RefreshTransaction.getOpenTransaction(viewer));
+	}
+
+	public void testEachPartRefreshedOnce() {
+		RefreshTransaction transaction = RefreshTransaction.begin(viewer);
+		try {
+			getPart(b).refresh();
+			getPart(b).refresh();
+		} finally {
+			transaction.commit();
+		}
+		assertEquals(Arrays.asList(new String[] { "b" }), log); //$NON-NLS-1$
+	}
+
+	public void testParentsRefreshedBeforeChildren() {
+		RefreshTransaction transaction = RefreshTransaction.begin(viewer);
+		try {
+			getPart(c).refresh();
+			getPart(b).refresh();
+			getPart(a).refresh();
+		} finally {
+			transaction.commit();
+		}
+		assertEquals(Arrays.asList(new String[] { "a", "b", "c" }), log); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	public void testRemovedPartsSkipped() {
+		GraphicalEditPart partB = getPart(b);
+		RefreshTransaction transaction = RefreshTransaction.begin(viewer);
+		try {
+			partB.refresh();
+			a.children.remove(b);
+			getPart(a).refresh();
+			assertSame(a, partB.getParent().getModel());
+		} finally {
+			transaction.commit();
+		}
+		assertEquals(Arrays.asList(new String[] { "a" }), log); //$NON-NLS-1$
+		assertNull(partB.getParent());
+		assertNull(getPart(b));
+	}
+
+	public void testConnectionsRefreshedLast() {
+		RefreshTransaction transaction = RefreshTransaction.begin(viewer);
+		try {
+			new Connection(b, c);
+			getPart(b).refresh();
+			getPart(c).refresh();
+			assertTrue(getPart(b).getSourceConnections().isEmpty());
+		} finally {
+			transaction.commit();
+		}
+		assertEquals(1, getPart(b).getSourceConnections().size());
+		assertSame(getPart(b).getSourceConnections().get(0), getPart(c)
+				.getTargetConnections().get(0));
+		EditPart connection = (EditPart) getPart(b).getSourceConnections()
+				.get(0);
+
+		log.clear();
+		transaction = RefreshTransaction.begin(viewer);
+		try {
+			connection.refresh();
+			getPart(c).refresh();
+			getPart(b).refresh();
+		} finally {
+			transaction.commit();
+		}
+		assertEquals(Arrays.asList(new String[] { "b", "c", "connection" }), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				log);
+	}
+
+	public void testFlushDeferred() {
+		int updates = viewer.getUpdates();
+		RefreshTransaction transaction = RefreshTransaction.begin(viewer);
+		try {
+			viewer.flush();
+			viewer.flush();
+			assertEquals(updates, viewer.getUpdates());
+		} finally {
+			transaction.commit();
+		}
+		assertEquals(updates + 1, viewer.getUpdates());
+		viewer.flush();
+		assertEquals(updates + 2, viewer.getUpdates());
+	}
+
+	public void testFailureRefreshesRemainingParts() {
+		b.fail = true;
+		int updates = viewer.getUpdates();
+		RefreshTransaction transaction = RefreshTransaction.begin(viewer);
+		getPart(b).refresh();
+		getPart(c).refresh();
+		viewer.flush();
+		try {
+			transaction.commit();
+			fail();
+		} catch (IllegalStateException e) {
+			assertEquals("b", e.getMessage()); //$NON-NLS-1$
+		}
+		assertEquals(Arrays.asList(new String[] { "c" }), log); //$NON-NLS-1$
+		assertEquals(updates + 1, viewer.getUpdates());
+		assertNull(RefreshTransaction.getOpenTransaction(viewer));
+
+		// the viewer is not left in a transaction
+		log.clear();
+		getPart(c).refresh();
+		assertEquals(Arrays.asList(new String[] { "c" }), log); //$NON-NLS-1$
+	}
+
+}
@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.gef.test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+import org.eclipse.draw2d.Figure;
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.eclipse.gef.SnapToGeometry;
+import org.eclipse.gef.editparts.AbstractGraphicalEditPart;
+
+public class SnapToGeometryTest extends TestCase {
+
+	private static class TestEditPart extends AbstractGraphicalEditPart {
+
+		TestEditPart(Rectangle bounds) {
+			getFigure().setBounds(bounds);
+		}
+
+		protected IFigure createFigure() {
+			return new Figure();
+		}
+
+		protected void createEditPolicies() {
+			// do nothing
+		}
+	}
+
+	private static class TestSnapToGeometry extends SnapToGeometry {
+
+		TestSnapToGeometry(int[] lefts) {
+			super(null);
+			List parts = new ArrayList();
+			for (int i = 0; i < lefts.length; i++)
+				parts.add(new TestEditPart(new Rectangle(lefts[i], i * 100,
+						10, 10)));
+			populateRowsAndCols(parts);
+		}
+
+		int[] getColumnLocations() {
+			int[] locations = new int[cols.length];
+			for (int i = 0; i < cols.length; i++)
+				locations[i] = cols[i].getLocation();
+			return locations;
+		}
+
+		double getLeftCorrection(double value, Map extendedData) {
+			return getCorrectionFor(cols, extendedData, true, value, -1);
+		}
+
+		/**
+		 * Corrects against a copy of the columns, which is scanned linearly
+		 * like the arrays assigned by subclasses.
+		 */
+		double getLinearLeftCorrection(double value, Map extendedData) {
+			return getCorrectionFor((Entry[]) cols.clone(), extendedData,
+					true, value, -1);
+		}
+	}
+
+	public void testRowsAndColumnsKeepOrder() {
+		TestSnapToGeometry helper = new TestSnapToGeometry(new int[] { 30,
+				0, 20 });
+		int[] locations = helper.getColumnLocations();
+		assertEquals(9, locations.length);
+		assertEquals(30, locations[0]);
+		assertEquals(34, locations[1]);
+		assertEquals(39, locations[2]);
+		assertEquals(0, locations[3]);
+		assertEquals(20, locations[6]);
+	}
+
+	public void testTieGoesToFirstPart() {
+		Map extendedData = new HashMap();
+		TestSnapToGeometry helper = new TestSnapToGeometry(new int[] { 13, 7 });
+		assertEquals(3.0, helper.getLeftCorrection(10, extendedData), 0);
+		assertEquals(new Integer(13),
+				extendedData.get(SnapToGeometry.KEY_WEST_ANCHOR));
+
+		extendedData.clear();
+		helper = new TestSnapToGeometry(new int[] { 7, 13 });
+		assertEquals(-3.0, helper.getLeftCorrection(10, extendedData), 0);
+		assertEquals(new Integer(7),
+				extendedData.get(SnapToGeometry.KEY_WEST_ANCHOR));
+	}
+
+	public void testSortedSearchMatchesLinearScan() {
+		int[] lefts = new int[] { 40, 3, 17, 25, 11, 17, 32, 9 };
+		TestSnapToGeometry helper = new TestSnapToGeometry(lefts);
+		for (int value = -10; value < 60; value++) {
+			Map expected = new HashMap();
+			Map actual = new HashMap();
+			assertEquals(helper.getLinearLeftCorrection(value, expected),
+					helper.getLeftCorrection(value, actual), 0);
+			assertEquals(expected, actual);
+		}
+	}
+
+}
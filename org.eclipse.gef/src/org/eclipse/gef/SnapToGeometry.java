@@ -11,10 +11,13 @@
 package org.eclipse.gef;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.Iterator;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.draw2d.IFigure;
 import org.eclipse.draw2d.geometry.PrecisionRectangle;
@@ -95,6 +98,10 @@ public class SnapToGeometry extends SnapToHelper {
 	protected static class Entry {
 		final int type;
 		final int location;
+		/**
+		 * The position of the entry in the rows or columns.
+		 */
+		int order;
 
 		/**
 		 * Constructs a new entry of the given type and location.
@@ -143,6 +150,15 @@ public class SnapToGeometry extends SnapToHelper {
 	 */
 	protected static final double THRESHOLD = 5.0001;
 
+	private static final Comparator LOCATION_COMPARATOR = new Comparator() {
+		public int compare(Object o1, Object o2) {
+			int location1 = ((Entry) o1).location;
+			int location2 = ((Entry) o2).location;
+			return location1 < location2 ? -1 : (location1 == location2 ? 0
+					: 1);
+		}
+	};
+
 	private double threshold = THRESHOLD;
 
 	boolean cachedCloneBool;
@@ -163,6 +179,13 @@ public class SnapToGeometry extends SnapToHelper {
 	 */
 	protected GraphicalEditPart container;
 
+	/**
+	 * The row and column arrays created by {@link #populateRowsAndCols(List)},
+	 * and copies of them sorted by location which can be binary searched.
+	 */
+	private Entry populatedRows[], populatedCols[], sortedRows[],
+			sortedCols[];
+
 	/**
 	 * Constructs a helper that will use the given part as its basis for
 	 * snapping. The part's contents pane will provide the coordinate system and
@@ -210,20 +233,18 @@ public class SnapToGeometry extends SnapToHelper {
 	 * @return a list of parts which should be snapped to
 	 */
 	protected List generateSnapPartsList(List exclusions) {
-		// Don't snap to any figure that is being dragged
-		List children = new ArrayList(container.getChildren());
-		children.removeAll(exclusions);
-
-		// Don't snap to hidden figures
-		List hiddenChildren = new ArrayList();
-		for (Iterator iter = children.iterator(); iter.hasNext();) {
-			GraphicalEditPart child = (GraphicalEditPart) iter.next();
-			if (!child.getFigure().isVisible())
-				hiddenChildren.add(child);
+		List children = container.getChildren();
+		Set excluded = exclusions.isEmpty() ? Collections.EMPTY_SET
+				: new HashSet(exclusions);
+		List result = new ArrayList(children.size());
+		for (int i = 0; i < children.size(); i++) {
+			GraphicalEditPart child = (GraphicalEditPart) children.get(i);
+			// Don't snap to any figure that is being dragged, or to hidden
+			// figures
+			if (!excluded.contains(child) && child.getFigure().isVisible())
+				result.add(child);
 		}
-		children.removeAll(hiddenChildren);
-
-		return children;
+		return result;
 	}
 
 	/**
@@ -290,36 +311,55 @@ public class SnapToGeometry extends SnapToHelper {
 		else
 			property = vert ? KEY_EAST_ANCHOR : KEY_SOUTH_ANCHOR;
 
-		for (int i = 0; i < entries.length; i++) {
+		// entries created by populateRowsAndCols() have a sorted copy, so
+		// only those within the threshold need to be visited
+		boolean sorted = false;
+		if (entries == populatedRows) {
+			entries = sortedRows;
+			sorted = true;
+		} else if (entries == populatedCols) {
+			entries = sortedCols;
+			sorted = true;
+		}
+		int start = sorted ? indexOf(entries, value - resultMag) : 0;
+		Entry best = null;
+		for (int i = start; i < entries.length; i++) {
 			Entry entry = entries[i];
-			double magnitude;
-
-			if (entry.type == -1 && side != 0) {
-				magnitude = Math.abs(value - entry.location);
-				if (magnitude < resultMag) {
-					resultMag = magnitude;
-					result = entry.location - value;
-					extendedData.put(property, new Integer(entry.location));
-				}
-			} else if (entry.type == 0 && side == 0) {
-				magnitude = Math.abs(value - entry.location);
-				if (magnitude < resultMag) {
-					resultMag = magnitude;
-					result = entry.location - value;
-					extendedData.put(property, new Integer(entry.location));
-				}
-			} else if (entry.type == 1 && side != 0) {
-				magnitude = Math.abs(value - entry.location);
-				if (magnitude < resultMag) {
-					resultMag = magnitude;
-					result = entry.location - value;
-					extendedData.put(property, new Integer(entry.location));
-				}
+			if (sorted && entry.location - value > resultMag)
+				break;
+			if ((side == 0) != (entry.type == 0))
+				continue;
+			double magnitude = Math.abs(value - entry.location);
+			// the first entry in the original order wins a tie
+			if (magnitude < resultMag
+					|| (sorted && best != null && magnitude == resultMag
+							&& entry.order < best.order)) {
+				resultMag = magnitude;
+				result = entry.location - value;
+				best = entry;
 			}
 		}
+		if (best != null)
+			extendedData.put(property, new Integer(best.location));
 		return result;
 	}
 
+	/**
+	 * Returns the index of the first entry whose location is not less than the
+	 * given value.
+	 */
+	private static int indexOf(Entry entries[], double value) {
+		int low = 0, high = entries.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (entries[mid].location < value)
+				low = mid + 1;
+			else
+				high = mid;
+		}
+		return low;
+	}
+
 	/**
 	 * Returns the rectangular contribution for the given editpart. This is the
 	 * rectangle with which snapping is performed.
@@ -337,7 +377,9 @@ public class SnapToGeometry extends SnapToHelper {
 	}
 
 	/**
-	 * Updates the cached row and column Entries using the provided parts.
+	 * Updates the cached row and column Entries using the provided parts. The
+	 * entries are kept in the order of the parts, while sorted copies are used
+	 * to find the entries near a location by binary search.
 	 * 
 	 * @since 3.0
 	 * @param parts
@@ -356,6 +398,16 @@ public class SnapToGeometry extends SnapToHelper {
 			cols[i * 3 + 2] = new Entry(1, bounds.right() - 1);
 			rows[i * 3 + 2] = new Entry(1, bounds.bottom() - 1);
 		}
+		for (int i = 0; i < rows.length; i++) {
+			rows[i].order = i;
+			cols[i].order = i;
+		}
+		populatedRows = rows;
+		populatedCols = cols;
+		sortedRows = (Entry[]) rows.clone();
+		sortedCols = (Entry[]) cols.clone();
+		Arrays.sort(sortedRows, LOCATION_COMPARATOR);
+		Arrays.sort(sortedCols, LOCATION_COMPARATOR);
 	}
 
 	/**
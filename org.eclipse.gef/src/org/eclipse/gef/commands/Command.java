@@ -89,6 +89,28 @@ public abstract class Command {
 		return result;
 	}
 
+	/**
+	 * Returns whether this command, which has just been executed on a
+	 * {@link CommandStack}, can be merged with the command executed before it
+	 * into a single undo step. Commands which are executed in quick succession
+	 * for a continuous operation, like moving the same elements with the
+	 * keyboard, may override this method to compare their targets or the
+	 * elapsed time. The default implementation returns <code>false</code>.
+	 * 
+	 * @param previous
+	 *            the previously executed command, which is at the top of the
+	 *            undo stack
+	 * @param elapsed
+	 *            the number of milliseconds since the previous command was
+	 *            executed
+	 * @return <code>true</code> if this command can be merged
+	 * @see #mergeWith(Command)
+	 * @since 3.11
+	 */
+	public boolean canMergeWith(Command previous, long elapsed) {
+		return false;
+	}
+
 	/**
 	 * This is called to indicate that the <code>Command</code> will not be used
 	 * again. The Command may be in any state (executed, undone or redone) when
@@ -112,6 +134,20 @@ public abstract class Command {
 		return debugLabel + ' ' + getLabel();
 	}
 
+	/**
+	 * Returns an estimate of the memory retained by this command, in bytes. A
+	 * {@link CommandStack} uses the estimate to keep its undo history within
+	 * its {@link CommandStack#setMemoryLimit(long) memory limit}. The estimate
+	 * must not change while the command is on a command stack. Subclasses
+	 * holding large amounts of data should override this method.
+	 * 
+	 * @return the estimated size in bytes
+	 * @since 3.11
+	 */
+	public int getEstimatedSize() {
+		return 64;
+	}
+
 	/**
 	 * @return a String used to describe this command to the User
 	 */
@@ -119,6 +155,23 @@ public abstract class Command {
 		return label;
 	}
 
+	/**
+	 * Returns a single command which undoes and redoes both the given previous
+	 * command and this command, which have both been executed. This is only
+	 * called if {@link #canMergeWith(Command, long)} returned
+	 * <code>true</code>. The default implementation {@link #chain(Command)
+	 * chains} this command to the previous one. Subclasses may return a more
+	 * compact command, such as a single move by the sum of both distances.
+	 * 
+	 * @param previous
+	 *            the previously executed command
+	 * @return the merged command
+	 * @since 3.11
+	 */
+	public Command mergeWith(Command previous) {
+		return previous.chain(this);
+	}
+
 	/**
 	 * Re-executes the Command. This method should only be called after
 	 * <code>undo()</code> has been called.
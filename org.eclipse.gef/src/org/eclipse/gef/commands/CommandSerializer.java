@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.gef.commands;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Writes commands to a stream and reads them back. A {@link CommandStack} with
+ * a {@link CommandStack#setMemoryLimit(long) memory limit} uses a serializer to
+ * move the oldest commands of its undo history to a local file instead of
+ * discarding them. A command is read back once the command above it has been
+ * undone.
+ * <P>
+ * A command which has been written is disposed. The command which is read back
+ * must be able to undo and redo the same changes.
+ *
+ * @since 3.11
+ */
+public interface CommandSerializer {
+
+	/**
+	 * Returns whether the given command can be written.
+	 *
+	 * @param command
+	 *            an executed command
+	 * @return <code>true</code> if the command can be written
+	 */
+	boolean canSerialize(Command command);
+
+	/**
+	 * Writes the given command.
+	 *
+	 * @param command
+	 *            an executed command
+	 * @param out
+	 *            the stream to write to
+	 * @throws IOException
+	 *             if the command could not be written
+	 */
+	void serialize(Command command, OutputStream out) throws IOException;
+
+	/**
+	 * Reads a command which has been written by
+	 * {@link #serialize(Command, OutputStream)}.
+	 *
+	 * @param in
+	 *            the stream to read from
+	 * @return the command
+	 * @throws IOException
+	 *             if the command could not be read
+	 */
+	Command deserialize(InputStream in) throws IOException;
+
+}
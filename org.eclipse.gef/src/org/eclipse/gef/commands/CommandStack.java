@@ -10,8 +10,10 @@
  *******************************************************************************/
 package org.eclipse.gef.commands;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.EventObject;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Stack;
 
@@ -26,6 +28,24 @@ import java.util.Stack;
  * the last executed or redone command is different than the command that was at
  * the top of the undo stack when {@link #markSaveLocation()} was last called.
  * Initially, the undo stack is empty, and not dirty.
+ * <P>
+ * The memory used by the undo history can be bounded by a
+ * {@link #setMemoryLimit(long) memory limit}. When the
+ * {@link Command#getEstimatedSize() estimated size} of the commands exceeds
+ * the limit, the oldest commands are discarded, or written to a temporary file
+ * if a {@link #setCommandSerializer(CommandSerializer) serializer} has been
+ * set. Only the commands on the undo stack count against the limit. When the
+ * command at the top of the undo stack is undone, the command below it is read
+ * back from the file. If it cannot be read, the rest of the history is
+ * discarded and event listeners receive a {@link #HISTORY_DISCARDED}
+ * notification.
+ * <P>
+ * A command which {@link Command#canMergeWith(Command, long) can be merged}
+ * with the previously executed command is combined with it into a single undo
+ * step. Listeners are notified as for any other executed command: event
+ * listeners receive a single {@link #PRE_EXECUTE} and {@link #POST_EXECUTE}
+ * notification, and stack listeners are notified, so that the label of the
+ * undo step can be refreshed.
  * 
  * @author hudsonr
  */
@@ -59,6 +79,16 @@ public class CommandStack {
 	 */
 	public static final int POST_MARK_SAVE = 512;
 
+	/**
+	 * Constant indicating notification after the commands of the undo history
+	 * which had been written to the temporary file have been discarded,
+	 * because they could not be read back. The event has no command. It is
+	 * not part of {@link #POST_MASK}, since no notification precedes it.
+	 * 
+	 * @since 3.11
+	 */
+	public static final int HISTORY_DISCARDED = 1024;
+
 	/**
 	 * A bit-mask indicating notification after the command stack has changed.
 	 * This includes after a command has been undone, redone, or executed, as
@@ -139,10 +169,35 @@ public class CommandStack {
 
 	private int saveLocation = 0;
 
-	private Stack undoable = new Stack();
+	/**
+	 * The commands of the undo history which are in memory, oldest first.
+	 */
+	private LinkedList undoable = new LinkedList();
+
+	/**
+	 * The {@link SpillFile.Record records} of the commands below the ones in
+	 * memory, oldest first. There is always a command in memory above them.
+	 */
+	private LinkedList spilled = new LinkedList();
+
+	private SpillFile spillFile;
 
 	private int undoLimit = 0;
 
+	/**
+	 * The command at the top of the undo stack if it has been executed last,
+	 * and the time of its execution.
+	 */
+	private Command lastExecuted;
+	private long lastExecutionTime;
+
+	private long memoryLimit = 0;
+
+	/**
+	 * The estimated size of the commands in memory on the undo stack.
+	 */
+	private long memorySize = 0;
+
 	/**
 	 * Constructs a new command stack. By default, there is no undo limit, and
 	 * isDirty() will return <code>false</code>.
@@ -191,7 +246,25 @@ public class CommandStack {
 	public boolean canUndo() {
 		if (undoable.size() == 0)
 			return false;
-		return ((Command) undoable.peek()).canUndo();
+		return ((Command) undoable.getLast()).canUndo();
+	}
+
+	/**
+	 * Removes the oldest command from the undo history, and moves the save
+	 * location accordingly.
+	 */
+	private void discardOldest() {
+		if (!spilled.isEmpty()) {
+			spilled.removeFirst();
+			if (spilled.isEmpty())
+				spillFile.reset();
+		} else {
+			Command command = (Command) undoable.removeFirst();
+			memorySize -= command.getEstimatedSize();
+			command.dispose();
+		}
+		if (saveLocation > -1)
+			saveLocation--;
 	}
 
 	/**
@@ -199,8 +272,11 @@ public class CommandStack {
 	 * redo stack. Both stacks will be empty afterwards.
 	 */
 	public void dispose() {
+		lastExecuted = null;
 		flushUndo();
 		flushRedo();
+		if (spillFile != null)
+			spillFile.dispose();
 	}
 
 	/**
@@ -226,17 +302,20 @@ public class CommandStack {
 		notifyListeners(command, PRE_EXECUTE);
 		try {
 			command.execute();
-			if (getUndoLimit() > 0) {
-				while (undoable.size() >= getUndoLimit()) {
-					((Command) undoable.remove(0)).dispose();
-					if (saveLocation > -1)
-						saveLocation--;
+			if (!merge(command)) {
+				if (getUndoLimit() > 0) {
+					while (getUndoDepth() >= getUndoLimit())
+						discardOldest();
 				}
+				if (saveLocation > getUndoDepth())
+					saveLocation = -1; // The save point was somewhere in the
+										// redo stack
+				undoable.addLast(command);
+				memorySize += command.getEstimatedSize();
+				lastExecuted = command;
+				lastExecutionTime = System.currentTimeMillis();
+				trimMemory();
 			}
-			if (saveLocation > undoable.size())
-				saveLocation = -1; // The save point was somewhere in the redo
-									// stack
-			undoable.push(command);
 			notifyListeners();
 		} finally {
 			notifyListeners(command, POST_EXECUTE);
@@ -249,6 +328,7 @@ public class CommandStack {
 	 */
 	public void flush() {
 		notifyListeners(null, PRE_FLUSH);
+		lastExecuted = null;
 		flushRedo();
 		flushUndo();
 		saveLocation = 0;
@@ -262,11 +342,21 @@ public class CommandStack {
 	}
 
 	private void flushUndo() {
-		while (!undoable.isEmpty())
-			((Command) undoable.pop()).dispose();
+		while (!undoable.isEmpty()) {
+			Command command = (Command) undoable.removeLast();
+			memorySize -= command.getEstimatedSize();
+			command.dispose();
+		}
+		if (!spilled.isEmpty()) {
+			spilled.clear();
+			spillFile.reset();
+		}
 	}
 
 	/**
+	 * Commands which have been written to the temporary file of the undo
+	 * history are not included.
+	 * 
 	 * @return an array containing all commands in the order they were executed
 	 */
 	public Object[] getCommands() {
@@ -296,7 +386,38 @@ public class CommandStack {
 	 * @return the top of the <i>undo</i> stack, which may be <code>null</code>
 	 */
 	public Command getUndoCommand() {
-		return undoable.isEmpty() ? null : (Command) undoable.peek();
+		return undoable.isEmpty() ? null : (Command) undoable.getLast();
+	}
+
+	/**
+	 * Returns the serializer used to write the oldest commands of the undo
+	 * history to a temporary file.
+	 * 
+	 * @return the serializer or <code>null</code>
+	 * @since 3.11
+	 */
+	public CommandSerializer getCommandSerializer() {
+		return spillFile == null ? null : spillFile.getSerializer();
+	}
+
+	/**
+	 * Returns the memory limit of the undo history, in bytes.
+	 * <code>0</code> is used to indicate no limit.
+	 * 
+	 * @return the memory limit
+	 * @see #setMemoryLimit(long)
+	 * @since 3.11
+	 */
+	public long getMemoryLimit() {
+		return memoryLimit;
+	}
+
+	/**
+	 * Returns the number of commands which can be undone, including those
+	 * which have been written to the temporary file.
+	 */
+	private int getUndoDepth() {
+		return spilled.size() + undoable.size();
 	}
 
 	/**
@@ -318,7 +439,7 @@ public class CommandStack {
 	 * @return <code>true</code> if the stack is dirty
 	 */
 	public boolean isDirty() {
-		return undoable.size() != saveLocation;
+		return getUndoDepth() != saveLocation;
 	}
 
 	/**
@@ -328,11 +449,39 @@ public class CommandStack {
 	 */
 	public void markSaveLocation() {
 		notifyListeners(null, PRE_MARK_SAVE);
-		saveLocation = undoable.size();
+		saveLocation = getUndoDepth();
 		notifyListeners();
 		notifyListeners(null, POST_MARK_SAVE);
 	}
 
+	/**
+	 * Merges the given command, which has just been executed, with the
+	 * previously executed command if both agree. Commands are not merged
+	 * across the save location, so that the stack becomes dirty.
+	 * 
+	 * @return <code>true</code> if the command has been merged
+	 */
+	private boolean merge(Command command) {
+		Command previous = lastExecuted;
+		if (previous == null || undoable.isEmpty()
+				|| undoable.getLast() != previous
+				|| saveLocation == getUndoDepth())
+			return false;
+		long now = System.currentTimeMillis();
+		if (!command.canMergeWith(previous, now - lastExecutionTime))
+			return false;
+		// the size of the previous command may change while merging
+		memorySize -= previous.getEstimatedSize();
+		Command merged = command.mergeWith(previous);
+		undoable.removeLast();
+		undoable.addLast(merged);
+		memorySize += merged.getEstimatedSize();
+		lastExecuted = merged;
+		lastExecutionTime = now;
+		trimMemory();
+		return true;
+	}
+
 	/**
 	 * Sends notification to all {@link CommandStackListener}s.
 	 * 
@@ -372,10 +521,13 @@ public class CommandStack {
 		if (!canRedo())
 			return;
 		Command command = (Command) redoable.pop();
+		lastExecuted = null;
 		notifyListeners(command, PRE_REDO);
 		try {
 			command.redo();
-			undoable.push(command);
+			undoable.addLast(command);
+			memorySize += command.getEstimatedSize();
+			trimMemory();
 			notifyListeners();
 		} finally {
 			notifyListeners(command, POST_REDO);
@@ -404,6 +556,106 @@ public class CommandStack {
 		listeners.remove(listener);
 	}
 
+	/**
+	 * Reads the most recent command written to the temporary file back into
+	 * memory, once the last command in memory has been removed. If it cannot
+	 * be read, the history written to the file is discarded and listeners are
+	 * notified.
+	 */
+	private void restoreSpilled() {
+		if (!undoable.isEmpty() || spilled.isEmpty())
+			return;
+		SpillFile.Record record = (SpillFile.Record) spilled.removeLast();
+		try {
+			Command command = spillFile.read(record);
+			undoable.addLast(command);
+			memorySize += command.getEstimatedSize();
+			if (spilled.isEmpty())
+				spillFile.reset();
+		} catch (IOException e) {
+			// the history below this command cannot be undone either
+			spilled.addLast(record);
+			while (!spilled.isEmpty())
+				discardOldest();
+			notifyListeners();
+			notifyListeners(null, HISTORY_DISCARDED);
+		}
+	}
+
+	/**
+	 * Sets the serializer used to write the oldest commands of the undo
+	 * history to a temporary file when the {@link #setMemoryLimit(long) memory
+	 * limit} is exceeded. Without a serializer, these commands are discarded.
+	 * Commands written with a previous serializer are discarded.
+	 * 
+	 * @param serializer
+	 *            the serializer or <code>null</code>
+	 * @since 3.11
+	 */
+	public void setCommandSerializer(CommandSerializer serializer) {
+		while (!spilled.isEmpty())
+			discardOldest();
+		if (spillFile != null)
+			spillFile.dispose();
+		spillFile = serializer == null ? null : new SpillFile(serializer);
+	}
+
+	/**
+	 * Sets the memory limit of the undo history, in bytes. When the
+	 * {@link Command#getEstimatedSize() estimated size} of the commands in
+	 * memory exceeds the limit, the oldest commands of the undo history are
+	 * written to a temporary file if a
+	 * {@link #setCommandSerializer(CommandSerializer) serializer} is set and
+	 * can write them, or are discarded otherwise. The most recent command is
+	 * always kept. <code>0</code> is used to indicate no limit.
+	 * 
+	 * @param limit
+	 *            the memory limit in bytes
+	 * @since 3.11
+	 */
+	public void setMemoryLimit(long limit) {
+		memoryLimit = limit;
+		trimMemory();
+	}
+
+	/**
+	 * Writes the given command, which is the oldest in memory, to the
+	 * temporary file.
+	 * 
+	 * @return <code>true</code> if the command has been written
+	 */
+	private boolean spill(Command command) {
+		if (spillFile == null
+				|| !spillFile.getSerializer().canSerialize(command))
+			return false;
+		try {
+			spilled.addLast(spillFile.write(command));
+		} catch (IOException e) {
+			return false;
+		}
+		undoable.removeFirst();
+		memorySize -= command.getEstimatedSize();
+		command.dispose();
+		return true;
+	}
+
+	/**
+	 * Moves the oldest commands out of memory until the memory limit is met.
+	 * Commands which cannot be written are discarded together with the
+	 * commands below them.
+	 */
+	private void trimMemory() {
+		if (memoryLimit <= 0)
+			return;
+		while (memorySize > memoryLimit && undoable.size() > 1) {
+			if (!spill((Command) undoable.getFirst())) {
+				while (!spilled.isEmpty())
+					discardOldest();
+				discardOldest();
+			}
+		}
+	}
+
 	/**
 	 * Sets the undo limit. The undo limit is the maximum number of atomic
 	 * operations that the User can undo. <code>-1</code> is used to indicate no
@@ -425,7 +677,10 @@ public class CommandStack {
 		if (!canUndo())
 			return;
 		// Assert.isTrue(canUndo());
-		Command command = (Command) undoable.pop();
+		Command command = (Command) undoable.removeLast();
+		memorySize -= command.getEstimatedSize();
+		lastExecuted = null;
+		restoreSpilled();
 		notifyListeners(command, PRE_UNDO);
 		try {
 			command.undo();
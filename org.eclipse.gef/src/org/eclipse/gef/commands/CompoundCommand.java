@@ -148,6 +148,19 @@ public class CompoundCommand extends Command {
 		return commandList;
 	}
 
+	/**
+	 * Returns the sum of the estimated sizes of the contained Commands.
+	 * 
+	 * @see org.eclipse.gef.commands.Command#getEstimatedSize()
+	 * @since 3.11
+	 */
+	public int getEstimatedSize() {
+		int size = super.getEstimatedSize();
+		for (int i = 0; i < commandList.size(); i++)
+			size += ((Command) commandList.get(i)).getEstimatedSize();
+		return size;
+	}
+
 	/**
 	 * @see org.eclipse.gef.commands.Command#getLabel()
 	 */
@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.gef.commands;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+/**
+ * A temporary file holding the serialized commands at the bottom of a
+ * {@link CommandStack}. Commands are appended when they are spilled and are
+ * read back in the reverse order, so the file is truncated whenever a command
+ * is read back.
+ *
+ * @since 3.11
+ */
+class SpillFile {
+
+	/**
+	 * The location of a serialized command in the file.
+	 */
+	static class Record {
+		final long offset;
+		final int length;
+
+		Record(long offset, int length) {
+			this.offset = offset;
+			this.length = length;
+		}
+	}
+
+	private final CommandSerializer serializer;
+	private File file;
+	private RandomAccessFile data;
+
+	/**
+	 * Creates a spill file which is opened when the first command is written.
+	 *
+	 * @param serializer
+	 *            the serializer
+	 */
+	SpillFile(CommandSerializer serializer) {
+		this.serializer = serializer;
+	}
+
+	/**
+	 * Closes and deletes the file.
+	 */
+	void dispose() {
+		if (data != null) {
+			try {
+				data.close();
+			} catch (IOException e) {
+				// the file is deleted anyway
+			}
+			data = null;
+		}
+		if (file != null) {
+			file.delete();
+			file = null;
+		}
+	}
+
+	/**
+	 * Returns the serializer used to write and read commands.
+	 *
+	 * @return the serializer
+	 */
+	CommandSerializer getSerializer() {
+		return serializer;
+	}
+
+	/**
+	 * Reads the command at the given record and discards the rest of the file,
+	 * which must only contain commands which have been read already.
+	 *
+	 * @param record
+	 *            the last record which has been written and not read
+	 * @return the command
+	 * @throws IOException
+	 *             if the command could not be read
+	 */
+	Command read(Record record) throws IOException {
+		byte[] bytes = new byte[record.length];
+		data.seek(record.offset);
+		data.readFully(bytes);
+		data.setLength(record.offset);
+		return serializer.deserialize(new ByteArrayInputStream(bytes));
+	}
+
+	/**
+	 * Discards the contents of the file.
+	 */
+	void reset() {
+		if (data == null)
+			return;
+		try {
+			data.setLength(0);
+		} catch (IOException e) {
+			dispose();
+		}
+	}
+
+	/**
+	 * Appends the given command.
+	 *
+	 * @param command
+	 *            the command
+	 * @return the record where the command has been written
+	 * @throws IOException
+	 *             if the command could not be written
+	 */
+	Record write(Command command) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		serializer.serialize(command, bytes);
+		if (data == null) {
+			file = File.createTempFile("gef-undo", ".tmp"); //$NON-NLS-1$//$NON-NLS-2$
+			file.deleteOnExit();
+			data = new RandomAccessFile(file, "rw"); //$NON-NLS-1$
+		}
+		long offset = data.length();
+		data.seek(offset);
+		data.write(bytes.toByteArray());
+		return new Record(offset, bytes.size());
+	}
+
+}
@@ -720,8 +720,13 @@ public abstract class AbstractEditPart implements EditPart, RequestConstants,
 	 * structural features. It also calls {@link #refreshVisuals()} to update
 	 * its own displayed properties. Subclasses should extend this method to
 	 * handle additional types of structural refreshing.
+	 * <P>
+	 * While a {@link RefreshTransaction} is open in the viewer, the refresh is
+	 * deferred until the transaction is committed.
 	 */
 	public void refresh() {
+		if (RefreshTransaction.defer(this, RefreshTransaction.REFRESH))
+			return;
 		refreshVisuals();
 		refreshChildren();
 	}
@@ -742,8 +747,11 @@ public abstract class AbstractEditPart implements EditPart, RequestConstants,
 	 * This method should <em>not</em> be overridden.
 	 * 
 	 * @see #getModelChildren()
+	 * @see RefreshTransaction
 	 */
 	protected void refreshChildren() {
+		if (RefreshTransaction.defer(this, RefreshTransaction.CHILDREN))
+			return;
 		int i;
 		EditPart editPart;
 		Object model;
@@ -661,8 +661,13 @@ public abstract class AbstractGraphicalEditPart extends AbstractEditPart
 	 * <code>getModelSourceChildren()</code>.
 	 * <P>
 	 * This method should <em>not</em> be overridden.
+	 * 
+	 * @see RefreshTransaction
 	 */
 	protected void refreshSourceConnections() {
+		if (RefreshTransaction.defer(this,
+				RefreshTransaction.SOURCE_CONNECTIONS))
+			return;
 		int i;
 		ConnectionEditPart editPart;
 		Object model;
@@ -724,8 +729,13 @@ public abstract class AbstractGraphicalEditPart extends AbstractEditPart
 	 * <code>getModelTargetChildren()</code>.
 	 * <P>
 	 * This method should <em>not</em> be overridden.
+	 * 
+	 * @see RefreshTransaction
 	 */
 	protected void refreshTargetConnections() {
+		if (RefreshTransaction.defer(this,
+				RefreshTransaction.TARGET_CONNECTIONS))
+			return;
 		int i;
 		ConnectionEditPart editPart;
 		Object model;
@@ -0,0 +1,259 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.gef.editparts;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.gef.EditPart;
+import org.eclipse.gef.EditPartViewer;
+import org.eclipse.gef.RootEditPart;
+
+/**
+ * Batches the structural refreshes of the edit parts in a viewer. While a
+ * transaction is open, calls to {@link AbstractEditPart#refresh()},
+ * {@link AbstractEditPart#refreshChildren()},
+ * {@link AbstractGraphicalEditPart#refreshSourceConnections()} and
+ * {@link AbstractGraphicalEditPart#refreshTargetConnections()} only mark the
+ * edit part as dirty. When the outermost transaction is committed, every dirty
+ * edit part is refreshed once, parents before their children, and the viewer
+ * is {@link EditPartViewer#flush() flushed} if a flush was requested in
+ * between. This avoids diffing the children of an edit part again for every
+ * model notification of a bulk change.
+ * <P>
+ * {@link AbstractEditPart#refreshVisuals()} is usually overridden and is not
+ * deferred. Clients making many changes may call <code>refresh()</code> from
+ * their model listeners instead.
+ * <P>
+ * Transactions may be nested. Typical usage:
+ *
+ * <pre>
+ * RefreshTransaction transaction = RefreshTransaction.begin(viewer);
+ * try {
+ * 	// change the model
+ * } finally {
+ * 	transaction.commit();
+ * }
+ * </pre>
+ *
+ * @since 3.11
+ */
+public final class RefreshTransaction {
+
+	/**
+	 * The viewer property under which the open transaction is stored.
+	 */
+	public static final String PROPERTY = "RefreshTransaction"; //$NON-NLS-1$
+
+	static final int REFRESH = 1;
+	static final int CHILDREN = 2;
+	static final int SOURCE_CONNECTIONS = 4;
+	static final int TARGET_CONNECTIONS = 8;
+
+	/**
+	 * The number of open transactions in all viewers, so that edit parts need
+	 * not look up their viewer when there is none.
+	 */
+	private static int openCount;
+
+	private final EditPartViewer viewer;
+	private int depth;
+	private boolean committing;
+	private boolean flushRequested;
+	private Throwable failure;
+	private final Map pending = new LinkedHashMap();
+
+	private RefreshTransaction(EditPartViewer viewer) {
+		this.viewer = viewer;
+	}
+
+	/**
+	 * Opens a transaction for the given viewer, or joins the transaction which
+	 * is already open.
+	 *
+	 * @param viewer
+	 *            the viewer
+	 * @return the transaction, which must be committed
+	 */
+	public static RefreshTransaction begin(EditPartViewer viewer) {
+		RefreshTransaction transaction = getOpenTransaction(viewer);
+		if (transaction == null) {
+			transaction = new RefreshTransaction(viewer);
+			viewer.setProperty(PROPERTY, transaction);
+			openCount++;
+		}
+		transaction.depth++;
+		return transaction;
+	}
+
+	/**
+	 * Returns the open transaction of the given viewer.
+	 *
+	 * @param viewer
+	 *            the viewer
+	 * @return the transaction or <code>null</code>
+	 */
+	public static RefreshTransaction getOpenTransaction(EditPartViewer viewer) {
+		if (openCount == 0 || viewer == null)
+			return null;
+		Object transaction = viewer.getProperty(PROPERTY);
+		if (transaction instanceof RefreshTransaction)
+			return (RefreshTransaction) transaction;
+		return null;
+	}
+
+	/**
+	 * Marks the given edit part as dirty if a transaction is open in its
+	 * viewer.
+	 *
+	 * @param part
+	 *            the edit part
+	 * @param kind
+	 *            what needs to be refreshed
+	 * @return <code>true</code> if the refresh has been deferred
+	 */
+	static boolean defer(AbstractEditPart part, int kind) {
+		if (openCount == 0)
+			return false;
+		RefreshTransaction transaction = getOpenTransaction(part.getViewer());
+		return transaction != null && transaction.add(part, kind);
+	}
+
+	/**
+	 * Records that the viewer should be flushed, if a transaction is open.
+	 *
+	 * @param viewer
+	 *            the viewer
+	 * @return <code>true</code> if the flush has been deferred
+	 */
+	public static boolean deferFlush(EditPartViewer viewer) {
+		RefreshTransaction transaction = getOpenTransaction(viewer);
+		if (transaction == null)
+			return false;
+		transaction.flushRequested = true;
+		return true;
+	}
+
+	private boolean add(AbstractEditPart part, int kind) {
+		Integer flags = (Integer) pending.get(part);
+		if (committing && flags == null)
+			// the part has been refreshed already, or is new
+			return false;
+		if (flags != null)
+			kind |= flags.intValue();
+		pending.put(part, new Integer(kind));
+		return true;
+	}
+
+	/**
+	 * Commits this transaction. If it is the outermost one, the dirty edit
+	 * parts are refreshed. If the refresh of an edit part fails, the other
+	 * edit parts are still refreshed, and the first failure is rethrown
+	 * afterwards.
+	 */
+	public void commit() {
+		if (depth == 0 || committing)
+			return;
+		if (--depth > 0)
+			return;
+		committing = true;
+		try {
+			RootEditPart root = viewer.getRootEditPart();
+			if (root != null && !pending.isEmpty()) {
+				refreshInTreeOrder(root, getAncestors());
+				// connections, which are not children of any edit part
+				while (!pending.isEmpty()) {
+					Iterator iter = pending.keySet().iterator();
+					refresh((AbstractEditPart) iter.next(), root);
+				}
+			}
+		} finally {
+			pending.clear();
+			committing = false;
+			viewer.setProperty(PROPERTY, null);
+			openCount--;
+		}
+		Throwable rethrown = failure;
+		failure = null;
+		if (flushRequested)
+			viewer.flush();
+		if (rethrown instanceof RuntimeException)
+			throw (RuntimeException) rethrown;
+		if (rethrown instanceof Error)
+			throw (Error) rethrown;
+	}
+
+	/**
+	 * Returns the dirty edit parts and their ancestors.
+	 */
+	private Map getAncestors() {
+		Map ancestors = new IdentityHashMap();
+		for (Iterator iter = pending.keySet().iterator(); iter.hasNext();) {
+			EditPart part = (EditPart) iter.next();
+			while (part != null && ancestors.put(part, part) == null)
+				part = part.getParent();
+		}
+		return ancestors;
+	}
+
+	/**
+	 * Refreshes the dirty edit parts below the given edit part, depth-first.
+	 * The children are read after refreshing their parent, so that removed
+	 * children are skipped.
+	 */
+	private void refreshInTreeOrder(EditPart part, Map ancestors) {
+		if (pending.containsKey(part))
+			refresh((AbstractEditPart) part, viewer.getRootEditPart());
+		List children = new ArrayList(part.getChildren());
+		for (int i = 0; i < children.size(); i++) {
+			EditPart child = (EditPart) children.get(i);
+			if (ancestors.containsKey(child))
+				refreshInTreeOrder(child, ancestors);
+		}
+	}
+
+	private void refresh(AbstractEditPart part, RootEditPart root) {
+		int flags = ((Integer) pending.remove(part)).intValue();
+		// parts which have been removed from the viewer are not refreshed
+		if (part.getRoot() != root)
+			return;
+		try {
+			refresh(part, flags);
+		} catch (RuntimeException e) {
+			if (failure == null)
+				failure = e;
+		} catch (Error e) {
+			if (failure == null)
+				failure = e;
+		}
+	}
+
+	private void refresh(AbstractEditPart part, int flags) {
+		if ((flags & REFRESH) != 0) {
+			part.refresh();
+			return;
+		}
+		if ((flags & CHILDREN) != 0)
+			part.refreshChildren();
+		if (part instanceof AbstractGraphicalEditPart) {
+			AbstractGraphicalEditPart graphical = (AbstractGraphicalEditPart) part;
+			if ((flags & SOURCE_CONNECTIONS) != 0)
+				graphical.refreshSourceConnections();
+			if ((flags & TARGET_CONNECTIONS) != 0)
+				graphical.refreshTargetConnections();
+		}
+	}
+
+}
@@ -0,0 +1,341 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.gef.editpolicies;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.eclipse.swt.events.DisposeEvent;
+import org.eclipse.swt.events.DisposeListener;
+import org.eclipse.swt.widgets.Control;
+
+import org.eclipse.jface.viewers.ISelectionChangedListener;
+import org.eclipse.jface.viewers.SelectionChangedEvent;
+
+import org.eclipse.draw2d.ColorConstants;
+import org.eclipse.draw2d.Figure;
+import org.eclipse.draw2d.FigureListener;
+import org.eclipse.draw2d.Graphics;
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.SpatialIndex;
+import org.eclipse.draw2d.Viewport;
+import org.eclipse.draw2d.geometry.Rectangle;
+
+import org.eclipse.gef.EditPartViewer;
+import org.eclipse.gef.GraphicalViewer;
+import org.eclipse.gef.LayerConstants;
+import org.eclipse.gef.handles.HandleBounds;
+
+/**
+ * Defers the creation of selection handles for edit parts which are outside
+ * the visible area of a viewer while a large number of edit parts is
+ * selected. The selection of these edit parts is painted as plain outlines by a
+ * single figure in the handle layer. The outlines are kept in a
+ * {@link SpatialIndex}, so that whenever the viewer is scrolled or resized,
+ * the handles of the edit parts which have become visible are created without
+ * visiting every deferred edit part. The host figures are listened to as well,
+ * so that a host which moves into the visible area gets its handles, and the
+ * outline of a host which moves elsewhere follows it.
+ * <P>
+ * Since the selection is built one edit part at a time, any edit part outside
+ * the visible area is deferred. Once the selection has changed, all handles
+ * are created if fewer than {@link #MIN_SELECTION} edit parts are selected.
+ * <P>
+ * One instance exists per viewer while it has deferred edit parts.
+ *
+ * @since 3.11
+ */
+final class DeferredHandles extends Figure implements PropertyChangeListener,
+		FigureListener, ISelectionChangedListener, DisposeListener {
+
+	/**
+	 * Handles are only deferred while at least this many edit parts are
+	 * selected in the viewer.
+	 */
+	static final int MIN_SELECTION = 64;
+
+	/**
+	 * Maps viewers to their instances.
+	 */
+	private static final Map INSTANCES = new WeakHashMap();
+
+	private final EditPartViewer viewer;
+	private final IFigure layer;
+	private final Control control;
+	private final Viewport viewport;
+
+	/**
+	 * Maps the host figures to the policies whose handles are deferred.
+	 */
+	private final Map hosts = new LinkedHashMap();
+
+	/**
+	 * The outlines of the deferred policies, in the coordinates of the handle
+	 * layer.
+	 */
+	private final SpatialIndex outlines = new SpatialIndex();
+	private int order;
+	private boolean revealing;
+
+	private DeferredHandles(EditPartViewer viewer, IFigure layer) {
+		this.viewer = viewer;
+		this.layer = layer;
+		control = viewer.getControl();
+		IFigure parent = layer.getParent();
+		while (parent != null && !(parent instanceof Viewport))
+			parent = parent.getParent();
+		viewport = (Viewport) parent;
+		if (viewport != null) {
+			viewport.getHorizontalRangeModel().addPropertyChangeListener(this);
+			viewport.getVerticalRangeModel().addPropertyChangeListener(this);
+			viewport.addFigureListener(this);
+		}
+		setForegroundColor(ColorConstants.black);
+		layer.add(this);
+		viewer.addSelectionChangedListener(this);
+		control.addDisposeListener(this);
+		INSTANCES.put(viewer, this);
+	}
+
+	/**
+	 * Defers the handles of the given policy if its host is not visible.
+	 *
+	 * @param policy
+	 *            the policy about to add its handles
+	 * @return <code>true</code> if the handles have been deferred
+	 */
+	static boolean defer(SelectionHandlesEditPolicy policy) {
+		EditPartViewer viewer = policy.getHost().getViewer();
+		if (!(viewer instanceof GraphicalViewer)
+				|| viewer.getControl() == null)
+			return false;
+		DeferredHandles instance = getInstance(viewer);
+		if (instance != null && instance.revealing)
+			return false;
+		org.eclipse.swt.graphics.Point size = viewer.getControl().getSize();
+		if (getAbsoluteBounds(policy).intersects(
+				new Rectangle(0, 0, size.x, size.y)))
+			return false;
+		if (instance == null)
+			instance = new DeferredHandles(viewer,
+					policy.getLayer(LayerConstants.HANDLE_LAYER));
+		instance.add(policy);
+		return true;
+	}
+
+	/**
+	 * Stops deferring the handles of the given policy, if they are deferred.
+	 *
+	 * @param policy
+	 *            the policy removing its handles
+	 */
+	static void remove(SelectionHandlesEditPolicy policy) {
+		DeferredHandles instance = getInstance(policy.getHost().getViewer());
+		if (instance != null && instance.forget(policy)) {
+			instance.repaint(instance.getOutline(policy));
+			if (instance.hosts.isEmpty())
+				instance.dispose();
+		}
+	}
+
+	private static DeferredHandles getInstance(EditPartViewer viewer) {
+		if (viewer == null)
+			return null;
+		return (DeferredHandles) INSTANCES.get(viewer);
+	}
+
+	private static Rectangle getAbsoluteBounds(
+			SelectionHandlesEditPolicy policy) {
+		IFigure figure = policy.getHostFigure();
+		Rectangle r = figure instanceof HandleBounds ? ((HandleBounds) figure)
+				.getHandleBounds().getCopy() : figure.getBounds().getCopy();
+		figure.translateToAbsolute(r);
+		return r;
+	}
+
+	private void add(SelectionHandlesEditPolicy policy) {
+		IFigure host = policy.getHostFigure();
+		hosts.put(host, policy);
+		host.addFigureListener(this);
+		Rectangle outline = getOutline(policy);
+		outlines.put(policy, outline, order++);
+		addOutline(outline);
+	}
+
+	/**
+	 * Includes the given outline in the bounds and repaints it.
+	 */
+	private void addOutline(Rectangle outline) {
+		if (getBounds().isEmpty())
+			setBounds(outline);
+		else if (!getBounds().contains(outline))
+			setBounds(getBounds().getUnion(outline));
+		repaint(outline);
+	}
+
+	/**
+	 * Removes the given policy, returning whether it was deferred.
+	 */
+	private boolean forget(SelectionHandlesEditPolicy policy) {
+		IFigure host = policy.getHostFigure();
+		if (hosts.get(host) != policy)
+			return false;
+		hosts.remove(host);
+		host.removeFigureListener(this);
+		outlines.remove(policy);
+		return true;
+	}
+
+	private void dispose() {
+		if (getInstance(viewer) == this)
+			INSTANCES.remove(viewer);
+		Object[] figures = hosts.keySet().toArray();
+		for (int i = 0; i < figures.length; i++)
+			((IFigure) figures[i]).removeFigureListener(this);
+		hosts.clear();
+		outlines.clear();
+		viewer.removeSelectionChangedListener(this);
+		if (!control.isDisposed())
+			control.removeDisposeListener(this);
+		if (viewport != null) {
+			viewport.getHorizontalRangeModel().removePropertyChangeListener(
+					this);
+			viewport.getVerticalRangeModel().removePropertyChangeListener(this);
+			viewport.removeFigureListener(this);
+		}
+		layer.remove(this);
+	}
+
+	/**
+	 * Returns the outline of the given policy's host in the coordinates of the
+	 * handle layer.
+	 */
+	private Rectangle getOutline(SelectionHandlesEditPolicy policy) {
+		Rectangle r = getAbsoluteBounds(policy);
+		translateToRelative(r);
+		return r;
+	}
+
+	/**
+	 * Returns the visible area of the viewer in the coordinates of the handle
+	 * layer.
+	 */
+	private Rectangle getVisibleArea() {
+		org.eclipse.swt.graphics.Point size = control.getSize();
+		Rectangle r = new Rectangle(0, 0, size.x, size.y);
+		translateToRelative(r);
+		return r;
+	}
+
+	/**
+	 * Creates the handles of the deferred edit parts which have become
+	 * visible, or of all deferred edit parts if the selection has become
+	 * small.
+	 */
+	private void revealVisibleHandles() {
+		if (revealing || control.isDisposed())
+			return;
+		List revealed;
+		if (viewer.getSelectedEditParts().size() < MIN_SELECTION)
+			revealed = new ArrayList(hosts.values());
+		else
+			revealed = outlines.query(getVisibleArea());
+		for (int i = 0; i < revealed.size(); i++)
+			forget((SelectionHandlesEditPolicy) revealed.get(i));
+		reveal(revealed);
+	}
+
+	/**
+	 * Creates the handles of the given policies, which have been removed.
+	 */
+	private void reveal(List policies) {
+		revealing = true;
+		try {
+			for (int i = 0; i < policies.size(); i++)
+				((SelectionHandlesEditPolicy) policies.get(i))
+						.addSelectionHandles();
+		} finally {
+			revealing = false;
+		}
+		if (hosts.isEmpty() && getInstance(viewer) == this)
+			dispose();
+	}
+
+	/**
+	 * Re-checks the visible edit parts if the viewport has been resized, or
+	 * moves the outline of a deferred host figure.
+	 *
+	 * @see org.eclipse.draw2d.FigureListener#figureMoved(IFigure)
+	 */
+	public void figureMoved(IFigure source) {
+		if (source == viewport) {
+			revealVisibleHandles();
+			return;
+		}
+		SelectionHandlesEditPolicy policy = (SelectionHandlesEditPolicy) hosts
+				.get(source);
+		if (policy == null || revealing)
+			return;
+		// the previous outline is somewhere within the bounds
+		repaint();
+		Rectangle outline = getOutline(policy);
+		if (outline.intersects(getVisibleArea())) {
+			forget(policy);
+			reveal(Collections.singletonList(policy));
+		} else {
+			outlines.update(policy, outline);
+			addOutline(outline);
+		}
+	}
+
+	/**
+	 * @see java.beans.PropertyChangeListener#propertyChange(PropertyChangeEvent)
+	 */
+	public void propertyChange(PropertyChangeEvent evt) {
+		revealVisibleHandles();
+	}
+
+	/**
+	 * @see ISelectionChangedListener#selectionChanged(SelectionChangedEvent)
+	 */
+	public void selectionChanged(SelectionChangedEvent event) {
+		revealVisibleHandles();
+	}
+
+	/**
+	 * @see DisposeListener#widgetDisposed(DisposeEvent)
+	 */
+	public void widgetDisposed(DisposeEvent e) {
+		dispose();
+	}
+
+	/**
+	 * Paints an outline for every deferred edit part which intersects the
+	 * clip.
+	 *
+	 * @see org.eclipse.draw2d.Figure#paintFigure(Graphics)
+	 */
+	protected void paintFigure(Graphics graphics) {
+		List policies = outlines.query(graphics.getClip(new Rectangle()));
+		for (int i = 0; i < policies.size(); i++) {
+			Rectangle r = getOutline((SelectionHandlesEditPolicy) policies
+					.get(i));
+			graphics.drawRectangle(r.x, r.y, r.width - 1, r.height - 1);
+		}
+	}
+
+}
@@ -38,6 +38,7 @@ import org.eclipse.gef.handles.ResizableHandleKit;
 import org.eclipse.gef.requests.AlignmentRequest;
 import org.eclipse.gef.requests.ChangeBoundsRequest;
 import org.eclipse.gef.tools.DragEditPartsTracker;
+import org.eclipse.gef.tools.DragFeedbackFigure;
 import org.eclipse.gef.tools.ResizeTracker;
 import org.eclipse.gef.tools.SelectEditPartTracker;
 
@@ -298,6 +299,22 @@ public class NonResizableEditPolicy extends SelectionHandlesEditPolicy {
 		focusRect = null;
 	}
 
+	/**
+	 * Returns whether this policy adds the outline of its host to a shared
+	 * {@link DragFeedbackFigure}, if the drag tracker offers one, instead of
+	 * showing its own {@link #getDragSourceFeedbackFigure() feedback figure}.
+	 * The shared figure paints the same ghost rectangles as the default
+	 * feedback. Subclasses which change how the drag feedback figure is
+	 * created, shown or erased must override this method to return
+	 * <code>false</code>, so that their feedback is used for any selection.
+	 * 
+	 * @return <code>true</code> if a shared feedback figure may be used
+	 * @since 3.11
+	 */
+	protected boolean isSharedFeedbackSupported() {
+		return true;
+	}
+
 	/**
 	 * Returns true if this EditPolicy allows its EditPart to be dragged.
 	 * 
@@ -321,12 +338,32 @@ public class NonResizableEditPolicy extends SelectionHandlesEditPolicy {
 	}
 
 	/**
-	 * Shows or updates feedback for a change bounds request.
+	 * Shows or updates feedback for a change bounds request. If the request
+	 * carries a shared {@link DragFeedbackFigure} and
+	 * {@link #isSharedFeedbackSupported()} returns <code>true</code>, the
+	 * outline of the host is added to the shared figure instead.
 	 * 
 	 * @param request
 	 *            the request
 	 */
 	protected void showChangeBoundsFeedback(ChangeBoundsRequest request) {
+		Object shared = request.getExtendedData().get(
+				DragFeedbackFigure.KEY_DRAG_FEEDBACK);
+		if (shared instanceof DragFeedbackFigure
+				&& isSharedFeedbackSupported()) {
+			// the tracker moves the shared outlines, so the host's outline
+			// only needs to be added once
+			DragFeedbackFigure sharedFeedback = (DragFeedbackFigure) shared;
+			if (!sharedFeedback.containsOutline(getHost())) {
+				PrecisionRectangle rect = new PrecisionRectangle(
+						getInitialFeedbackBounds().getCopy());
+				getHostFigure().translateToAbsolute(rect);
+				sharedFeedback.translateToRelative(rect);
+				sharedFeedback.addOutline(getHost(), rect);
+			}
+			return;
+		}
+
 		IFigure feedback = getDragSourceFeedbackFigure();
 
 		PrecisionRectangle rect = new PrecisionRectangle(
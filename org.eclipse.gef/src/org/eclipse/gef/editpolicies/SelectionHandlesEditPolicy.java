@@ -32,6 +32,11 @@ import org.eclipse.gef.LayerConstants;
  * {@link org.eclipse.core.runtime.IAdaptable} for accessibility support. If any
  * of the managed Handles provide accesible locations, then a
  * {@link org.eclipse.gef.AccessibleHandleProvider} is automatically created.
+ * <P>
+ * While a large number of edit parts is selected, the handles of edit parts
+ * which are outside the visible area of the viewer are not created. Their
+ * selection is painted as a plain outline instead, and their handles are
+ * created when they are scrolled into view.
  * 
  * @since 2.0
  */
@@ -48,6 +53,8 @@ public abstract class SelectionHandlesEditPolicy extends SelectionEditPolicy
 	 */
 	protected void addSelectionHandles() {
 		removeSelectionHandles();
+		if (DeferredHandles.defer(this))
+			return;
 		IFigure layer = getLayer(LayerConstants.HANDLE_LAYER);
 		handles = createSelectionHandles();
 		for (int i = 0; i < handles.size(); i++)
@@ -96,6 +103,7 @@ public abstract class SelectionHandlesEditPolicy extends SelectionEditPolicy
 	 * removes the selection handles from the selection layer.
 	 */
 	protected void removeSelectionHandles() {
+		DeferredHandles.remove(this);
 		if (handles == null)
 			return;
 		IFigure layer = getLayer(LayerConstants.HANDLE_LAYER);
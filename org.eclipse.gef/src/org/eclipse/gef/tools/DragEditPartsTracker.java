@@ -11,7 +11,9 @@
 package org.eclipse.gef.tools;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 
@@ -31,6 +33,7 @@ import org.eclipse.draw2d.geometry.PrecisionRectangle;
 import org.eclipse.gef.AutoexposeHelper;
 import org.eclipse.gef.EditPart;
 import org.eclipse.gef.EditPartViewer;
+import org.eclipse.gef.EditPolicy;
 import org.eclipse.gef.GraphicalEditPart;
 import org.eclipse.gef.LayerConstants;
 import org.eclipse.gef.Request;
@@ -41,6 +44,7 @@ import org.eclipse.gef.commands.Command;
 import org.eclipse.gef.commands.CompoundCommand;
 import org.eclipse.gef.commands.UnexecutableCommand;
 import org.eclipse.gef.editparts.LayerManager;
+import org.eclipse.gef.editpolicies.OrderedLayoutEditPolicy;
 import org.eclipse.gef.handles.HandleBounds;
 import org.eclipse.gef.requests.ChangeBoundsRequest;
 
@@ -68,6 +72,13 @@ public class DragEditPartsTracker extends SelectEditPartTracker {
 	static final int MODIFIER_CONSTRAINED_MOVE = SWT.SHIFT;
 
 	private static final int FLAG_SOURCE_FEEDBACK = SelectEditPartTracker.MAX_FLAG << 1;
+
+	/**
+	 * The size of the operation set from which on a shared
+	 * {@link DragFeedbackFigure} is offered to the edit parts.
+	 */
+	private static final int MIN_SHARED_FEEDBACK = 16;
+
 	/** Max flag */
 	protected static final int MAX_FLAG = FLAG_SOURCE_FEEDBACK;
 	private List exclusionSet;
@@ -75,6 +86,10 @@ public class DragEditPartsTracker extends SelectEditPartTracker {
 	private SnapToHelper snapToHelper;
 	private PrecisionRectangle sourceRectangle, compoundSrcRect;
 	private boolean cloneActive;
+	private boolean deferCommand;
+	private Object cachedCommandKey;
+	private Command cachedCommand;
+	private DragFeedbackFigure sharedFeedback;
 
 	/**
 	 * Constructs a new DragEditPartsTracker with the given source edit part.
@@ -265,6 +280,8 @@ public class DragEditPartsTracker extends SelectEditPartTracker {
 		sourceRectangle = null;
 		compoundSrcRect = null;
 		snapToHelper = null;
+		cachedCommandKey = null;
+		cachedCommand = null;
 	}
 
 	/**
@@ -272,13 +289,19 @@ public class DragEditPartsTracker extends SelectEditPartTracker {
 	 * operation set} to erase their source feedback.
 	 */
 	protected void eraseSourceFeedback() {
-		if (!getFlag(FLAG_SOURCE_FEEDBACK))
-			return;
-		setFlag(FLAG_SOURCE_FEEDBACK, false);
-		List editParts = getOperationSet();
-		for (int i = 0; i < editParts.size(); i++) {
-			EditPart editPart = (EditPart) editParts.get(i);
-			editPart.eraseSourceFeedback(getTargetRequest());
+		if (getFlag(FLAG_SOURCE_FEEDBACK)) {
+			setFlag(FLAG_SOURCE_FEEDBACK, false);
+			List editParts = getOperationSet();
+			for (int i = 0; i < editParts.size(); i++) {
+				EditPart editPart = (EditPart) editParts.get(i);
+				editPart.eraseSourceFeedback(getTargetRequest());
+			}
+		}
+		if (sharedFeedback != null) {
+			removeFeedback(sharedFeedback);
+			sharedFeedback = null;
+			getTargetRequest().getExtendedData().remove(
+					DragFeedbackFigure.KEY_DRAG_FEEDBACK);
 		}
 	}
 
@@ -326,6 +349,148 @@ public class DragEditPartsTracker extends SelectEditPartTracker {
 		return command.unwrap();
 	}
 
+	/**
+	 * Returns the command for the current drag state, reusing the command
+	 * created for the previous drag event if the
+	 * {@link #getCommandCacheKey() cache key} has not changed. If command
+	 * construction is {@link #setDeferCommandConstruction(boolean) deferred},
+	 * a {@link #getProbeCommand() probe command} is returned instead.
+	 * 
+	 * @return the command to be shown while dragging
+	 */
+	private Command getDragCommand() {
+		Object key = getCommandCacheKey();
+		if (key != null && key.equals(cachedCommandKey))
+			return cachedCommand;
+		cachedCommand = deferCommand ? getProbeCommand() : getCommand();
+		cachedCommandKey = key;
+		return cachedCommand;
+	}
+
+	/**
+	 * Returns a key which identifies the state of the drag on which the
+	 * command depends. While the key stays equal, the command created for the
+	 * previous drag event is reused. By default, the key consists of the
+	 * target edit part, the request type, the (snapped) move and size deltas,
+	 * the extended data of the request, which holds the snap and guide
+	 * anchors, and the state of the modifier keys. The mouse location is only
+	 * part of the key if the command of the target
+	 * {@link #isCommandLocationDependent(EditPart) depends on it}, so that
+	 * otherwise all mouse locations which snap to the same move delta share
+	 * one command. Returning <code>null</code> disables the cache.
+	 * 
+	 * @return the cache key, or <code>null</code>
+	 * @since 3.11
+	 */
+	protected Object getCommandCacheKey() {
+		ChangeBoundsRequest request = (ChangeBoundsRequest) getTargetRequest();
+		Input input = getCurrentInput();
+		int modifiers = 0;
+		if (input.isShiftKeyDown())
+			modifiers |= SWT.SHIFT;
+		if (input.isControlKeyDown())
+			modifiers |= SWT.CONTROL;
+		if (input.isAltKeyDown())
+			modifiers |= SWT.ALT;
+		EditPart target = getTargetEditPart();
+		Point location = null;
+		if (isCommandLocationDependent(target))
+			location = new PrecisionPoint(request.getLocation());
+		return Arrays.asList(new Object[] { target, getCommandName(),
+				new PrecisionPoint(request.getMoveDelta()),
+				request.getSizeDelta().getCopy(),
+				new HashMap(request.getExtendedData()),
+				new Integer(modifiers), location });
+	}
+
+	/**
+	 * Returns whether the command of the given target edit part depends on
+	 * the exact mouse location rather than on the move delta alone. By
+	 * default, this is the case if the target has an
+	 * {@link OrderedLayoutEditPolicy}, which computes the insertion index from
+	 * the mouse location. Subclasses may extend this for other edit policies.
+	 * 
+	 * @param target
+	 *            the target edit part, or <code>null</code>
+	 * @return <code>true</code> if the mouse location is part of the
+	 *         {@link #getCommandCacheKey() cache key}
+	 * @since 3.11
+	 */
+	protected boolean isCommandLocationDependent(EditPart target) {
+		if (target == null)
+			return false;
+		EditPolicy policy = target.getEditPolicy(EditPolicy.LAYOUT_ROLE);
+		return policy instanceof OrderedLayoutEditPolicy;
+	}
+
+	/**
+	 * Returns a command which indicates whether the drag can be performed,
+	 * without asking every edit part in the operation set for a command. It
+	 * is used while dragging if command construction is
+	 * {@link #setDeferCommandConstruction(boolean) deferred}, and only
+	 * determines the cursor. By default, only the
+	 * {@link #getSourceEditPart() source edit part}, or the first edit part
+	 * of the operation set if the source is not part of it, contributes to a
+	 * move or orphan, while the target edit part contributes to an add or
+	 * clone as usual.
+	 * 
+	 * @return a command whose executability is used for feedback
+	 * @since 3.11
+	 */
+	protected Command getProbeCommand() {
+		CompoundCommand command = new CompoundCommand();
+		command.setDebugLabel("Drag Object Tracker Probe");//$NON-NLS-1$
+
+		Request request = getTargetRequest();
+
+		if (isCloneActive())
+			request.setType(REQ_CLONE);
+		else if (isMove())
+			request.setType(REQ_MOVE);
+		else
+			request.setType(REQ_ORPHAN);
+
+		List editParts = getOperationSet();
+		if (!isCloneActive() && !editParts.isEmpty()) {
+			EditPart editPart = getSourceEditPart();
+			if (!editParts.contains(editPart))
+				editPart = (EditPart) editParts.get(0);
+			command.add(editPart.getCommand(request));
+		}
+
+		if (!isMove() || isCloneActive()) {
+			if (!isCloneActive())
+				request.setType(REQ_ADD);
+
+			if (getTargetEditPart() == null)
+				command.add(UnexecutableCommand.INSTANCE);
+			else
+				command.add(getTargetEditPart().getCommand(getTargetRequest()));
+		}
+
+		return command.unwrap();
+	}
+
+	/**
+	 * Sets whether the command is constructed only when the drag is
+	 * performed. While dragging, a {@link #getProbeCommand() probe command}
+	 * is used to update the cursor instead of asking every edit part in the
+	 * operation set for a command on every mouse move. This makes dragging
+	 * large selections cheaper, at the price of a cursor which may not
+	 * reflect that some of the edit parts cannot be moved.
+	 * 
+	 * @param value
+	 *            <code>true</code> to defer command construction
+	 * @since 3.11
+	 */
+	public void setDeferCommandConstruction(boolean value) {
+		if (deferCommand == value)
+			return;
+		deferCommand = value;
+		cachedCommandKey = null;
+		cachedCommand = null;
+	}
+
 	/**
 	 * @see org.eclipse.gef.tools.AbstractTool#getCommandName()
 	 */
@@ -378,7 +543,7 @@ public class DragEditPartsTracker extends SelectEditPartTracker {
 		updateTargetUnderMouse();
 		showTargetFeedback();
 		showSourceFeedback();
-		setCurrentCommand(getCommand());
+		setCurrentCommand(getDragCommand());
 	}
 
 	/**
@@ -409,7 +574,7 @@ public class DragEditPartsTracker extends SelectEditPartTracker {
 				updateTargetRequest();
 			showTargetFeedback();
 			showSourceFeedback();
-			setCurrentCommand(getCommand());
+			setCurrentCommand(getDragCommand());
 		}
 		return true;
 	}
@@ -532,9 +697,15 @@ public class DragEditPartsTracker extends SelectEditPartTracker {
 	}
 
 	/**
-	 * Calls {@link AbstractTool#executeCurrentCommand()}.
+	 * Calls {@link AbstractTool#executeCurrentCommand()}. If command
+	 * construction has been {@link #setDeferCommandConstruction(boolean)
+	 * deferred}, the command is created first.
 	 */
 	protected void performDrag() {
+		if (deferCommand)
+			setCurrentCommand(getCommand());
+		cachedCommandKey = null;
+		cachedCommand = null;
 		executeCurrentCommand();
 	}
 
@@ -694,6 +865,32 @@ public class DragEditPartsTracker extends SelectEditPartTracker {
 
 		request.setLocation(getLocation());
 		request.setType(getCommandName());
+
+		if (isFeedbackShared()) {
+			if (sharedFeedback == null) {
+				sharedFeedback = new DragFeedbackFigure();
+				addFeedback(sharedFeedback);
+			}
+			sharedFeedback.setDelta(request.getMoveDelta(),
+					request.getSizeDelta());
+			request.getExtendedData().put(DragFeedbackFigure.KEY_DRAG_FEEDBACK,
+					sharedFeedback);
+		}
+	}
+
+	/**
+	 * Returns whether a shared {@link DragFeedbackFigure} is offered to the
+	 * edit parts in the operation set. Edit policies which support it add the
+	 * outline of their host to the shared figure instead of creating their own
+	 * feedback figure, so that only one figure is updated on every mouse move.
+	 * By default, the shared figure is used for operation sets of 16 or more
+	 * edit parts.
+	 * 
+	 * @return <code>true</code> if the feedback of the edit parts is shared
+	 * @since 3.11
+	 */
+	protected boolean isFeedbackShared() {
+		return getOperationSet().size() >= MIN_SHARED_FEEDBACK;
 	}
 
 	/**
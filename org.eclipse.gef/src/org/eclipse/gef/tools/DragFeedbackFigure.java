@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.gef.tools;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.eclipse.draw2d.ColorConstants;
+import org.eclipse.draw2d.Figure;
+import org.eclipse.draw2d.FigureUtilities;
+import org.eclipse.draw2d.Graphics;
+import org.eclipse.draw2d.RectangleFigure;
+import org.eclipse.draw2d.geometry.Dimension;
+import org.eclipse.draw2d.geometry.Point;
+import org.eclipse.draw2d.geometry.PrecisionDimension;
+import org.eclipse.draw2d.geometry.PrecisionRectangle;
+import org.eclipse.draw2d.geometry.Rectangle;
+
+/**
+ * A single feedback figure which paints the ghost outlines of many dragged
+ * edit parts. A {@link DragEditPartsTracker} dragging a large selection puts
+ * this figure into the extended data of its request under
+ * {@link #KEY_DRAG_FEEDBACK}. Edit policies add the outline of their host once,
+ * and the tracker moves all outlines together by setting the move delta of the
+ * request, so that only one figure is repainted on every mouse move.
+ * <P>
+ * The outlines are kept in a primitive array, in the coordinates of this
+ * figure. They look like the ghost rectangles created by
+ * {@link org.eclipse.gef.editpolicies.NonResizableEditPolicy}.
+ *
+ * @since 3.11
+ */
+public class DragFeedbackFigure extends Figure {
+
+	/**
+	 * The key under which the shared feedback figure is stored in the
+	 * extended data of a request.
+	 */
+	public static final String KEY_DRAG_FEEDBACK = "DragFeedbackFigure.feedback"; //$NON-NLS-1$
+
+	private final Map indices = new IdentityHashMap();
+	private double[] outlines = new double[64];
+	private int count;
+	private Rectangle union;
+	private final PrecisionDimension moveDelta = new PrecisionDimension();
+	private final PrecisionDimension sizeDelta = new PrecisionDimension();
+
+	/**
+	 * Constructs an empty feedback figure.
+	 */
+	public DragFeedbackFigure() {
+		setBackgroundColor(FigureUtilities.makeGhostShape(new RectangleFigure())
+				.getBackgroundColor());
+		setForegroundColor(ColorConstants.white);
+	}
+
+	/**
+	 * Adds the outline of the given part. The figure must have been added to
+	 * its parent.
+	 *
+	 * @param part
+	 *            the part, usually an edit part
+	 * @param outline
+	 *            the outline in the coordinates of this figure, without the
+	 *            move delta applied
+	 */
+	public void addOutline(Object part, PrecisionRectangle outline) {
+		if (indices.containsKey(part))
+			return;
+		if (count * 4 == outlines.length) {
+			double[] grown = new double[outlines.length * 2];
+			System.arraycopy(outlines, 0, grown, 0, outlines.length);
+			outlines = grown;
+		}
+		int i = count * 4;
+		outlines[i] = outline.preciseX();
+		outlines[i + 1] = outline.preciseY();
+		outlines[i + 2] = outline.preciseWidth();
+		outlines[i + 3] = outline.preciseHeight();
+		indices.put(part, new Integer(count++));
+
+		Rectangle r = new Rectangle(round(outline.preciseX()),
+				round(outline.preciseY()), round(outline.preciseWidth()),
+				round(outline.preciseHeight()));
+		if (union == null)
+			union = r;
+		else
+			union.union(r);
+		updateBounds();
+	}
+
+	/**
+	 * Returns whether the outline of the given part has been added.
+	 *
+	 * @param part
+	 *            the part
+	 * @return <code>true</code> if the part has an outline
+	 */
+	public boolean containsOutline(Object part) {
+		return indices.containsKey(part);
+	}
+
+	/**
+	 * Sets the move and size delta applied to all outlines.
+	 *
+	 * @param move
+	 *            the move delta in absolute coordinates
+	 * @param size
+	 *            the size delta in absolute coordinates
+	 */
+	public void setDelta(Point move, Dimension size) {
+		moveDelta.setPreciseSize(move.preciseX(), move.preciseY());
+		sizeDelta.setPreciseSize(size.preciseWidth(), size.preciseHeight());
+		if (getParent() != null) {
+			translateToRelative(moveDelta);
+			translateToRelative(sizeDelta);
+		}
+		updateBounds();
+	}
+
+	private void updateBounds() {
+		if (union == null)
+			return;
+		Rectangle r = union.getCopy();
+		r.translate(round(moveDelta.preciseWidth()),
+				round(moveDelta.preciseHeight()));
+		r.resize(Math.max(0, round(sizeDelta.preciseWidth())),
+				Math.max(0, round(sizeDelta.preciseHeight())));
+		setBounds(r.expand(1, 1));
+	}
+
+	private static int round(double value) {
+		return (int) Math.floor(value + 0.5);
+	}
+
+	/**
+	 * Paints the outlines which intersect the clip.
+	 *
+	 * @see org.eclipse.draw2d.Figure#paintFigure(Graphics)
+	 */
+	protected void paintFigure(Graphics graphics) {
+		Rectangle clip = graphics.getClip(new Rectangle());
+		Rectangle r = new Rectangle();
+		graphics.setLineStyle(Graphics.LINE_DOT);
+		graphics.setXORMode(true);
+		for (int i = 0; i < count * 4; i += 4) {
+			r.x = round(outlines[i] + moveDelta.preciseWidth());
+			r.y = round(outlines[i + 1] + moveDelta.preciseHeight());
+			r.width = round(outlines[i + 2] + sizeDelta.preciseWidth());
+			r.height = round(outlines[i + 3] + sizeDelta.preciseHeight());
+			if (!r.intersects(clip))
+				continue;
+			graphics.fillRectangle(r);
+			graphics.drawRectangle(r.x, r.y, r.width - 1, r.height - 1);
+		}
+	}
+
+}
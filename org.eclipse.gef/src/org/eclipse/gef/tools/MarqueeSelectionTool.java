@@ -15,6 +15,7 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.eclipse.swt.SWT;
@@ -29,6 +30,7 @@ import org.eclipse.draw2d.Figure;
 import org.eclipse.draw2d.FigureUtilities;
 import org.eclipse.draw2d.Graphics;
 import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.SpatialIndex;
 import org.eclipse.draw2d.geometry.Rectangle;
 
 import org.eclipse.gef.ConnectionEditPart;
@@ -222,6 +224,20 @@ public class MarqueeSelectionTool extends AbstractTool {
 
 	private Collection selectedEditParts;
 
+	/**
+	 * The absolute bounds of the edit parts which may be marquee selected,
+	 * taken when the drag starts. <code>null</code> if they have not been
+	 * collected yet.
+	 */
+	private SpatialIndex selectableEditParts;
+
+	/**
+	 * A rectangle in the coordinates of the root edit part's content pane,
+	 * translated to absolute coordinates when the index was built. If the
+	 * viewer is scrolled or zoomed, the index is rebuilt.
+	 */
+	private Rectangle indexedOrigin;
+
 	private Request targetRequest;
 
 	/**
@@ -296,36 +312,69 @@ public class MarqueeSelectionTool extends AbstractTool {
 	 * @since 3.7
 	 */
 	private Collection calculatePrimaryMarqueeSelectedEditParts() {
+		// only the edit parts near the marquee need to be tested; the index
+		// holds slightly expanded bounds, so that parts which merely touch
+		// the marquee or have empty bounds are found as well
+		Rectangle marqueeSelectionRectangle = getCurrentMarqueeSelectionRectangle()
+				.getExpanded(1, 1);
+		List candidates = getSelectableEditParts().query(
+				marqueeSelectionRectangle);
+
+		// process the candidates and determine which are affected by the
+		// current marquee selection
+		Collection marqueeSelectedEditParts = new ArrayList();
+		for (int i = 0; i < candidates.size(); i++) {
+			GraphicalEditPart editPart = (GraphicalEditPart) candidates.get(i);
+			if (isPrimaryMarqueeSelectedEditPart(editPart))
+				marqueeSelectedEditParts.add(editPart);
+		}
+		return marqueeSelectedEditParts;
+	}
+
+	/**
+	 * Returns an index of the absolute bounds of all edit parts which may be
+	 * marquee selected with the current marquee behavior. The index is built
+	 * once per drag, since the figures do not move while the marquee is
+	 * dragged, and rebuilt only if the viewer is scrolled or zoomed.
+	 * 
+	 * @return the index of selectable edit parts
+	 */
+	private SpatialIndex getSelectableEditParts() {
+		GraphicalEditPart root = (GraphicalEditPart) getCurrentViewer()
+				.getRootEditPart();
+		Rectangle origin = new Rectangle(0, 0, 100, 100);
+		root.getContentPane().translateToAbsolute(origin);
+		if (selectableEditParts != null && origin.equals(indexedOrigin))
+			return selectableEditParts;
+		indexedOrigin = origin;
+
 		Collection editPartsToProcess = new HashSet();
 		if (marqueeBehavior != BEHAVIOR_CONNECTIONS_CONTAINED
 				&& marqueeBehavior != BEHAVIOR_CONNECTIONS_TOUCHED) {
 			// process nodes
-			editPartsToProcess.addAll(EditPartUtilities
-					.getAllChildren((GraphicalEditPart) getCurrentViewer()
-							.getRootEditPart()));
+			editPartsToProcess.addAll(EditPartUtilities.getAllChildren(root));
 		}
 
 		if (marqueeBehavior != BEHAVIOR_NODES_CONTAINED
 				&& marqueeBehavior != BEHAVIOR_NODES_TOUCHED) {
 			// process connections
-			editPartsToProcess
-					.addAll(EditPartUtilities
-							.getAllNestedConnectionEditParts((GraphicalEditPart) getCurrentViewer()
-									.getRootEditPart()));
+			editPartsToProcess.addAll(EditPartUtilities
+					.getAllNestedConnectionEditParts(root));
 		}
 
-		// process all edit parts and determine which are affected by the
-		// current marquee selection
-		Collection marqueeSelectedEditParts = new ArrayList();
+		selectableEditParts = new SpatialIndex();
+		int order = 0;
 		for (Iterator iterator = editPartsToProcess.iterator(); iterator
 				.hasNext();) {
 			GraphicalEditPart editPart = (GraphicalEditPart) iterator.next();
-			if (isMarqueeSelectable(editPart)
-					&& isPrimaryMarqueeSelectedEditPart(editPart)) {
-				marqueeSelectedEditParts.add(editPart);
-			}
+			if (!isMarqueeSelectable(editPart))
+				continue;
+			IFigure figure = editPart.getFigure();
+			Rectangle r = figure.getBounds().getCopy();
+			figure.translateToAbsolute(r);
+			selectableEditParts.put(editPart, r.expand(1, 1), order++);
 		}
-		return marqueeSelectedEditParts;
+		return selectableEditParts;
 	}
 
 	/**
@@ -387,6 +436,9 @@ public class MarqueeSelectionTool extends AbstractTool {
 		}
 		super.deactivate();
 		allChildren.clear();
+		selectableEditParts = null;
+		indexedOrigin = null;
+		selectedEditParts = null;
 		setState(STATE_TERMINAL);
 	}
 
@@ -467,6 +519,8 @@ public class MarqueeSelectionTool extends AbstractTool {
 			handleInvalidInput();
 		}
 		if (stateTransition(STATE_INITIAL, STATE_DRAG_IN_PROGRESS)) {
+			selectableEditParts = null;
+			selectedEditParts = null;
 			if (getCurrentInput().isModKeyDown(SWT.MOD1))
 				setSelectionMode(TOGGLE_MODE);
 			else if (getCurrentInput().isShiftKeyDown())
@@ -496,9 +550,23 @@ public class MarqueeSelectionTool extends AbstractTool {
 	protected boolean handleDragInProgress() {
 		if (isInState(STATE_DRAG | STATE_DRAG_IN_PROGRESS)) {
 			showMarqueeFeedback();
-			eraseTargetFeedback();
-			selectedEditParts = calculateMarqueeSelectedEditParts();
-			showTargetFeedback();
+			// only update the feedback of edit parts which entered or left
+			// the marquee selection since the last drag event
+			Collection oldEditParts = selectedEditParts;
+			selectedEditParts = new LinkedHashSet(
+					calculateMarqueeSelectedEditParts());
+			if (oldEditParts != null) {
+				for (Iterator itr = oldEditParts.iterator(); itr.hasNext();) {
+					EditPart editPart = (EditPart) itr.next();
+					if (!selectedEditParts.contains(editPart))
+						editPart.eraseTargetFeedback(getTargetRequest());
+				}
+			}
+			for (Iterator itr = selectedEditParts.iterator(); itr.hasNext();) {
+				EditPart editPart = (EditPart) itr.next();
+				if (oldEditParts == null || !oldEditParts.contains(editPart))
+					editPart.showTargetFeedback(getTargetRequest());
+			}
 		}
 		return true;
 	}
@@ -795,11 +863,4 @@ public class MarqueeSelectionTool extends AbstractTool {
 		marqueeFeedbackFigure.validate();
 	}
 
-	private void showTargetFeedback() {
-		for (Iterator itr = selectedEditParts.iterator(); itr.hasNext();) {
-			EditPart editPart = (EditPart) itr.next();
-			editPart.showTargetFeedback(getTargetRequest());
-		}
-	}
-
 }
@@ -52,6 +52,7 @@ import org.eclipse.gef.MouseWheelHandler;
 import org.eclipse.gef.MouseWheelHelper;
 import org.eclipse.gef.RootEditPart;
 import org.eclipse.gef.editparts.LayerManager;
+import org.eclipse.gef.editparts.RefreshTransaction;
 import org.eclipse.gef.editparts.ScalableRootEditPart;
 
 /**
@@ -189,11 +190,15 @@ public class GraphicalViewerImpl extends AbstractEditPartViewer implements
 	}
 
 	/**
-	 * Flushes and pending layouts and paints in the lightweight system.
+	 * Flushes and pending layouts and paints in the lightweight system. While
+	 * a {@link RefreshTransaction} is open, the flush is deferred until it is
+	 * committed.
 	 * 
 	 * @see org.eclipse.gef.EditPartViewer#flush()
 	 */
 	public void flush() {
+		if (RefreshTransaction.deferFlush(this))
+			return;
 		getLightweightSystem().getUpdateManager().performUpdate();
 	}
 
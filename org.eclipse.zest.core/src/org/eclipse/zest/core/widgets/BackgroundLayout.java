@@ -0,0 +1,184 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.zest.core.widgets;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.draw2d.geometry.Dimension;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.zest.layouts.InvalidLayoutConfiguration;
+import org.eclipse.zest.layouts.LayoutAlgorithm;
+import org.eclipse.zest.layouts.Stoppable;
+import org.eclipse.zest.layouts.progress.ProgressEvent;
+import org.eclipse.zest.layouts.progress.ProgressListener;
+
+/**
+ * A layout of a graph which is computed on a background thread. The layout
+ * algorithm runs against a {@link LayoutSnapshot} of the nodes and
+ * connections, and the resulting locations are published back to the graph on
+ * the display thread in one batch. The algorithm is not the graph's own one,
+ * so the display thread never waits for it.
+ * <p>
+ * The progress listeners are notified on the display thread. When the layout
+ * is stopped, its results are discarded and the progress listeners are told
+ * that it has ended. The algorithm itself is asked to stop from the
+ * background thread at its next progress event, which continuous algorithms
+ * check for.
+ */
+class BackgroundLayout implements Stoppable, ProgressListener {
+
+	private final Graph graph;
+	private final Display display;
+	private final List listeners = new ArrayList();
+	private volatile boolean stopped;
+	private boolean started, ended;
+	private final LayoutAlgorithm algorithm;
+
+	BackgroundLayout(Graph graph, LayoutAlgorithm algorithm) {
+		this.graph = graph;
+		this.display = graph.getDisplay();
+		this.algorithm = algorithm;
+	}
+
+	public void addProgressListener(ProgressListener listener) {
+		listeners.add(listener);
+	}
+
+	public void stop() {
+		stopped = true;
+		if (!started) {
+			end();
+		}
+	}
+
+	/**
+	 * Takes the snapshot and starts the background thread. Called on the
+	 * display thread once the graph has been revealed.
+	 */
+	void start() {
+		if (stopped || started) {
+			return;
+		}
+		started = true;
+		Dimension d = graph.prepareLayout(algorithm);
+		if (d == null) {
+			end();
+			return;
+		}
+		final LayoutSnapshot snapshot = new LayoutSnapshot(graph
+				.getNodesToLayout(graph.getNodes()), graph
+				.getConnectionsToLayout(graph.getNodes()));
+		final double width = d.width;
+		final double height = d.height;
+		Thread thread = new Thread(new Runnable() {
+			public void run() {
+				// the algorithm is locked while it runs, so a previous layout
+				// with the same algorithm which has been stopped finishes
+				// first, on its own background thread
+				synchronized (algorithm) {
+					algorithm.addProgressListener(BackgroundLayout.this);
+					try {
+						algorithm.applyLayout(snapshot.entities,
+								snapshot.relationships, 0, 0, width, height,
+								false, false);
+					} catch (InvalidLayoutConfiguration e) {
+						e.printStackTrace();
+					} finally {
+						algorithm.removeProgressListener(BackgroundLayout.this);
+						asyncExec(new Runnable() {
+							public void run() {
+								publish(snapshot);
+							}
+						});
+					}
+				}
+			}
+		}, "Zest Background Layout");
+		thread.setDaemon(true);
+		thread.setPriority(Thread.MIN_PRIORITY);
+		thread.start();
+	}
+
+	private void publish(LayoutSnapshot snapshot) {
+		if (!stopped && !graph.isDisposed()) {
+			graph.applySnapshot(snapshot);
+		}
+		end();
+	}
+
+	private void end() {
+		if (ended) {
+			return;
+		}
+		ended = true;
+		graph.backgroundLayoutEnded(this);
+		ProgressEvent event = new ProgressEvent(1, 1);
+		for (int i = 0; i < listeners.size(); i++) {
+			((ProgressListener) listeners.get(i)).progressEnded(event);
+		}
+	}
+
+	private void asyncExec(Runnable runnable) {
+		if (!display.isDisposed()) {
+			display.asyncExec(runnable);
+		}
+	}
+
+	public void progressStarted(final ProgressEvent e) {
+		if (stopped) {
+			stopAlgorithm();
+			return;
+		}
+		asyncExec(new Runnable() {
+			public void run() {
+				if (!stopped) {
+					for (int i = 0; i < listeners.size(); i++) {
+						((ProgressListener) listeners.get(i))
+								.progressStarted(e);
+					}
+				}
+			}
+		});
+	}
+
+	public void progressUpdated(final ProgressEvent e) {
+		if (stopped) {
+			stopAlgorithm();
+			return;
+		}
+		asyncExec(new Runnable() {
+			public void run() {
+				if (!stopped) {
+					for (int i = 0; i < listeners.size(); i++) {
+						((ProgressListener) listeners.get(i))
+								.progressUpdated(e);
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Stops the algorithm. Called on the background thread, which holds the
+	 * algorithm's lock.
+	 */
+	private void stopAlgorithm() {
+		if (algorithm.isRunning()) {
+			algorithm.stop();
+		}
+	}
+
+	public void progressEnded(ProgressEvent e) {
+		// the end is reported once the results have been published
+	}
+
+}
@@ -55,6 +55,7 @@ import org.eclipse.zest.layouts.LayoutAlgorithm;
 import org.eclipse.zest.layouts.LayoutEntity;
 import org.eclipse.zest.layouts.LayoutRelationship;
 import org.eclipse.zest.layouts.LayoutStyles;
+import org.eclipse.zest.layouts.Stoppable;
 import org.eclipse.zest.layouts.algorithms.TreeLayoutAlgorithm;
 import org.eclipse.zest.layouts.constraints.LayoutConstraint;
 
@@ -111,6 +112,8 @@ public class Graph extends FigureCanvas implements IContainer {
 	private ZestRootLayer zestRootLayer;
 
 	private boolean hasPendingLayoutRequest;
+	private boolean hasPendingBackgroundLayout;
+	private BackgroundLayout backgroundLayout;
 
 	/**
 	 * Constructor for a Graph. This widget represents the root of the graph,
@@ -405,6 +408,68 @@ public class Graph extends FigureCanvas implements IContainer {
 		}
 	}
 
+	/**
+	 * Runs the given layout algorithm on this graph in a background thread, so
+	 * that large graphs do not block the display. Like {@link #applyLayout()},
+	 * the layout is deferred until the view is visible. The layout algorithm
+	 * computes the layout against a snapshot of the sizes and locations of the
+	 * nodes and of the connections, and the new locations are then applied to
+	 * the graph on the display thread in one batch, animated unless the style
+	 * says otherwise.
+	 * 
+	 * The algorithm runs on the background thread, so it must not be the
+	 * graph's own {@link #getLayoutAlgorithm() layout algorithm}, and must not
+	 * be used on the display thread while the layout runs.
+	 * 
+	 * A layout which is still running in the background is stopped. The
+	 * returned Stoppable can be used to add progress listeners, which are
+	 * notified on the display thread, and to cancel the layout, in which case
+	 * its results are discarded. Stopping never waits for the background
+	 * thread. Algorithms which report their progress stop at their next
+	 * progress event.
+	 * 
+	 * @param algorithm
+	 *            the layout algorithm to run in the background
+	 * @return the layout running in the background
+	 * @throws IllegalArgumentException
+	 *             if the algorithm is the graph's layout algorithm
+	 */
+	public Stoppable applyLayoutInBackground(LayoutAlgorithm algorithm) {
+		if (algorithm == null || algorithm == layoutAlgorithm) {
+			throw new IllegalArgumentException(
+					"The background layout needs its own algorithm"); //$NON-NLS-1$
+		}
+		if (backgroundLayout != null) {
+			backgroundLayout.stop();
+		}
+		BackgroundLayout layout = new BackgroundLayout(this, algorithm);
+		backgroundLayout = layout;
+		if (!hasPendingBackgroundLayout) {
+			// a single listener starts whichever layout is the latest
+			hasPendingBackgroundLayout = true;
+			this.addRevealListener(new RevealListener() {
+				public void revealed(Control c) {
+					Display.getDefault().asyncExec(new Runnable() {
+
+						public void run() {
+							hasPendingBackgroundLayout = false;
+							if (backgroundLayout != null) {
+								backgroundLayout.start();
+							}
+						}
+					});
+				}
+			});
+		}
+		return layout;
+	}
+
+	void backgroundLayoutEnded(BackgroundLayout layout) {
+		if (backgroundLayout == layout) {
+			backgroundLayout = null;
+		}
+	}
+
 	/**
 	 * Sets the preferred size of the layout area. Size of ( -1, -1) uses the
 	 * current canvas size.
@@ -761,6 +826,9 @@ public class Graph extends FigureCanvas implements IContainer {
 	}
 
 	private void release() {
+		if (backgroundLayout != null) {
+			backgroundLayout.stop();
+		}
 		while (nodes.size() > 0) {
 			GraphNode node = (GraphNode) nodes.get(0);
 			if (node != null) {
@@ -1098,10 +1166,57 @@ public class Graph extends FigureCanvas implements IContainer {
 
 	private void applyLayoutInternal() {
 		hasPendingLayoutRequest = false;
+		if (backgroundLayout != null) {
+			backgroundLayout.stop();
+		}
 
-		if ((this.getNodes().size() == 0)) {
+		Dimension d = prepareLayout(null);
+		if (d == null) {
 			return;
 		}
+		LayoutRelationship[] connectionsToLayout = getConnectionsToLayout(nodes);
+		LayoutEntity[] nodesToLayout = getNodesToLayout(getNodes());
+
+		try {
+			if ((nodeStyle & ZestStyles.NODES_NO_LAYOUT_ANIMATION) == 0) {
+				Animation.markBegin();
+			}
+			layoutAlgorithm.applyLayout(nodesToLayout, connectionsToLayout, 0,
+					0, d.width, d.height, false, false);
+			if ((nodeStyle & ZestStyles.NODES_NO_LAYOUT_ANIMATION) == 0) {
+				Animation.run(ANIMATION_TIME);
+			}
+			getLightweightSystem().getUpdateManager().performUpdate();
+
+		} catch (InvalidLayoutConfiguration e) {
+			e.printStackTrace();
+		}
+
+	}
+
+	/**
+	 * Applies the locations computed by a layout in the background.
+	 */
+	void applySnapshot(LayoutSnapshot snapshot) {
+		if ((nodeStyle & ZestStyles.NODES_NO_LAYOUT_ANIMATION) == 0) {
+			Animation.markBegin();
+		}
+		snapshot.apply();
+		if ((nodeStyle & ZestStyles.NODES_NO_LAYOUT_ANIMATION) == 0) {
+			Animation.run(ANIMATION_TIME);
+		}
+		getLightweightSystem().getUpdateManager().performUpdate();
+	}
+
+	/**
+	 * Configures the given layout algorithm, or the graph's own one if it is
+	 * null, and returns the size of the layout area, or null if there is
+	 * nothing to lay out.
+	 */
+	Dimension prepareLayout(LayoutAlgorithm algorithm) {
+		if ((this.getNodes().size() == 0)) {
+			return null;
+		}
 
 		int layoutStyle = 0;
 
@@ -1109,11 +1224,14 @@ public class Graph extends FigureCanvas implements IContainer {
 			layoutStyle = LayoutStyles.NO_LAYOUT_NODE_RESIZING;
 		}
 
-		if (layoutAlgorithm == null) {
-			layoutAlgorithm = new TreeLayoutAlgorithm(layoutStyle);
+		if (algorithm == null) {
+			if (layoutAlgorithm == null) {
+				layoutAlgorithm = new TreeLayoutAlgorithm(layoutStyle);
+			}
+			algorithm = layoutAlgorithm;
 		}
 
-		layoutAlgorithm.setStyle(layoutAlgorithm.getStyle() | layoutStyle);
+		algorithm.setStyle(algorithm.getStyle() | layoutStyle);
 
 		// calculate the size for the layout algorithm
 		Dimension d = this.getViewport().getSize();
@@ -1128,26 +1246,9 @@ public class Graph extends FigureCanvas implements IContainer {
 		}
 
 		if (d.isEmpty()) {
-			return;
+			return null;
 		}
-		LayoutRelationship[] connectionsToLayout = getConnectionsToLayout(nodes);
-		LayoutEntity[] nodesToLayout = getNodesToLayout(getNodes());
-
-		try {
-			if ((nodeStyle & ZestStyles.NODES_NO_LAYOUT_ANIMATION) == 0) {
-				Animation.markBegin();
-			}
-			layoutAlgorithm.applyLayout(nodesToLayout, connectionsToLayout, 0,
-					0, d.width, d.height, false, false);
-			if ((nodeStyle & ZestStyles.NODES_NO_LAYOUT_ANIMATION) == 0) {
-				Animation.run(ANIMATION_TIME);
-			}
-			getLightweightSystem().getUpdateManager().performUpdate();
-
-		} catch (InvalidLayoutConfiguration e) {
-			e.printStackTrace();
-		}
-
+		return d;
 	}
 
 	interface MyRunnable extends Runnable {
@@ -0,0 +1,226 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.zest.core.widgets;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.zest.layouts.LayoutBendPoint;
+import org.eclipse.zest.layouts.LayoutEntity;
+import org.eclipse.zest.layouts.LayoutRelationship;
+import org.eclipse.zest.layouts.constraints.BasicEdgeConstraints;
+import org.eclipse.zest.layouts.constraints.BasicEntityConstraint;
+import org.eclipse.zest.layouts.constraints.LayoutConstraint;
+
+/**
+ * A copy of the layout entities and relationships of a graph, taken on the
+ * display thread, which a layout algorithm can change on another thread. The
+ * results are copied back to the graph with {@link #apply()} on the display
+ * thread.
+ * <p>
+ * The constraints of the entities and relationships are populated when the
+ * snapshot is taken. Only the basic entity and edge constraints, which are the
+ * ones used by the layout algorithms, are kept.
+ */
+class LayoutSnapshot {
+
+	static class Entity implements LayoutEntity {
+		final LayoutEntity entity;
+		final String text;
+		final BasicEntityConstraint constraint = new BasicEntityConstraint();
+		double x, y, width, height;
+		boolean moved, resized;
+		Object layoutInformation;
+
+		Entity(LayoutEntity entity) {
+			this.entity = entity;
+			this.text = entity.toString();
+			this.x = entity.getXInLayout();
+			this.y = entity.getYInLayout();
+			this.width = entity.getWidthInLayout();
+			this.height = entity.getHeightInLayout();
+			entity.populateLayoutConstraint(constraint);
+		}
+
+		public int compareTo(Object o) {
+			if (text == null || !(o instanceof Entity)
+					|| ((Entity) o).text == null) {
+				return 0;
+			}
+			return text.compareTo(((Entity) o).text);
+		}
+
+		public Object getGraphData() {
+			return entity.getGraphData();
+		}
+
+		public double getHeightInLayout() {
+			return height;
+		}
+
+		public Object getLayoutInformation() {
+			return layoutInformation;
+		}
+
+		public double getWidthInLayout() {
+			return width;
+		}
+
+		public double getXInLayout() {
+			return x;
+		}
+
+		public double getYInLayout() {
+			return y;
+		}
+
+		public void populateLayoutConstraint(LayoutConstraint c) {
+			if (c instanceof BasicEntityConstraint) {
+				BasicEntityConstraint target = (BasicEntityConstraint) c;
+				target.hasPreferredLocation = constraint.hasPreferredLocation;
+				target.preferredX = constraint.preferredX;
+				target.preferredY = constraint.preferredY;
+				target.hasPreferredSize = constraint.hasPreferredSize;
+				target.preferredWidth = constraint.preferredWidth;
+				target.preferredHeight = constraint.preferredHeight;
+			}
+		}
+
+		public void setGraphData(Object o) {
+		}
+
+		public void setLayoutInformation(Object internalEntity) {
+			this.layoutInformation = internalEntity;
+		}
+
+		public void setLocationInLayout(double x, double y) {
+			this.x = x;
+			this.y = y;
+			moved = true;
+		}
+
+		public void setSizeInLayout(double width, double height) {
+			this.width = width;
+			this.height = height;
+			resized = true;
+		}
+
+		public String toString() {
+			return text;
+		}
+	}
+
+	static class Relationship implements LayoutRelationship {
+		final LayoutRelationship relationship;
+		final Entity source, destination;
+		final BasicEdgeConstraints constraint = new BasicEdgeConstraints();
+		Object layoutInformation;
+
+		Relationship(LayoutRelationship relationship, Entity source,
+				Entity destination) {
+			this.relationship = relationship;
+			this.source = source;
+			this.destination = destination;
+			relationship.populateLayoutConstraint(constraint);
+		}
+
+		public void clearBendPoints() {
+		}
+
+		public LayoutEntity getDestinationInLayout() {
+			return destination;
+		}
+
+		public Object getGraphData() {
+			return relationship.getGraphData();
+		}
+
+		public Object getLayoutInformation() {
+			return layoutInformation;
+		}
+
+		public LayoutEntity getSourceInLayout() {
+			return source;
+		}
+
+		public void populateLayoutConstraint(LayoutConstraint c) {
+			if (c instanceof BasicEdgeConstraints) {
+				BasicEdgeConstraints target = (BasicEdgeConstraints) c;
+				target.isBiDirectional = constraint.isBiDirectional;
+				target.weight = constraint.weight;
+			}
+		}
+
+		public void setBendPoints(LayoutBendPoint[] bendPoints) {
+			// bend points are not supported by the graph either
+		}
+
+		public void setGraphData(Object o) {
+		}
+
+		public void setLayoutInformation(Object layoutInformation) {
+			this.layoutInformation = layoutInformation;
+		}
+	}
+
+	final Entity[] entities;
+	final Relationship[] relationships;
+
+	/**
+	 * Takes a snapshot of the given entities and of the relationships between
+	 * them. Must be called on the display thread.
+	 */
+	LayoutSnapshot(LayoutEntity[] entitiesToLayout,
+			LayoutRelationship[] relationshipsToLayout) {
+		Map copies = new IdentityHashMap();
+		entities = new Entity[entitiesToLayout.length];
+		for (int i = 0; i < entitiesToLayout.length; i++) {
+			entities[i] = new Entity(entitiesToLayout[i]);
+			copies.put(entitiesToLayout[i], entities[i]);
+		}
+		List list = new ArrayList(relationshipsToLayout.length);
+		for (int i = 0; i < relationshipsToLayout.length; i++) {
+			LayoutRelationship next = relationshipsToLayout[i];
+			Entity source = (Entity) copies.get(next.getSourceInLayout());
+			Entity destination = (Entity) copies.get(next
+					.getDestinationInLayout());
+			if (source != null && destination != null) {
+				list.add(new Relationship(next, source, destination));
+			}
+		}
+		relationships = (Relationship[]) list.toArray(new Relationship[list
+				.size()]);
+	}
+
+	/**
+	 * Copies the locations and sizes computed by the layout algorithm to the
+	 * entities of nodes which have not been disposed in the meantime. Must be
+	 * called on the display thread.
+	 */
+	void apply() {
+		for (int i = 0; i < entities.length; i++) {
+			Entity next = entities[i];
+			Object data = next.entity.getGraphData();
+			if (data instanceof GraphNode && ((GraphNode) data).isDisposed()) {
+				continue;
+			}
+			if (next.moved) {
+				next.entity.setLocationInLayout(next.x, next.y);
+			}
+			if (next.resized) {
+				next.entity.setSizeInLayout(next.width, next.height);
+			}
+		}
+	}
+
+}
@@ -19,6 +19,7 @@ import java.util.Map;
 import org.eclipse.draw2d.FigureUtilities;
 import org.eclipse.draw2d.Graphics;
 import org.eclipse.draw2d.ScaledGraphics;
+import org.eclipse.draw2d.ZoomedFontCache;
 import org.eclipse.draw2d.geometry.Point;
 import org.eclipse.draw2d.geometry.PointList;
 import org.eclipse.draw2d.geometry.Rectangle;
@@ -187,10 +188,6 @@ public class XYScaledGraphics extends ScaledGraphics {
 		graphics.clipRect(zoomClipRect(r));
 	}
 
-	Font createFont(FontData data) {
-		return new Font(Display.getCurrent(), data);
-	}
-
 	/** @see Graphics#dispose() */
 	public void dispose() {
 		// Remove all states from the stack
@@ -198,12 +195,15 @@ public class XYScaledGraphics extends ScaledGraphics {
 			popState();
 		}
 
-		// Dispose fonts
+		// Release fonts
+		ZoomedFontCache shared = ZoomedFontCache.getInstance(Display
+				.getCurrent());
 		Iterator iter = fontCache.values().iterator();
 		while (iter.hasNext()) {
 			Font font = ((Font) iter.next());
-			font.dispose();
+			shared.releaseFont(font);
 		}
+		fontCache.clear();
 
 	}
 
@@ -424,9 +424,8 @@ public class XYScaledGraphics extends ScaledGraphics {
 			return font;
 		}
 		key = new FontKey(key.font, key.height);
-		FontData data = key.font.getFontData()[0];
-		data.setHeight(key.height);
-		Font zoomedFont = createFont(data);
+		Font zoomedFont = ZoomedFontCache.getInstance(Display.getCurrent())
+				.acquireFont(key.font, key.height);
 		fontCache.put(key, zoomedFont);
 		return zoomedFont;
 	}
@@ -440,7 +440,7 @@ public abstract class AbstractLayoutAlgorithm implements LayoutAlgorithm, Stoppa
 	 * This actually applies the layout
 	 */
 	public synchronized void applyLayout(final LayoutEntity[] entitiesToLayout, final LayoutRelationship[] relationshipsToConsider, final double x, final double y, final double width, final double height, boolean asynchronous, boolean continuous) throws InvalidLayoutConfiguration {
-		checkThread();
+		checkThread(asynchronous);
 		this.internalAsynchronous = asynchronous;
 		this.internalContinuous = continuous;
 
@@ -1025,8 +1025,14 @@ public abstract class AbstractLayoutAlgorithm implements LayoutAlgorithm, Stoppa
 		return progressListeners.size();
 	}
 
-	private void checkThread() {
-		if (this.creationThread != Thread.currentThread()) {
+	/**
+	 * An asynchronous layout may only be started from the thread which created
+	 * this algorithm. A synchronous layout may run on any thread, since it holds
+	 * the lock of this algorithm until it is done, for example on a background
+	 * thread against copies of the entities.
+	 */
+	private void checkThread(boolean asynchronous) {
+		if (asynchronous && this.creationThread != Thread.currentThread()) {
 			throw new RuntimeException("Invalid Thread Access.");
 		}
 	}
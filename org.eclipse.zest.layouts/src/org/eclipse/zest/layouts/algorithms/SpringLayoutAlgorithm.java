@@ -9,11 +9,16 @@
  *******************************************************************************/
 package org.eclipse.zest.layouts.algorithms;
 
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Random;
 
 import org.eclipse.zest.layouts.LayoutStyles;
+import org.eclipse.zest.layouts.algorithms.internal.BarnesHutTree;
+import org.eclipse.zest.layouts.algorithms.internal.ParallelLoop;
 import org.eclipse.zest.layouts.dataStructures.DisplayIndependentRectangle;
 import org.eclipse.zest.layouts.dataStructures.InternalNode;
 import org.eclipse.zest.layouts.dataStructures.InternalRelationship;
@@ -140,27 +145,57 @@ public class SpringLayoutAlgorithm extends ContinuousLayoutAlgorithm {
 	private double largestMovement = 0;
 
 	/**
-	 * Maps a src and dest object to the number of relations between them. Key
-	 * is src.toString() + dest.toString(), value is an Integer
+	 * Maps a relationship type to a weight. Key is a string, value is a Double
 	 */
-	private Map srcDestToNumRelsMap;
+	private static Map relTypeToWeightMap = new HashMap();
+
+	private int iteration;
 
 	/**
-	 * Maps a src and dest object to the average weight of the relations between
-	 * them. Key is src.toString() + dest.toString(), value is a Double
+	 * The related nodes of each node, stored sparsely: the indices of the nodes
+	 * related to node i are found in neighbors[neighborStart[i]] to
+	 * neighbors[neighborStart[i + 1] - 1], in ascending order.
 	 */
-	private Map srcDestToRelsAvgWeightMap;
+	private int[] neighborStart;
+
+	private int[] neighbors;
 
 	/**
-	 * Maps a relationship type to a weight. Key is a string, value is a Double
+	 * The number of relations between a node and each of its neighbors. Each
+	 * relation is counted once for each direction.
 	 */
-	private static Map relTypeToWeightMap = new HashMap();
+	private int[] neighborNumRels;
 
-	private int iteration;
+	/**
+	 * The average weight of the relations between a node and each of its
+	 * neighbors.
+	 */
+	private double[] neighborAvgWeight;
 
-	private int[][] srcDestToNumRels;
+	/**
+	 * The approximation threshold used for computing repulsion forces. If 0,
+	 * the forces between all pairs of nodes are computed exactly.
+	 */
+	private double theta = 0;
 
-	private double[][] srcDestToRelsAvgWeight;
+	private BarnesHutTree tree;
+
+	/**
+	 * The number of threads used to compute the forces.
+	 */
+	private int parallelism = 1;
+
+	private ParallelLoop loop;
+
+	/**
+	 * The source of the random node positions, or <code>null</code> to use
+	 * {@link Math#random()}.
+	 */
+	private Random random;
+
+	private boolean seeded;
+
+	private long seed;
 
 	private double[] tempLocationsX;
 
@@ -181,8 +216,6 @@ public class SpringLayoutAlgorithm extends ContinuousLayoutAlgorithm {
 	 */
 	public SpringLayoutAlgorithm(int styles) {
 		super(styles);
-		srcDestToNumRelsMap = new HashMap();
-		srcDestToRelsAvgWeightMap = new HashMap();
 		date = new Date();
 	}
 
@@ -334,6 +367,80 @@ public class SpringLayoutAlgorithm extends ContinuousLayoutAlgorithm {
 		return sprRandom;
 	}
 
+	/**
+	 * Sets the Barnes-Hut approximation threshold used when computing the
+	 * repulsion between nodes. With a threshold of 0 (the default), the
+	 * repulsion between every pair of nodes is computed, which takes O(n²)
+	 * time per iteration. With a positive threshold, the nodes are put into a
+	 * quadtree, and groups of nodes which are small compared to their distance
+	 * (size / distance &lt; theta) are treated as a single node, which takes
+	 * O(n log n) time per iteration. Values between 0.5 and 1.0 are typical;
+	 * larger values are faster but less accurate.
+	 * 
+	 * @param theta
+	 *            the approximation threshold, or 0 for exact computation
+	 */
+	public void setBarnesHutTheta(double theta) {
+		if (theta < 0)
+			throw new IllegalArgumentException("theta must not be negative");
+		this.theta = theta;
+	}
+
+	/**
+	 * Returns the Barnes-Hut approximation threshold.
+	 * 
+	 * @return the approximation threshold, or 0 if forces are computed exactly
+	 * @see #setBarnesHutTheta(double)
+	 */
+	public double getBarnesHutTheta() {
+		return theta;
+	}
+
+	/**
+	 * Sets the number of threads used to compute the forces in each
+	 * iteration. With more than one thread, the nodes are split into one
+	 * contiguous range per thread, and the force acting on each node is summed
+	 * up by the thread owning it. The results therefore do not depend on the
+	 * number of threads, and are the same on every run if a random seed is
+	 * set. They agree with the single-threaded results up to rounding, since
+	 * the single-threaded computation visits each pair of nodes only once and
+	 * therefore sums up the forces in a different order.
+	 * <p>
+	 * Progress events are still fired on the thread running the layout.
+	 * 
+	 * @param parallelism
+	 *            the number of threads, at least 1
+	 * @see #setRandomSeed(long)
+	 */
+	public void setParallelism(int parallelism) {
+		if (parallelism < 1)
+			throw new IllegalArgumentException("parallelism must be at least 1");
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * Returns the number of threads used to compute the forces.
+	 * 
+	 * @return the parallelism
+	 */
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * Sets the seed used for placing the nodes randomly before the first
+	 * iteration, so that repeated layouts of the same graph produce the same
+	 * result.
+	 * 
+	 * @param seed
+	 *            the random seed
+	 * @see #setRandom(boolean)
+	 */
+	public void setRandomSeed(long seed) {
+		this.seed = seed;
+		seeded = true;
+	}
+
 	public void setWeight(String relType, double weight) {
 		relTypeToWeightMap.put(relType, new Double(weight));
 	}
@@ -365,9 +472,13 @@ public class SpringLayoutAlgorithm extends ContinuousLayoutAlgorithm {
 		forcesX = null;
 		forcesY = null;
 		anchors = null;
+		neighborStart = null;
+		neighbors = null;
+		neighborNumRels = null;
+		neighborAvgWeight = null;
+		tree = null;
+		disposeLoop();
 		setDefaultConditions();
-		srcDestToNumRelsMap = new HashMap();
-		srcDestToRelsAvgWeightMap = new HashMap();
 		relTypeToWeightMap = new HashMap();
 	}
 
@@ -388,13 +499,9 @@ public class SpringLayoutAlgorithm extends ContinuousLayoutAlgorithm {
 		for (int i = 0; i < entitiesToLayout.length; i++) {
 			anchors[i] = DEFAULT_ANCHOR;
 		}
-		for (int i = 0; i < relationshipsToConsider.length; i++) {
-			InternalRelationship layoutRelationship = relationshipsToConsider[i];
-			addRelation(layoutRelationship);
-		}
 
 		// do the calculations
-		preCompute(entitiesToLayout);
+		preCompute(entitiesToLayout, relationshipsToConsider);
 		startTime = date.getTime();
 	}
 
@@ -403,58 +510,120 @@ public class SpringLayoutAlgorithm extends ContinuousLayoutAlgorithm {
 	}
 
 	/**
-	 * Adds a simple relation between two nodes to the relation repository.
-	 * 
-	 * @param layoutRelationship
-	 *            The simple relation to be added
-	 * @throws java.lang.NullPointerExcetption
-	 *             If <code>sr</code> is null
-	 * @see SimpleRelation
-	 */
-	private void addRelation(InternalRelationship layoutRelationship) {
-		if (layoutRelationship == null) {
-			throw new IllegalArgumentException("The arguments can not be null!");
-		} else {
+	 * Runs the iterations on the threads of a parallel loop, which is disposed
+	 * when they are done, even if they fail.
+	 */
+	protected void applyLayoutInternal(InternalNode[] entitiesToLayout, InternalRelationship[] relationshipsToConsider, double x, double y, double width, double height) {
+		disposeLoop();
+		if (parallelism > 1)
+			loop = new ParallelLoop(parallelism);
+		try {
+			super.applyLayoutInternal(entitiesToLayout, relationshipsToConsider, x, y, width, height);
+		} finally {
+			disposeLoop();
+		}
+	}
+
+	private void disposeLoop() {
+		if (loop != null) {
+			loop.dispose();
+			loop = null;
+		}
+	}
+
+	/**
+	 * Counts the number of relationships between all related nodes and the
+	 * average weight between them, and stores them sparsely in the neighbor
+	 * arrays.
+	 */
+	private void computeNeighbors(InternalNode[] entitiesToLayout, InternalRelationship[] relationshipsToConsider) {
+		Map nodeToIndex = new HashMap(entitiesToLayout.length * 2);
+		for (int i = 0; i < entitiesToLayout.length; i++)
+			nodeToIndex.put(entitiesToLayout[i], new Integer(i));
+
+		// key is the pair of node indices, value is {count, sum of weights}
+		Map pairs = new HashMap();
+		int[] degree = new int[entitiesToLayout.length];
+		for (int i = 0; i < relationshipsToConsider.length; i++) {
+			InternalRelationship layoutRelationship = relationshipsToConsider[i];
+			if (layoutRelationship == null)
+				throw new IllegalArgumentException("The arguments can not be null!");
+			Integer source = (Integer) nodeToIndex.get(layoutRelationship.getSource());
+			Integer destination = (Integer) nodeToIndex.get(layoutRelationship.getDestination());
+			if (source == null || destination == null || source.equals(destination))
+				continue;
+			int min = Math.min(source.intValue(), destination.intValue());
+			int max = Math.max(source.intValue(), destination.intValue());
+			Long key = new Long(((long) min << 32) | max);
 			double weight = layoutRelationship.getWeight();
 			weight = (weight <= 0 ? 0.1 : weight);
-			String key1 = layoutRelationship.getSource().toString() + layoutRelationship.getDestination().toString();
-			String key2 = layoutRelationship.getDestination().toString() + layoutRelationship.getSource().toString();
-			String[] keys = { key1, key2 };
-			for (int i = 0; i < keys.length; i++) {
-				String key = keys[i];
-				Integer count = (Integer) srcDestToNumRelsMap.get(key);
-				Double avgWeight = (Double) srcDestToRelsAvgWeightMap.get(key);
-				if (count == null) {
-					count = new Integer(1);
-					avgWeight = new Double(weight);
+			double[] pair = (double[]) pairs.get(key);
+			if (pair == null) {
+				pairs.put(key, new double[] { 1, weight });
+				degree[min]++;
+				degree[max]++;
+			} else {
+				pair[0]++;
+				pair[1] += weight;
+			}
+		}
+
+		neighborStart = new int[entitiesToLayout.length + 1];
+		for (int i = 0; i < entitiesToLayout.length; i++)
+			neighborStart[i + 1] = neighborStart[i] + degree[i];
+		int total = neighborStart[entitiesToLayout.length];
+		neighbors = new int[total];
+		neighborNumRels = new int[total];
+		neighborAvgWeight = new double[total];
+
+		// fill in ascending order of the neighbor index, so that computeForces
+		// can walk the neighbors of a node alongside the other nodes
+		Long[] keys = (Long[]) pairs.keySet().toArray(new Long[pairs.size()]);
+		Arrays.sort(keys);
+		int[] next = new int[entitiesToLayout.length];
+		System.arraycopy(neighborStart, 0, next, 0, entitiesToLayout.length);
+		for (int pass = 0; pass < 2; pass++) {
+			for (int k = 0; k < keys.length; k++) {
+				long key = keys[k].longValue();
+				int min = (int) (key >>> 32);
+				int max = (int) key;
+				double[] pair = (double[]) pairs.get(keys[k]);
+				// each relation counts once for each direction
+				int numRels = 2 * (int) pair[0];
+				double avgWeight = pair[1] / pair[0];
+				if (pass == 0) {
+					// max's neighbor min, in ascending order of min
+					int slot = next[max]++;
+					neighbors[slot] = min;
+					neighborNumRels[slot] = numRels;
+					neighborAvgWeight[slot] = avgWeight;
 				} else {
-					int newCount = count.intValue() + 1;
-					double newAverage = (avgWeight.doubleValue() * count.doubleValue() + weight) / newCount;
-					avgWeight = new Double(newAverage);
-					count = new Integer(newCount);
+					// min's neighbor max, in ascending order of max
+					int slot = next[min]++;
+					neighbors[slot] = max;
+					neighborNumRels[slot] = numRels;
+					neighborAvgWeight[slot] = avgWeight;
 				}
-				srcDestToNumRelsMap.put(key, count);
-				srcDestToRelsAvgWeightMap.put(key, avgWeight);
+			}
+			if (pass == 0) {
+				// sort by the larger index for the second pass
+				Arrays.sort(keys, new Comparator() {
+					public int compare(Object o1, Object o2) {
+						long k1 = ((Long) o1).longValue();
+						long k2 = ((Long) o2).longValue();
+						long c1 = ((k1 & 0xffffffffL) << 32) | (k1 >>> 32);
+						long c2 = ((k2 & 0xffffffffL) << 32) | (k2 >>> 32);
+						return c1 < c2 ? -1 : (c1 == c2 ? 0 : 1);
+					}
+				});
 			}
 		}
 	}
 
-	private void preCompute(InternalNode[] entitiesToLayout) {
-		// count number of relationships between all nodes and the average
-		// weight between them
-		srcDestToNumRels = new int[entitiesToLayout.length][entitiesToLayout.length];
-		srcDestToRelsAvgWeight = new double[entitiesToLayout.length][entitiesToLayout.length];
-
-		for (int i = 0; i < entitiesToLayout.length - 1; i++) {
-			InternalNode layoutEntity1 = entitiesToLayout[i];
-			for (int j = i + 1; j < entitiesToLayout.length; j++) {
-				InternalNode layoutEntity2 = entitiesToLayout[j];
-				srcDestToNumRels[i][j] = numRelations(layoutEntity1, layoutEntity2);
-				srcDestToNumRels[i][j] += numRelations(layoutEntity2, layoutEntity1);
-				srcDestToRelsAvgWeight[i][j] = avgWeight(layoutEntity1, layoutEntity2);
-			}
-		}
+	private void preCompute(InternalNode[] entitiesToLayout, InternalRelationship[] relationshipsToConsider) {
+		computeNeighbors(entitiesToLayout, relationshipsToConsider);
 
+		random = seeded ? new Random(seed) : null;
 		if (sprRandom)
 			placeRandomly(entitiesToLayout); // put vertices in random places
 		else
@@ -592,8 +761,8 @@ public class SpringLayoutAlgorithm extends ContinuousLayoutAlgorithm {
 					tempLocationsX[i] = 1.0;
 					tempLocationsY[i] = 1.0;
 				} else {
-					tempLocationsX[i] = Math.random();
-					tempLocationsY[i] = Math.random();
+					tempLocationsX[i] = random != null ? random.nextDouble() : Math.random();
+					tempLocationsY[i] = random != null ? random.nextDouble() : Math.random();
 				}
 			}
 		}
@@ -615,70 +784,154 @@ public class SpringLayoutAlgorithm extends ContinuousLayoutAlgorithm {
 			forcesY[i] = 0.0;
 		}
 
-		// TODO: Again really really slow!
+		if (loop != null) {
+			computeParallelForces(entitiesToLayout.length);
+			return;
+		}
+		if (theta > 0) {
+			computeApproximateForces(entitiesToLayout);
+			return;
+		}
 
 		for (int i = 0; i < entitiesToLayout.length - 1; i++) {
-			InternalNode sourceEntity = entitiesToLayout[i];
-
 			double srcLocationX = tempLocationsX[i];
 			double srcLocationY = tempLocationsY[i];
-			double fx = forcesX[i]; // force in x direction
-			double fy = forcesY[i]; // force in y direction
 
-			for (int j = i + 1; j < entitiesToLayout.length; j++) {
-				InternalNode destinationEntity = entitiesToLayout[j];
-
-				if (!destinationEntity.equals(sourceEntity)) {
-					double destLocationX = tempLocationsX[j];
-					double destLocationY = tempLocationsY[j];
-					double dx = srcLocationX - destLocationX;
-					double dy = srcLocationY - destLocationY;
-					double distance = Math.sqrt(dx * dx + dy * dy);
-					double distance_sq = distance * distance;
-					// make sure distance and distance squared not too small
-					distance = Math.max(MIN_DISTANCE, distance);
-
-					// If there are relationships between srcObj and destObj
-					// then decrease force on srcObj (a pull) in direction of destObj
-					// If no relation between srcObj and destObj then increase
-					// force on srcObj (a push) from direction of destObj.
-					int numRels = srcDestToNumRels[i][j];
-					double avgWeight = srcDestToRelsAvgWeight[i][j];
-					if (numRels > 0) {
-						// nodes are pulled towards each other
-						double f = sprStrain * Math.log(distance / sprLength) * numRels * avgWeight;
-
-						fx = fx - (f * dx / distance);
-						fy = fy - (f * dy / distance);
-
-					} else {
-						// nodes are repelled from each other
-						//double f = Math.min(100, sprGravitation / (distance*distance));
-						double f = sprGravitation / (distance_sq);
-						fx = fx + (f * dx / distance);
-						fy = fy + (f * dy / distance);
-					}
+			// the neighbors of i are sorted, so skip those before i + 1 and
+			// advance alongside j
+			int neighbor = neighborStart[i];
+			int lastNeighbor = neighborStart[i + 1];
+			while (neighbor < lastNeighbor && neighbors[neighbor] <= i)
+				neighbor++;
 
-					// According to Newton, "for every action, there is an equal
-					// and opposite reaction."
-					// so give the dest an opposite force
-					forcesX[j] = forcesX[j] - fx;
-					forcesY[j] = forcesY[j] - fy;
+			for (int j = i + 1; j < entitiesToLayout.length; j++) {
+				double dx = srcLocationX - tempLocationsX[j];
+				double dy = srcLocationY - tempLocationsY[j];
+				// make sure distance not too small
+				double distance = Math.max(MIN_DISTANCE, Math.sqrt(dx * dx + dy * dy));
+
+				// If there are relationships between srcObj and destObj
+				// then decrease force on srcObj (a pull) in direction of destObj
+				// If no relation between srcObj and destObj then increase
+				// force on srcObj (a push) from direction of destObj.
+				double f;
+				if (neighbor < lastNeighbor && neighbors[neighbor] == j) {
+					// nodes are pulled towards each other
+					f = -sprStrain * Math.log(distance / sprLength) * neighborNumRels[neighbor] * neighborAvgWeight[neighbor];
+					neighbor++;
+				} else {
+					// nodes are repelled from each other
+					f = sprGravitation / (distance * distance);
 				}
+				double fx = f * dx / distance;
+				double fy = f * dy / distance;
+
+				// According to Newton, "for every action, there is an equal
+				// and opposite reaction."
+				// so give the dest an opposite force
+				forcesX[i] += fx;
+				forcesY[i] += fy;
+				forcesX[j] -= fx;
+				forcesY[j] -= fy;
+			}
+		}
+	}
+
+	/**
+	 * Computes the forces using a Barnes-Hut approximation of the repulsion
+	 * between all nodes. Related nodes attract instead of repelling each other,
+	 * so their mutual repulsion, which the tree includes, is taken off again
+	 * while the attraction along the relationships is added.
+	 */
+	private void computeApproximateForces(InternalNode[] entitiesToLayout) {
+		if (tree == null)
+			tree = new BarnesHutTree();
+		tree.build(tempLocationsX, tempLocationsY, entitiesToLayout.length);
+		computeApproximateForces(0, entitiesToLayout.length);
+	}
+
+	/**
+	 * Computes the forces on multiple threads. Each thread computes the total
+	 * force acting on each node of its range, without writing to the forces of
+	 * any other node.
+	 */
+	private void computeParallelForces(final int count) {
+		if (theta > 0) {
+			if (tree == null)
+				tree = new BarnesHutTree();
+			tree.build(tempLocationsX, tempLocationsY, count);
+		}
+		loop.run(count, new ParallelLoop.Body() {
+			public void run(int start, int end) {
+				if (theta > 0)
+					computeApproximateForces(start, end);
+				else
+					computeExactForces(start, end, count);
 			}
+		});
+	}
 
-			/*
-			 * //make sure forces aren't too big if (fx > 0 ) fx = Math.min(fx,
-			 * 10*sprMove); else fx = Math.max(fx, -10*sprMove); if (fy > 0) fy =
-			 * Math.min(fy, 10*sprMove); else fy = Math.max(fy, -10*sprMove);
-			 */
+	/**
+	 * Computes the forces acting on the nodes from <code>start</code> to
+	 * <code>end</code> using the Barnes-Hut tree, which must have been built
+	 * for the current locations.
+	 */
+	private void computeApproximateForces(int start, int end) {
+		double[] force = new double[2];
+		int[] stack = new int[BarnesHutTree.STACK_SIZE];
+		for (int i = start; i < end; i++) {
+			tree.computeRepulsion(i, theta, sprGravitation, MIN_DISTANCE, force, stack);
+			double fx = force[0];
+			double fy = force[1];
+			for (int n = neighborStart[i]; n < neighborStart[i + 1]; n++) {
+				int j = neighbors[n];
+				double dx = tempLocationsX[i] - tempLocationsX[j];
+				double dy = tempLocationsY[i] - tempLocationsY[j];
+				double distance = Math.max(MIN_DISTANCE, Math.sqrt(dx * dx + dy * dy));
+				// replace the repulsion included by the tree with the attraction
+				double repulsion = sprGravitation / (distance * distance);
+				double attraction = sprStrain * Math.log(distance / sprLength) * neighborNumRels[n] * neighborAvgWeight[n];
+				double f = attraction + repulsion;
+				fx -= f * dx / distance;
+				fy -= f * dy / distance;
+			}
 			forcesX[i] = fx;
 			forcesY[i] = fy;
-			// Remove the src object from the list of destinations since
-			// we've already calculated the force from it on all other
-			// objects.
-			// dests.remove(srcObj);
+		}
+	}
 
+	/**
+	 * Computes the forces acting on the nodes from <code>start</code> to
+	 * <code>end</code> by visiting every other node.
+	 */
+	private void computeExactForces(int start, int end, int count) {
+		for (int i = start; i < end; i++) {
+			double x = tempLocationsX[i];
+			double y = tempLocationsY[i];
+			double fx = 0, fy = 0;
+			int neighbor = neighborStart[i];
+			int lastNeighbor = neighborStart[i + 1];
+			for (int j = 0; j < count; j++) {
+				boolean related = neighbor < lastNeighbor && neighbors[neighbor] == j;
+				if (j == i)
+					continue;
+				double dx = x - tempLocationsX[j];
+				double dy = y - tempLocationsY[j];
+				double distance = Math.max(MIN_DISTANCE, Math.sqrt(dx * dx + dy * dy));
+				double f;
+				if (related) {
+					// nodes are pulled towards each other
+					f = -sprStrain * Math.log(distance / sprLength) * neighborNumRels[neighbor] * neighborAvgWeight[neighbor];
+					neighbor++;
+				} else {
+					// nodes are repelled from each other
+					f = sprGravitation / (distance * distance);
+				}
+				fx += f * dx / distance;
+				fy += f * dy / distance;
+			}
+			forcesX[i] = fx;
+			forcesY[i] = fy;
 		}
 	}
 
@@ -756,38 +1009,6 @@ public class SpringLayoutAlgorithm extends ContinuousLayoutAlgorithm {
 		}
 	}
 
-	/**
-	 * Examines the number of specified relation between the <code>src</code>
-	 * and the <code>dest</code> that exist in this
-	 * SpringLayoutAlgorithm's relation repository.
-	 * 
-	 * @param src
-	 *            The source part of the relaton to be examined.
-	 * @param dest
-	 *            The destination part of the relation to be examined.
-	 * @return The number of relations between src and dest.
-	 */
-	private int numRelations(Object src, Object dest) {
-		String key = src.toString() + dest.toString();
-		Integer count = (Integer) srcDestToNumRelsMap.get(key);
-		int intCount = (count == null) ? 0 : count.intValue();
-		return intCount;
-	}
-
-	/**
-	 * Returns the average weight between a src and dest object.
-	 * 
-	 * @param src
-	 * @param dest
-	 * @return The average weight between the given src and dest nodes
-	 */
-	private double avgWeight(Object src, Object dest) {
-		String key = src.toString() + dest.toString();
-		Double avgWeight = (Double) srcDestToRelsAvgWeightMap.get(key);
-		double doubleWeight = (avgWeight == null) ? 1 : avgWeight.doubleValue();
-		return doubleWeight;
-	}
-
 	protected boolean isValidConfiguration(boolean asynchronous, boolean continueous) {
 		if (asynchronous && continueous)
 			return true;
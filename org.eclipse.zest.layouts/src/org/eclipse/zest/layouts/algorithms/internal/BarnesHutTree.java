@@ -0,0 +1,272 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.zest.layouts.algorithms.internal;
+
+/**
+ * A quadtree over a set of points which approximates the sum of inverse-square
+ * repulsion forces acting on a point in O(log n) time, as described by Barnes
+ * and Hut. Cells which are far enough away from a point (cell size / distance &lt;
+ * theta) are treated as a single body located at their center of mass.
+ * <p>
+ * The tree is stored in flat arrays, which are reused when the tree is rebuilt
+ * for the next iteration of a layout.
+ */
+public class BarnesHutTree {
+
+	/**
+	 * Points which are closer together than the cells at this depth are kept
+	 * in the same leaf.
+	 */
+	private static final int MAX_DEPTH = 48;
+
+	/**
+	 * The size of the work array needed by
+	 * {@link #computeRepulsion(int, double, double, double, double[], int[])}.
+	 * At most three siblings are waiting on the stack for each level of the
+	 * tree.
+	 */
+	public static final int STACK_SIZE = 3 * MAX_DEPTH + 4;
+
+	private double[] xs;
+	private double[] ys;
+	private int[] nextBody = new int[0];
+
+	private int nodeCount;
+	private double[] centerX = new double[0];
+	private double[] centerY = new double[0];
+	private double[] halfSize = new double[0];
+	private double[] massX = new double[0];
+	private double[] massY = new double[0];
+	private int[] mass = new int[0];
+	private int[] firstChild = new int[0];
+	private int[] firstBody = new int[0];
+
+	private final int[] stack = new int[STACK_SIZE];
+
+	/**
+	 * Builds the tree for the first <code>count</code> points of the given
+	 * coordinate arrays. The arrays are referenced, not copied, and must not be
+	 * changed while the tree is in use.
+	 *
+	 * @param x
+	 *            the x coordinates
+	 * @param y
+	 *            the y coordinates
+	 * @param count
+	 *            the number of points
+	 */
+	public void build(double[] x, double[] y, int count) {
+		xs = x;
+		ys = y;
+		if (nextBody.length < count)
+			nextBody = new int[count];
+		nodeCount = 0;
+		if (count == 0)
+			return;
+
+		double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE;
+		double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+		for (int i = 0; i < count; i++) {
+			minX = Math.min(minX, x[i]);
+			minY = Math.min(minY, y[i]);
+			maxX = Math.max(maxX, x[i]);
+			maxY = Math.max(maxY, y[i]);
+		}
+		double half = Math.max(Math.max(maxX - minX, maxY - minY) / 2, Double.MIN_VALUE) * 1.0001;
+		newNode((minX + maxX) / 2, (minY + maxY) / 2, half);
+
+		for (int i = 0; i < count; i++)
+			insert(i);
+
+		// children are always created after their parent, so a reverse walk
+		// visits every child before its parent
+		for (int node = nodeCount - 1; node >= 0; node--) {
+			int m = 0;
+			double sumX = 0, sumY = 0;
+			if (firstChild[node] == -1) {
+				for (int b = firstBody[node]; b != -1; b = nextBody[b]) {
+					m++;
+					sumX += xs[b];
+					sumY += ys[b];
+				}
+			} else {
+				for (int c = firstChild[node]; c < firstChild[node] + 4; c++) {
+					m += mass[c];
+					sumX += massX[c] * mass[c];
+					sumY += massY[c] * mass[c];
+				}
+			}
+			mass[node] = m;
+			if (m > 0) {
+				massX[node] = sumX / m;
+				massY[node] = sumY / m;
+			}
+		}
+	}
+
+	private void insert(int body) {
+		int node = 0;
+		int depth = 0;
+		while (true) {
+			if (firstChild[node] == -1) {
+				if (firstBody[node] == -1 || depth >= MAX_DEPTH) {
+					nextBody[body] = firstBody[node];
+					firstBody[node] = body;
+					return;
+				}
+				// split the leaf and push its body down one level
+				int existing = firstBody[node];
+				firstBody[node] = -1;
+				double h = halfSize[node] / 2;
+				int first = nodeCount;
+				newNode(centerX[node] - h, centerY[node] - h, h);
+				newNode(centerX[node] + h, centerY[node] - h, h);
+				newNode(centerX[node] - h, centerY[node] + h, h);
+				newNode(centerX[node] + h, centerY[node] + h, h);
+				firstChild[node] = first;
+				int target = first + quadrant(node, xs[existing], ys[existing]);
+				nextBody[existing] = -1;
+				firstBody[target] = existing;
+			}
+			node = firstChild[node] + quadrant(node, xs[body], ys[body]);
+			depth++;
+		}
+	}
+
+	private int quadrant(int node, double x, double y) {
+		return (x < centerX[node] ? 0 : 1) + (y < centerY[node] ? 0 : 2);
+	}
+
+	private void newNode(double cx, double cy, double half) {
+		if (nodeCount == centerX.length) {
+			int capacity = Math.max(16, nodeCount * 2);
+			centerX = grow(centerX, capacity);
+			centerY = grow(centerY, capacity);
+			halfSize = grow(halfSize, capacity);
+			massX = grow(massX, capacity);
+			massY = grow(massY, capacity);
+			mass = grow(mass, capacity);
+			firstChild = grow(firstChild, capacity);
+			firstBody = grow(firstBody, capacity);
+		}
+		centerX[nodeCount] = cx;
+		centerY[nodeCount] = cy;
+		halfSize[nodeCount] = half;
+		mass[nodeCount] = 0;
+		firstChild[nodeCount] = -1;
+		firstBody[nodeCount] = -1;
+		nodeCount++;
+	}
+
+	private static double[] grow(double[] array, int capacity) {
+		double[] result = new double[capacity];
+		System.arraycopy(array, 0, result, 0, array.length);
+		return result;
+	}
+
+	private static int[] grow(int[] array, int capacity) {
+		int[] result = new int[capacity];
+		System.arraycopy(array, 0, result, 0, array.length);
+		return result;
+	}
+
+	/**
+	 * Computes the repulsion acting on the given point from all other points
+	 * in the tree. Each point <i>p</i> contributes a force of
+	 * <code>gravitation / d<sup>2</sup></code> directed away from <i>p</i>,
+	 * where <i>d</i> is the distance to <i>p</i>, but at least
+	 * <code>minDistance</code>.
+	 *
+	 * @param body
+	 *            the index of the point
+	 * @param theta
+	 *            the approximation threshold; 0 computes the exact sum
+	 * @param gravitation
+	 *            the strength of the repulsion
+	 * @param minDistance
+	 *            the smallest distance considered between two points
+	 * @param result
+	 *            an array of length 2 receiving the x and y components of the
+	 *            force
+	 */
+	public void computeRepulsion(int body, double theta, double gravitation, double minDistance, double[] result) {
+		computeRepulsion(body, theta, gravitation, minDistance, result, stack);
+	}
+
+	/**
+	 * Computes the repulsion acting on the given point like
+	 * {@link #computeRepulsion(int, double, double, double, double[])}, using
+	 * the given work array. Since the tree itself is not modified, several
+	 * threads may compute repulsions at the same time, as long as each of them
+	 * uses its own work array.
+	 *
+	 * @param body
+	 *            the index of the point
+	 * @param theta
+	 *            the approximation threshold; 0 computes the exact sum
+	 * @param gravitation
+	 *            the strength of the repulsion
+	 * @param minDistance
+	 *            the smallest distance considered between two points
+	 * @param result
+	 *            an array of length 2 receiving the x and y components of the
+	 *            force
+	 * @param stack
+	 *            a work array of at least {@link #STACK_SIZE} elements
+	 */
+	public void computeRepulsion(int body, double theta, double gravitation, double minDistance, double[] result, int[] stack) {
+		double x = xs[body];
+		double y = ys[body];
+		double fx = 0, fy = 0;
+		if (nodeCount == 0) {
+			result[0] = result[1] = 0;
+			return;
+		}
+		int top = 0;
+		stack[top++] = 0;
+		while (top > 0) {
+			int node = stack[--top];
+			if (mass[node] == 0)
+				continue;
+			if (firstChild[node] == -1) {
+				for (int b = firstBody[node]; b != -1; b = nextBody[b]) {
+					if (b == body)
+						continue;
+					double dx = x - xs[b];
+					double dy = y - ys[b];
+					double distance = Math.max(minDistance, Math.sqrt(dx * dx + dy * dy));
+					double f = gravitation / (distance * distance * distance);
+					fx += f * dx;
+					fy += f * dy;
+				}
+				continue;
+			}
+			double h = halfSize[node];
+			boolean containsBody = Math.abs(x - centerX[node]) <= h && Math.abs(y - centerY[node]) <= h;
+			if (!containsBody) {
+				double dx = x - massX[node];
+				double dy = y - massY[node];
+				double distance = Math.max(minDistance, Math.sqrt(dx * dx + dy * dy));
+				if (2 * h < theta * distance) {
+					double f = gravitation * mass[node] / (distance * distance * distance);
+					fx += f * dx;
+					fy += f * dy;
+					continue;
+				}
+			}
+			for (int c = firstChild[node]; c < firstChild[node] + 4; c++)
+				stack[top++] = c;
+		}
+		result[0] = fx;
+		result[1] = fy;
+	}
+
+}
@@ -0,0 +1,191 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.zest.layouts.algorithms.internal;
+
+/**
+ * Runs the iterations of a loop on a fixed set of worker threads. The range of
+ * the loop is split into one contiguous chunk per thread, and the calling
+ * thread processes the first chunk itself. The worker threads are kept alive
+ * between loops until {@link #dispose()} is called.
+ * <p>
+ * The chunks only depend on the range and the parallelism, so a loop body
+ * which writes only to the elements of its own chunk produces the same results
+ * on every run.
+ */
+public class ParallelLoop {
+
+	/**
+	 * The body of a loop.
+	 */
+	public interface Body {
+
+		/**
+		 * Processes the iterations from <code>start</code> (inclusive) to
+		 * <code>end</code> (exclusive).
+		 *
+		 * @param start
+		 *            the first iteration
+		 * @param end
+		 *            the iteration after the last one
+		 */
+		void run(int start, int end);
+	}
+
+	private final Worker[] workers;
+	private final Object lock = new Object();
+
+	private Body body;
+	private int count;
+	private int generation;
+	private int pending;
+	private RuntimeException failure;
+	private Error error;
+	private boolean disposed;
+
+	private class Worker extends Thread {
+		private final int chunk;
+
+		Worker(int chunk) {
+			super("Zest Layout Worker " + chunk);
+			this.chunk = chunk;
+			setDaemon(true);
+		}
+
+		public void run() {
+			int seen = 0;
+			while (true) {
+				Body currentBody;
+				int currentCount;
+				synchronized (lock) {
+					while (generation == seen && !disposed) {
+						try {
+							lock.wait();
+						} catch (InterruptedException e) {
+							// keep waiting until disposed
+						}
+					}
+					if (disposed)
+						return;
+					seen = generation;
+					currentBody = body;
+					currentCount = count;
+				}
+				try {
+					runChunk(currentBody, chunk, currentCount);
+				} catch (RuntimeException e) {
+					synchronized (lock) {
+						failure = e;
+					}
+				} catch (Error e) {
+					synchronized (lock) {
+						error = e;
+					}
+				} finally {
+					synchronized (lock) {
+						pending--;
+						lock.notifyAll();
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Creates a loop which runs on the given number of threads, including the
+	 * calling thread.
+	 *
+	 * @param parallelism
+	 *            the number of threads, at least 1
+	 */
+	public ParallelLoop(int parallelism) {
+		if (parallelism < 1)
+			throw new IllegalArgumentException("parallelism must be at least 1");
+		workers = new Worker[parallelism - 1];
+		for (int i = 0; i < workers.length; i++) {
+			workers[i] = new Worker(i + 1);
+			workers[i].start();
+		}
+	}
+
+	/**
+	 * Returns the number of threads this loop runs on.
+	 *
+	 * @return the parallelism
+	 */
+	public int getParallelism() {
+		return workers.length + 1;
+	}
+
+	/**
+	 * Runs the given body for the iterations from 0 to <code>count</code> and
+	 * waits until all of them are done. Exceptions thrown by the body on a
+	 * worker thread are rethrown on the calling thread.
+	 *
+	 * @param count
+	 *            the number of iterations
+	 * @param body
+	 *            the loop body
+	 */
+	public void run(int count, Body body) {
+		if (workers.length == 0) {
+			body.run(0, count);
+			return;
+		}
+		synchronized (lock) {
+			if (disposed)
+				throw new IllegalStateException("disposed");
+			this.body = body;
+			this.count = count;
+			failure = null;
+			error = null;
+			pending = workers.length;
+			generation++;
+			lock.notifyAll();
+		}
+		try {
+			runChunk(body, 0, count);
+		} finally {
+			synchronized (lock) {
+				while (pending > 0) {
+					try {
+						lock.wait();
+					} catch (InterruptedException e) {
+						// the workers are still writing, so keep waiting
+					}
+				}
+				this.body = null;
+			}
+		}
+		if (error != null)
+			throw error;
+		if (failure != null)
+			throw failure;
+	}
+
+	private void runChunk(Body body, int chunk, int count) {
+		int parallelism = workers.length + 1;
+		int start = (int) ((long) count * chunk / parallelism);
+		int end = (int) ((long) count * (chunk + 1) / parallelism);
+		if (start < end)
+			body.run(start, end);
+	}
+
+	/**
+	 * Stops the worker threads.
+	 */
+	public void dispose() {
+		synchronized (lock) {
+			disposed = true;
+			lock.notifyAll();
+		}
+	}
+
+}
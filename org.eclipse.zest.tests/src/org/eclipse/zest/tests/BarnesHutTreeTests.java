@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.zest.tests;
+
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.eclipse.zest.layouts.algorithms.internal.BarnesHutTree;
+
+/**
+ * Compares the repulsion computed by {@link BarnesHutTree} with the exact sum
+ * over all pairs of points.
+ */
+public class BarnesHutTreeTests extends TestCase {
+
+	private static final double GRAVITATION = 1000;
+
+	private static final double MIN_DISTANCE = 1;
+
+	private BarnesHutTree tree = new BarnesHutTree();
+
+	private double[] bruteForce(double[] x, double[] y, int count, int body) {
+		double fx = 0, fy = 0;
+		for (int b = 0; b < count; b++) {
+			if (b == body)
+				continue;
+			double dx = x[body] - x[b];
+			double dy = y[body] - y[b];
+			double distance = Math.max(MIN_DISTANCE,
+					Math.sqrt(dx * dx + dy * dy));
+			double f = GRAVITATION / (distance * distance * distance);
+			fx += f * dx;
+			fy += f * dy;
+		}
+		return new double[] { fx, fy };
+	}
+
+	private void assertRepulsion(double[] x, double[] y, int count,
+			double theta, double tolerance) {
+		tree.build(x, y, count);
+		double[] result = new double[2];
+		for (int i = 0; i < count; i++) {
+			double[] expected = bruteForce(x, y, count, i);
+			tree.computeRepulsion(i, theta, GRAVITATION, MIN_DISTANCE, result);
+			double magnitude = Math.max(Math.abs(expected[0]),
+					Math.abs(expected[1]));
+			double delta = Math.max(1e-9, tolerance * magnitude);
+			assertEquals(expected[0], result[0], delta);
+			assertEquals(expected[1], result[1], delta);
+		}
+	}
+
+	/**
+	 * Asserts that the total error of the approximated repulsions is below
+	 * the given fraction of the total exact repulsion.
+	 */
+	private void assertApproximation(double[] x, double[] y, int count,
+			double theta, double tolerance) {
+		tree.build(x, y, count);
+		double[] approximate = new double[2];
+		double error = 0, total = 0;
+		for (int i = 0; i < count; i++) {
+			double[] exact = bruteForce(x, y, count, i);
+			tree.computeRepulsion(i, theta, GRAVITATION, MIN_DISTANCE,
+					approximate);
+			error += Math.abs(exact[0] - approximate[0])
+					+ Math.abs(exact[1] - approximate[1]);
+			total += Math.abs(exact[0]) + Math.abs(exact[1]);
+		}
+		assertTrue(error < tolerance * total);
+	}
+
+	private void randomPoints(double[] x, double[] y, long seed) {
+		Random random = new Random(seed);
+		for (int i = 0; i < x.length; i++) {
+			x[i] = random.nextDouble() * 1000;
+			y[i] = random.nextDouble() * 1000;
+		}
+	}
+
+	public void testExactWithZeroTheta() {
+		double[] x = new double[200], y = new double[200];
+		randomPoints(x, y, 1);
+		assertRepulsion(x, y, x.length, 0, 1e-9);
+	}
+
+	public void testApproximationWithinTolerance() {
+		double[] x = new double[500], y = new double[500];
+		randomPoints(x, y, 2);
+		// clustered points, so that distant cells are actually approximated
+		for (int i = 0; i < 100; i++) {
+			x[i] = 5000 + x[i] / 100;
+			y[i] = 5000 + y[i] / 100;
+		}
+		assertApproximation(x, y, x.length, 0.5, 0.05);
+	}
+
+	public void testCoincidentPoints() {
+		double[] x = new double[20], y = new double[20];
+		randomPoints(x, y, 3);
+		// more coincident points than fit above the maximum depth of the tree
+		for (int i = 0; i < 10; i++) {
+			x[i] = 300;
+			y[i] = 400;
+		}
+		x[10] = 300 + 1e-12;
+		y[10] = 400;
+		assertRepulsion(x, y, x.length, 0, 1e-9);
+		assertApproximation(x, y, x.length, 0.8, 0.1);
+	}
+
+	public void testEmptyAndSinglePoint() {
+		double[] x = new double[] { 10 }, y = new double[] { 20 };
+		double[] result = new double[] { 1, 1 };
+		tree.build(x, y, 0);
+		tree.computeRepulsion(0, 0.5, GRAVITATION, MIN_DISTANCE, result);
+		assertEquals(0, result[0], 0);
+		assertEquals(0, result[1], 0);
+
+		result[0] = result[1] = 1;
+		tree.build(x, y, 1);
+		tree.computeRepulsion(0, 0.5, GRAVITATION, MIN_DISTANCE, result);
+		assertEquals(0, result[0], 0);
+		assertEquals(0, result[1], 0);
+	}
+
+	public void testRebuildWithFewerPoints() {
+		double[] x = new double[100], y = new double[100];
+		randomPoints(x, y, 4);
+		tree.build(x, y, x.length);
+		assertRepulsion(x, y, 30, 0, 1e-9);
+	}
+
+}
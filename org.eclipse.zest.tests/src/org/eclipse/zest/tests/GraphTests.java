@@ -11,13 +11,21 @@ package org.eclipse.zest.tests;
 import junit.framework.TestCase;
 
 import org.eclipse.draw2d.Figure;
+import org.eclipse.draw2d.geometry.Point;
 import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Shell;
 import org.eclipse.zest.core.widgets.Graph;
 import org.eclipse.zest.core.widgets.GraphConnection;
 import org.eclipse.zest.core.widgets.GraphItem;
 import org.eclipse.zest.core.widgets.GraphNode;
+import org.eclipse.zest.core.widgets.ZestStyles;
 import org.eclipse.zest.core.widgets.internal.ZestRootLayer;
+import org.eclipse.zest.layouts.LayoutStyles;
+import org.eclipse.zest.layouts.Stoppable;
+import org.eclipse.zest.layouts.algorithms.GridLayoutAlgorithm;
+import org.eclipse.zest.layouts.progress.ProgressEvent;
+import org.eclipse.zest.layouts.progress.ProgressListener;
 
 /**
  * General tests for the {@link Graph} class.
@@ -45,6 +53,10 @@ public class GraphTests extends TestCase {
 		connection = new GraphConnection(graph, STYLE, nodes[0], nodes[1]);
 	}
 
+	protected void tearDown() throws Exception {
+		shell.dispose();
+	}
+
 	public void testGraphData() {
 		graph.setData("graph data");
 		assertEquals("graph data", graph.getData());
@@ -121,4 +133,83 @@ public class GraphTests extends TestCase {
 
 	}
 
+	/**
+	 * A background layout which is stopped before the graph is revealed ends
+	 * without changing the nodes.
+	 */
+	public void testStopBackgroundLayoutBeforeReveal() {
+		final int[] ended = new int[1];
+		nodes[0].setLocation(10, 20);
+		Stoppable layout = graph.applyLayoutInBackground(new GridLayoutAlgorithm(
+				LayoutStyles.NO_LAYOUT_NODE_RESIZING));
+		layout.addProgressListener(new ProgressListener() {
+			public void progressStarted(ProgressEvent e) {
+			}
+
+			public void progressUpdated(ProgressEvent e) {
+			}
+
+			public void progressEnded(ProgressEvent e) {
+				ended[0]++;
+			}
+		});
+		layout.stop();
+		layout.stop();
+		assertEquals(1, ended[0]);
+		assertEquals(10, nodes[0].getLocation().x);
+		assertEquals(20, nodes[0].getLocation().y);
+	}
+
+	/**
+	 * The locations computed by a background layout are applied to the nodes
+	 * on the display thread before the end of the layout is reported.
+	 */
+	public void testBackgroundLayoutPublishedOnDisplayThread()
+			throws InterruptedException {
+		final Thread[] endThread = new Thread[1];
+		final Point[] locations = new Point[2];
+		graph.setNodeStyle(ZestStyles.NODES_NO_LAYOUT_ANIMATION);
+		graph.setPreferredSize(300, 300);
+		nodes[0].setLocation(0, 0);
+		nodes[1].setLocation(0, 0);
+		shell.setSize(400, 400);
+		graph.setSize(350, 350);
+		shell.open();
+		Stoppable layout = graph.applyLayoutInBackground(new GridLayoutAlgorithm(
+				LayoutStyles.NO_LAYOUT_NODE_RESIZING));
+		layout.addProgressListener(new ProgressListener() {
+			public void progressStarted(ProgressEvent e) {
+			}
+
+			public void progressUpdated(ProgressEvent e) {
+			}
+
+			public void progressEnded(ProgressEvent e) {
+				endThread[0] = Thread.currentThread();
+				locations[0] = nodes[0].getLocation();
+				locations[1] = nodes[1].getLocation();
+			}
+		});
+		Display display = shell.getDisplay();
+		long timeout = System.currentTimeMillis() + 10000;
+		while (endThread[0] == null && System.currentTimeMillis() < timeout) {
+			if (!display.readAndDispatch()) {
+				Thread.sleep(10);
+			}
+		}
+		assertSame(display.getThread(), endThread[0]);
+		assertFalse(locations[0].equals(locations[1]));
+	}
+
+	public void testBackgroundLayoutNeedsOwnAlgorithm() {
+		GridLayoutAlgorithm algorithm = new GridLayoutAlgorithm();
+		graph.setLayoutAlgorithm(algorithm, false);
+		try {
+			graph.applyLayoutInBackground(algorithm);
+			fail();
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+
 }
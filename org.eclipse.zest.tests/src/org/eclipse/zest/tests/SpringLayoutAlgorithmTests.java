@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.zest.tests;
+
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+
+import org.eclipse.zest.layouts.LayoutEntity;
+import org.eclipse.zest.layouts.LayoutRelationship;
+import org.eclipse.zest.layouts.LayoutStyles;
+import org.eclipse.zest.layouts.algorithms.SpringLayoutAlgorithm;
+import org.eclipse.zest.layouts.exampleStructures.SimpleNode;
+import org.eclipse.zest.layouts.exampleStructures.SimpleRelationship;
+
+/**
+ * Tests that the {@link SpringLayoutAlgorithm} produces reproducible results
+ * with a random seed, on any number of threads.
+ */
+public class SpringLayoutAlgorithmTests extends TestCase {
+
+	private static final int NODES = 60;
+
+	/**
+	 * Lays out a ring of nodes with a few chords, and returns the resulting
+	 * x and y coordinates of the nodes.
+	 */
+	private double[] layout(int parallelism, double theta) throws Exception {
+		LayoutEntity[] nodes = new LayoutEntity[NODES];
+		for (int i = 0; i < NODES; i++)
+			nodes[i] = new SimpleNode("node " + i); //$NON-NLS-1$
+		LayoutRelationship[] relationships = new LayoutRelationship[NODES + NODES / 10];
+		for (int i = 0; i < NODES; i++)
+			relationships[i] = new SimpleRelationship(nodes[i], nodes[(i + 1) % NODES], false);
+		for (int i = 0; i < NODES / 10; i++)
+			relationships[NODES + i] = new SimpleRelationship(nodes[i * 10], nodes[(i * 10 + NODES / 2) % NODES], false);
+
+		SpringLayoutAlgorithm algorithm = new SpringLayoutAlgorithm(LayoutStyles.NO_LAYOUT_NODE_RESIZING);
+		algorithm.setRandom(true);
+		algorithm.setRandomSeed(42);
+		algorithm.setIterations(200);
+		algorithm.setParallelism(parallelism);
+		algorithm.setBarnesHutTheta(theta);
+		algorithm.applyLayout(nodes, relationships, 0, 0, 1000, 1000, false, false);
+
+		double[] positions = new double[2 * NODES];
+		for (int i = 0; i < NODES; i++) {
+			positions[2 * i] = nodes[i].getXInLayout();
+			positions[2 * i + 1] = nodes[i].getYInLayout();
+		}
+		return positions;
+	}
+
+	public void testSameSeedAndParallelismGiveSamePositions() throws Exception {
+		assertTrue(Arrays.equals(layout(1, 0), layout(1, 0)));
+		assertTrue(Arrays.equals(layout(4, 0), layout(4, 0)));
+		assertTrue(Arrays.equals(layout(4, 0.5), layout(4, 0.5)));
+	}
+
+	public void testPositionsIndependentOfThreadCount() throws Exception {
+		assertTrue(Arrays.equals(layout(2, 0), layout(3, 0)));
+		assertTrue(Arrays.equals(layout(2, 0.5), layout(3, 0.5)));
+	}
+
+	public void testBarnesHutSameOnOneThread() throws Exception {
+		assertTrue(Arrays.equals(layout(1, 0.5), layout(2, 0.5)));
+	}
+
+	public void testExactForcesSameOnOneThread() throws Exception {
+		// the forces are only summed up in a different order
+		double[] expected = layout(1, 0);
+		double[] actual = layout(2, 0);
+		for (int i = 0; i < expected.length; i++)
+			assertEquals(expected[i], actual[i], 1e-6);
+	}
+
+}
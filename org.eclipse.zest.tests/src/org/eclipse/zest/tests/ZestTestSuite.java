@@ -28,5 +28,7 @@ public class ZestTestSuite extends TestSuite {
 		addTest(new TestSuite(GraphTests.class));
 		addTest(new TestSuite(GraphSelectionTests.class));
 		addTest(new TestSuite(GraphViewerTests.class));
+		addTest(new TestSuite(BarnesHutTreeTests.class));
+		addTest(new TestSuite(SpringLayoutAlgorithmTests.class));
 	}
 }